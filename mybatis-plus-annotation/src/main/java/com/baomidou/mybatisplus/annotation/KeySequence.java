@@ -45,4 +45,19 @@ public @interface KeySequence {
      * 数据库类型，未配置默认使用注入 IKeyGenerator 实现，多个实现必须指定
      */
     DbType dbType() default DbType.OTHER;
+
+    /**
+     * 客户端号段大小, 大于 1 时一次序列查询分配一段主键在内存中依次使用
+     * <p>默认(pooled)要求序列步长(INCREMENT BY)与该值一致, 查询到的序列值作为号段起始值</p>
+     *
+     * @since 3.5.6
+     */
+    int allocationSize() default 1;
+
+    /**
+     * 使用 hi/lo 算法分配号段, 序列步长保持 1, 号段为 [序列值 * allocationSize, (序列值 + 1) * allocationSize)
+     *
+     * @since 3.5.6
+     */
+    boolean hilo() default false;
 }
@@ -18,9 +18,11 @@ package com.baomidou.mybatisplus.core;
 import com.baomidou.mybatisplus.annotation.IdType;
 import com.baomidou.mybatisplus.core.exceptions.MybatisPlusException;
 import com.baomidou.mybatisplus.core.incrementer.IdentifierGenerator;
+import com.baomidou.mybatisplus.core.metadata.PropertyAccessor;
 import com.baomidou.mybatisplus.core.metadata.TableInfo;
 import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
 import com.baomidou.mybatisplus.core.toolkit.ArrayUtils;
+import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
 import com.baomidou.mybatisplus.core.toolkit.Constants;
 import com.baomidou.mybatisplus.core.toolkit.GlobalConfigUtils;
 import com.baomidou.mybatisplus.core.toolkit.StringUtils;
@@ -48,9 +50,11 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 自定义 ParameterHandler 重装构造函数，填充插入方法主键 ID
@@ -69,6 +73,11 @@ public class MybatisParameterHandler implements ParameterHandler {
     @Deprecated
     public static final String[] COLLECTION_KEYS = new String[]{"collection", "coll", "list", "array"};
 
+    /**
+     * 生成器是否重写了 {@link IdentifierGenerator#nextIds(Object, int)}
+     */
+    private static final Map<Class<?>, Boolean> NEXT_IDS_SUPPORT = new ConcurrentHashMap<>();
+
     private final TypeHandlerRegistry typeHandlerRegistry;
     private final MappedStatement mappedStatement;
     private final Object parameterObject;
@@ -93,11 +102,92 @@ public class MybatisParameterHandler implements ParameterHandler {
             if (SimpleTypeRegistry.isSimpleType(parameter.getClass())) {
                 return parameter;
             }
-            extractParameters(parameter).forEach(this::process);
+            Collection<Object> parameters = extractParameters(parameter);
+            if (SqlCommandType.INSERT == this.sqlCommandType && parameters.size() > 1
+                && MybatisParameterHandler.class == this.getClass()) {
+                // 重写了 populateKeys 的子类仍逐个生成
+                assignIds(this.configuration, parameters);
+            }
+            parameters.forEach(this::process);
         }
         return parameter;
     }
 
+    /**
+     * 批量预分配 {@link IdType#ASSIGN_ID} 主键
+     * <p>
+     * 同一实体类型的主键通过 {@link IdentifierGenerator#nextIds(Object, int)} 一次生成,
+     * 生成器未重写 nextIds 时不做处理, 仍由 {@link #populateKeys} 逐个生成
+     *
+     * @param configuration 配置
+     * @param entities      实体集合
+     * @since 3.5.6
+     */
+    public static void assignIds(Configuration configuration, Collection<?> entities) {
+        final IdentifierGenerator identifierGenerator = GlobalConfigUtils.getGlobalConfig(configuration).getIdentifierGenerator();
+        if (entities.size() < 2 || !supportNextIds(identifierGenerator)) {
+            return;
+        }
+        Map<TableInfo, List<Object>> group = new IdentityHashMap<>();
+        for (Object entity : entities) {
+            if (entity == null || entity instanceof Map) {
+                continue;
+            }
+            TableInfo tableInfo = TableInfoHelper.getTableInfo(entity.getClass());
+            if (tableInfo == null || IdType.ASSIGN_ID != tableInfo.getIdType() || StringUtils.isBlank(tableInfo.getKeyProperty())) {
+                continue;
+            }
+            if (identifierGenerator.assignId(tableInfo.getPropertyAccessor(tableInfo.getKeyProperty()).get(entity))) {
+                group.computeIfAbsent(tableInfo, k -> new ArrayList<>()).add(entity);
+            }
+        }
+        group.forEach((tableInfo, list) -> {
+            if (list.size() > 1) {
+                Number[] ids = identifierGenerator.nextIds(list.get(0), list.size());
+                for (int i = 0; i < ids.length; i++) {
+                    setKeyValue(tableInfo, list.get(i), ids[i]);
+                }
+            }
+        });
+    }
+
+    private static boolean supportNextIds(IdentifierGenerator identifierGenerator) {
+        return CollectionUtils.computeIfAbsent(NEXT_IDS_SUPPORT, identifierGenerator.getClass(), clazz -> {
+            try {
+                return clazz.getMethod("nextIds", Object.class, int.class).getDeclaringClass() != IdentifierGenerator.class;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        });
+    }
+
+    /**
+     * 按主键类型转换并设置生成的 id
+     */
+    private static void setKeyValue(TableInfo tableInfo, Object entity, Number id) {
+        final PropertyAccessor accessor = tableInfo.getPropertyAccessor(tableInfo.getKeyProperty());
+        Class<?> keyType = tableInfo.getKeyType();
+        if (Number.class.isAssignableFrom(keyType)) {
+            if (keyType == id.getClass()) {
+                accessor.set(entity, id);
+            } else if (Integer.class == keyType) {
+                accessor.set(entity, id.intValue());
+            } else if (Long.class == keyType) {
+                accessor.set(entity, id.longValue());
+            } else if (BigDecimal.class.isAssignableFrom(keyType)) {
+                accessor.set(entity, new BigDecimal(id.longValue()));
+            } else if (BigInteger.class.isAssignableFrom(keyType)) {
+                accessor.set(entity, new BigInteger(id.toString()));
+            } else {
+                throw new MybatisPlusException("Key type '" + keyType + "' not supported");
+            }
+        } else if (String.class.isAssignableFrom(keyType)) {
+            accessor.set(entity, id.toString());
+        } else {
+            accessor.set(entity, id);
+        }
+    }
+
     @Override
     public Object getParameterObject() {
         return this.parameterObject;
@@ -133,38 +223,25 @@ public class MybatisParameterHandler implements ParameterHandler {
         }
     }
 
-
+    /**
+     * 填充主键, 默认实现通过 {@link TableInfo#getPropertyAccessor(String)} 读写主键, 不经过 metaObject
+     *
+     * @param tableInfo  表信息
+     * @param metaObject 实体 metaObject
+     * @param entity     实体
+     */
     protected void populateKeys(TableInfo tableInfo, MetaObject metaObject, Object entity) {
         final IdType idType = tableInfo.getIdType();
         final String keyProperty = tableInfo.getKeyProperty();
         if (StringUtils.isNotBlank(keyProperty) && null != idType && idType.getKey() >= 3) {
             final IdentifierGenerator identifierGenerator = GlobalConfigUtils.getGlobalConfig(this.configuration).getIdentifierGenerator();
-            Object idValue = metaObject.getValue(keyProperty);
+            final PropertyAccessor accessor = tableInfo.getPropertyAccessor(keyProperty);
+            Object idValue = accessor.get(entity);
             if (identifierGenerator.assignId(idValue)) {
                 if (idType.getKey() == IdType.ASSIGN_ID.getKey()) {
-                    Class<?> keyType = tableInfo.getKeyType();
-                    if (Number.class.isAssignableFrom(keyType)) {
-                        Number id = identifierGenerator.nextId(entity);
-                        if (keyType == id.getClass()) {
-                            metaObject.setValue(keyProperty, id);
-                        } else if (Integer.class == keyType) {
-                            metaObject.setValue(keyProperty, id.intValue());
-                        } else if (Long.class == keyType) {
-                            metaObject.setValue(keyProperty, id.longValue());
-                        } else if (BigDecimal.class.isAssignableFrom(keyType)) {
-                            metaObject.setValue(keyProperty, new BigDecimal(id.longValue()));
-                        } else if (BigInteger.class.isAssignableFrom(keyType)) {
-                            metaObject.setValue(keyProperty, new BigInteger(id.toString()));
-                        } else {
-                            throw new MybatisPlusException("Key type '" + keyType + "' not supported");
-                        }
-                    } else if (String.class.isAssignableFrom(keyType)) {
-                        metaObject.setValue(keyProperty, identifierGenerator.nextId(entity).toString());
-                    } else {
-                        metaObject.setValue(keyProperty, identifierGenerator.nextId(entity));
-                    }
+                    setKeyValue(tableInfo, entity, identifierGenerator.nextId(entity));
                 } else if (idType.getKey() == IdType.ASSIGN_UUID.getKey()) {
-                    metaObject.setValue(keyProperty, identifierGenerator.nextUUID(entity));
+                    accessor.set(entity, identifierGenerator.nextUUID(entity));
                 }
             }
         }
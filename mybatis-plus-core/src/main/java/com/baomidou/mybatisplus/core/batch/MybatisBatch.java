@@ -17,18 +17,31 @@ package com.baomidou.mybatisplus.core.batch;
 
 import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.enums.SqlMethod;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.core.toolkit.Assert;
 import com.baomidou.mybatisplus.core.toolkit.Constants;
+import com.baomidou.mybatisplus.core.toolkit.ExceptionUtils;
 import com.baomidou.mybatisplus.core.toolkit.StringPool;
+import com.baomidou.mybatisplus.core.toolkit.StringUtils;
 import org.apache.ibatis.executor.BatchResult;
 import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
 
 import java.io.Serializable;
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
 
@@ -38,6 +51,7 @@ import java.util.function.Function;
  * <li>关于事务必须执行到flushStatements才具有意义{@link org.apache.ibatis.executor.BatchExecutor#doFlushStatements(boolean)}</>
  * <li>返回值为批处理结果,如果对返回值比较关心的可接收判断处理</li>
  * <li>saveOrUpdate尽量少用把,保持批处理为简单的插入或更新</li>
+ * <li>注入了 upsert 方法时建议使用 {@link Method#insertOrUpdate()} 代替 saveOrUpdate</li>
  * <li>关于saveOrUpdate中的sqlSession,如果执行了select操作的话,BatchExecutor都会触发一次flushStatements,为了保证结果集,故使用包装了部分sqlSession查询操作</li>
  * <li>autoCommit参数,在spring下使用的是{@link org.mybatis.spring.transaction.SpringManagedTransaction},控制无效,只能通过datasource控制(建议不要修改),单独使用mybatis下{@link org.apache.ibatis.transaction.jdbc.JdbcTransaction}是可用的</li>
  * <pre>
@@ -56,6 +70,11 @@ import java.util.function.Function;
  */
 public class MybatisBatch<T> {
 
+    /**
+     * 按主键保存或更新时单条 IN 查询的主键个数上限
+     */
+    private static final int IN_LIMIT = 1000;
+
     private final SqlSessionFactory sqlSessionFactory;
 
     private final List<T> dataList;
@@ -140,6 +159,139 @@ public class MybatisBatch<T> {
         }
     }
 
+    /**
+     * 并行分区执行批量操作(失败不重试)
+     *
+     * @param executor      执行分区的线程池(jdk21 可使用虚拟线程 {@code Executors.newVirtualThreadPerTaskExecutor()})
+     * @param partitionSize 每个分区的数据条数
+     * @param batchMethod   批量操作方法
+     * @return 批处理结果(按分区顺序)
+     * @see #executeParallel(Executor, int, int, BatchMethod)
+     * @since 3.5.6
+     */
+    public List<BatchResult> executeParallel(Executor executor, int partitionSize, BatchMethod<T> batchMethod) {
+        return executeParallel(executor, partitionSize, 0, batchMethod);
+    }
+
+    /**
+     * 并行分区执行批量操作
+     * <li>数据按 partitionSize 切分, 每个分区在线程池中打开独立的 BATCH SqlSession(独立连接)执行并单独提交</li>
+     * <li>分区执行期间会关闭连接的自动提交并在结束后恢复, 由分区自行提交或回滚(SpringManagedTransaction 会忽略 openSession 的 autoCommit 参数)</li>
+     * <li>不参与调用方的事务, 分区之间不保证原子性, 失败的分区不会回滚已提交的分区</li>
+     * <li>线程池不能在调用方线程上直接执行任务(例如 {@code Runnable::run}), 否则 Spring 事务内的分区会共用事务连接, 无法单独提交与回滚</li>
+     * <li>分区执行失败时回滚该分区并整体重新执行, 超过重试次数后等待其余分区结束再抛出第一个失败分区的异常(其余异常附加为 suppressed)</li>
+     * <li>参数转换器会被多个线程同时调用, 需要保证线程安全</li>
+     *
+     * @param executor      执行分区的线程池(jdk21 可使用虚拟线程 {@code Executors.newVirtualThreadPerTaskExecutor()})
+     * @param partitionSize 每个分区的数据条数
+     * @param maxRetries    分区失败后的最大重试次数
+     * @param batchMethod   批量操作方法
+     * @return 批处理结果(按分区顺序)
+     * @since 3.5.6
+     */
+    public List<BatchResult> executeParallel(Executor executor, int partitionSize, int maxRetries, BatchMethod<T> batchMethod) {
+        Assert.isFalse(partitionSize < 1, "partitionSize must not be less than one");
+        Assert.isFalse(maxRetries < 0, "maxRetries must not be less than zero");
+        List<CompletableFuture<List<BatchResult>>> futures = new ArrayList<>();
+        for (int i = 0; i < dataList.size(); i += partitionSize) {
+            List<T> partition = dataList.subList(i, Math.min(i + partitionSize, dataList.size()));
+            futures.add(CompletableFuture.supplyAsync(() -> executePartition(partition, maxRetries, batchMethod), executor));
+        }
+        RuntimeException exception = null;
+        List<BatchResult> resultList = new ArrayList<>();
+        for (CompletableFuture<List<BatchResult>> future : futures) {
+            try {
+                resultList.addAll(future.join());
+            } catch (CompletionException e) {
+                RuntimeException cause = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+                if (exception == null) {
+                    exception = cause;
+                } else {
+                    exception.addSuppressed(cause);
+                }
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+        return resultList;
+    }
+
+    /**
+     * 在独立的 SqlSession 中执行一个分区, 失败时回滚后重试
+     */
+    private List<BatchResult> executePartition(List<T> partition, int maxRetries, BatchMethod<T> batchMethod) {
+        for (int attempt = 0; ; attempt++) {
+            try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH, false)) {
+                return executePartition(sqlSession, partition, batchMethod);
+            } catch (RuntimeException e) {
+                if (attempt >= maxRetries) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private List<BatchResult> executePartition(SqlSession sqlSession, List<T> partition, BatchMethod<T> batchMethod) {
+        Connection connection = sqlSession.getConnection();
+        boolean autoCommit = getAutoCommit(connection);
+        if (autoCommit) {
+            // 事务管理器可能忽略 openSession 的 autoCommit 参数, 这里显式关闭, 保证分区失败时能整体回滚
+            setAutoCommit(connection, false);
+        }
+        try {
+            for (T data : partition) {
+                sqlSession.update(batchMethod.getStatementId(), toParameter(batchMethod.getParameterConvert(), data));
+            }
+            List<BatchResult> resultList = sqlSession.flushStatements();
+            sqlSession.commit(true);
+            if (autoCommit) {
+                // SpringManagedTransaction 按打开连接时的自动提交状态跳过提交, 需要直接提交连接
+                commit(connection);
+            }
+            return resultList;
+        } catch (RuntimeException e) {
+            try {
+                if (autoCommit) {
+                    connection.rollback();
+                } else {
+                    sqlSession.rollback(true);
+                }
+            } catch (Exception ex) {
+                e.addSuppressed(ex);
+            }
+            throw e;
+        } finally {
+            if (autoCommit) {
+                setAutoCommit(connection, true);
+            }
+        }
+    }
+
+    private static boolean getAutoCommit(Connection connection) {
+        try {
+            return connection.getAutoCommit();
+        } catch (SQLException e) {
+            throw ExceptionUtils.mpe("Error: Cannot get autoCommit of connection.", e);
+        }
+    }
+
+    private static void setAutoCommit(Connection connection, boolean autoCommit) {
+        try {
+            connection.setAutoCommit(autoCommit);
+        } catch (SQLException e) {
+            throw ExceptionUtils.mpe("Error: Cannot set autoCommit to %s.", e, autoCommit);
+        }
+    }
+
+    private static void commit(Connection connection) {
+        try {
+            connection.commit();
+        } catch (SQLException e) {
+            throw ExceptionUtils.mpe("Error: Cannot commit connection.", e);
+        }
+    }
+
     /**
      * 批量保存或更新
      * 这里需要注意一下,如果在insertPredicate里判断调用其他sqlSession(类似mapper.xxx)时,要注意一级缓存问题或数据感知问题(因为当前会话数据还未提交)
@@ -189,6 +341,76 @@ public class MybatisBatch<T> {
         }
     }
 
+    /**
+     * 按主键批量保存或更新
+     * <p>
+     * 通过 selectBatchIds 分段查询出已存在的主键, 再将数据分为插入与更新两组连续执行,
+     * 不会像 {@link #saveOrUpdate(BatchMethod, BiPredicate, BatchMethod)} 逐条查询导致 BATCH 执行器每条数据都 flushStatements
+     *
+     * @param method 内置方法(使用 insert, updateById 与 selectBatchIds)
+     * @return 批处理结果
+     * @since 3.5.6
+     */
+    public List<BatchResult> saveOrUpdate(Method<T> method) {
+        return saveOrUpdate(false, method);
+    }
+
+    /**
+     * 按主键批量保存或更新
+     *
+     * @param autoCommit 是否自动提交(这里生效的前提依赖于事务管理器 {@link org.apache.ibatis.transaction.Transaction})
+     * @param method     内置方法(使用 insert, updateById 与 selectBatchIds)
+     * @return 批处理结果
+     * @since 3.5.6
+     */
+    public List<BatchResult> saveOrUpdate(boolean autoCommit, Method<T> method) {
+        if (dataList.isEmpty()) {
+            return Collections.emptyList();
+        }
+        TableInfo tableInfo = TableInfoHelper.getTableInfo(dataList.get(0).getClass());
+        Assert.notNull(tableInfo, "error: can not execute. because can not find cache of TableInfo for entity!");
+        String keyProperty = tableInfo.getKeyProperty();
+        Assert.notEmpty(keyProperty, "error: can not execute. because can not find column for id from entity!");
+        BatchMethod<T> insertMethod = method.insert();
+        BatchMethod<T> updateMethod = method.updateById();
+        String selectStatement = method.get(SqlMethod.SELECT_BATCH_BY_IDS.getMethod()).getStatementId();
+        try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH, autoCommit)) {
+            List<Object> ids = new ArrayList<>(dataList.size());
+            for (T data : dataList) {
+                Object idVal = tableInfo.getPropertyValue(data, keyProperty);
+                if (StringUtils.checkValNotNull(idVal)) {
+                    ids.add(idVal);
+                }
+            }
+            Set<Object> existIds = new HashSet<>();
+            for (int i = 0; i < ids.size(); i += IN_LIMIT) {
+                Map<String, Object> param = new HashMap<>();
+                param.put(Constants.COLL, ids.subList(i, Math.min(i + IN_LIMIT, ids.size())));
+                for (Object exist : sqlSession.selectList(selectStatement, param)) {
+                    existIds.add(tableInfo.getPropertyValue(exist, keyProperty));
+                }
+            }
+            List<T> updateList = new ArrayList<>();
+            for (T data : dataList) {
+                Object idVal = tableInfo.getPropertyValue(data, keyProperty);
+                // 重复的主键, 第一条插入后其余按更新处理
+                if (StringUtils.checkValNull(idVal) || existIds.add(idVal)) {
+                    sqlSession.insert(insertMethod.getStatementId(), toParameter(insertMethod.getParameterConvert(), data));
+                } else {
+                    updateList.add(data);
+                }
+            }
+            for (T data : updateList) {
+                sqlSession.update(updateMethod.getStatementId(), toParameter(updateMethod.getParameterConvert(), data));
+            }
+            List<BatchResult> resultList = sqlSession.flushStatements();
+            if (!autoCommit) {
+                sqlSession.commit();
+            }
+            return resultList;
+        }
+    }
+
     /**
      * 参数转换
      *
@@ -236,6 +458,30 @@ public class MybatisBatch<T> {
             return new BatchMethod<>(namespace + StringPool.DOT + SqlMethod.INSERT_ONE.getMethod(), function::apply);
         }
 
+        /**
+         * 插入或更新方法(需要注入 {@code com.baomidou.mybatisplus.extension.injector.methods.InsertOrUpdate})
+         * <p>
+         * 替代 {@link MybatisBatch#saveOrUpdate(BatchMethod, BiPredicate, BatchMethod)}, 不需要逐条查询, 直接 {@link MybatisBatch#execute(BatchMethod)} 即可整批发送
+         *
+         * @return 插入或更新方法
+         * @since 3.5.6
+         */
+        public BatchMethod<T> insertOrUpdate() {
+            return new BatchMethod<>(namespace + StringPool.DOT + SqlMethod.INSERT_OR_UPDATE.getMethod());
+        }
+
+        /**
+         * 插入或更新方法(需要注入 {@code com.baomidou.mybatisplus.extension.injector.methods.InsertOrUpdate})
+         *
+         * @param function 转换函数
+         * @param <E>      实体
+         * @return 插入或更新方法
+         * @since 3.5.6
+         */
+        public <E> BatchMethod<E> insertOrUpdate(Function<E, T> function) {
+            return new BatchMethod<>(namespace + StringPool.DOT + SqlMethod.INSERT_OR_UPDATE.getMethod(), function::apply);
+        }
+
         /**
          * 更新方法 {@link com.baomidou.mybatisplus.core.mapper.BaseMapper#updateById(java.lang.Object)}
          *
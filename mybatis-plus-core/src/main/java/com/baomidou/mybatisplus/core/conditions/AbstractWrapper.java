@@ -460,7 +460,7 @@ public abstract class AbstractWrapper<T, R, Children extends AbstractWrapper<T,
      */
     protected Children addCondition(boolean condition, R column, SqlKeyword sqlKeyword, Object val) {
         return maybeDo(condition, () -> appendSqlSegments(columnToSqlSegment(column), sqlKeyword,
-            () -> formatParam(null, val)));
+            new ParamValueSegment(val)));
     }
 
     /**
@@ -568,6 +568,34 @@ public abstract class AbstractWrapper<T, R, Children extends AbstractWrapper<T,
             .collect(joining(StringPool.COMMA, StringPool.LEFT_BRACKET, StringPool.RIGHT_BRACKET));
     }
 
+    /**
+     * 条件值片段, 渲染时才生成参数占位符
+     * <p>拦截器(例如乐观锁)可以直接读取条件值, 无需渲染并解析占位符</p>
+     *
+     * @since 3.5.6
+     */
+    public class ParamValueSegment implements ISqlSegment {
+        private static final long serialVersionUID = 1L;
+
+        private final Object value;
+
+        protected ParamValueSegment(Object value) {
+            this.value = value;
+        }
+
+        /**
+         * 条件值
+         */
+        public Object getValue() {
+            return value;
+        }
+
+        @Override
+        public String getSqlSegment() {
+            return formatParam(null, value);
+        }
+    }
+
     /**
      * 必要的初始化
      */
@@ -27,6 +27,7 @@ public enum SqlMethod {
      */
     INSERT_ONE("insert", "插入一条数据（选择字段插入）", "<script>\nINSERT INTO %s %s VALUES %s\n</script>"),
     UPSERT_ONE("upsert", "Phoenix插入一条数据（选择字段插入）", "<script>\nUPSERT INTO %s %s VALUES %s\n</script>"),
+    INSERT_OR_UPDATE("insertOrUpdate", "插入一条数据, 主键冲突时更新（按数据库类型生成）", "<script>\n%s\n</script>"),
 
     /**
      * 删除
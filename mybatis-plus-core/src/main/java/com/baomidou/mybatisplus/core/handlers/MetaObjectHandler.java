@@ -15,8 +15,10 @@
  */
 package com.baomidou.mybatisplus.core.handlers;
 
+import com.baomidou.mybatisplus.core.metadata.PropertyAccessor;
 import com.baomidou.mybatisplus.core.metadata.TableInfo;
 import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.core.toolkit.StringPool;
 import org.apache.ibatis.reflection.MetaObject;
 
 import java.util.Collections;
@@ -203,6 +205,19 @@ public interface MetaObjectHandler {
      * @since 3.3.0
      */
     default MetaObjectHandler strictFillStrategy(MetaObject metaObject, String fieldName, Supplier<?> fieldVal) {
+        TableInfo tableInfo = !fieldName.contains(StringPool.DOT) ? findTableInfo(metaObject) : null;
+        if (tableInfo != null) {
+            // 实体属性直接通过属性访问器读写
+            Object entity = metaObject.getOriginalObject();
+            PropertyAccessor accessor = tableInfo.getPropertyAccessor(fieldName);
+            if (accessor.get(entity) == null) {
+                Object obj = fieldVal.get();
+                if (Objects.nonNull(obj)) {
+                    accessor.set(entity, obj);
+                }
+            }
+            return this;
+        }
         if (metaObject.getValue(fieldName) == null) {
             Object obj = fieldVal.get();
             if (Objects.nonNull(obj)) {
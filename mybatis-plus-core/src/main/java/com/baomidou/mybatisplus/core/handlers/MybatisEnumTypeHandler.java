@@ -35,6 +35,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -50,9 +51,19 @@ public class MybatisEnumTypeHandler<E extends Enum<E>> extends BaseTypeHandler<E
 
     private static final Map<String, String> TABLE_METHOD_OF_ENUM_TYPES = new ConcurrentHashMap<>();
     private static final ReflectorFactory REFLECTOR_FACTORY = new DefaultReflectorFactory();
+    private static final BigDecimal LONG_MIN = BigDecimal.valueOf(Long.MIN_VALUE);
+    private static final BigDecimal LONG_MAX = BigDecimal.valueOf(Long.MAX_VALUE);
     private final Class<E> enumClassType;
     private final Class<?> propertyType;
     private final Invoker getInvoker;
+    /**
+     * 按 ordinal 缓存的枚举属性值
+     */
+    private final Object[] enumValues;
+    /**
+     * 归一化后的属性值 -> 枚举, 子类重写 {@link #equalsValue(Object, Object)} 时为 null(逐个比较)
+     */
+    private final Map<Object, E> valueMap;
 
     public MybatisEnumTypeHandler(Class<E> enumClassType) {
         if (enumClassType == null) {
@@ -66,6 +77,62 @@ public class MybatisEnumTypeHandler<E extends Enum<E>> extends BaseTypeHandler<E
         }
         this.propertyType = ReflectionKit.resolvePrimitiveIfNecessary(metaClass.getGetterType(name));
         this.getInvoker = metaClass.getGetInvoker(name);
+        E[] constants = enumClassType.getEnumConstants();
+        this.enumValues = new Object[constants.length];
+        for (E e : constants) {
+            this.enumValues[e.ordinal()] = this.invokeGetter(e);
+        }
+        this.valueMap = this.overrideEqualsValue() ? null : this.buildValueMap(constants);
+    }
+
+    /**
+     * 构建查找表, 每个枚举同时按数值与字符串归一化, 与 {@link #equalsValue(Object, Object)} 的语义一致
+     */
+    private Map<Object, E> buildValueMap(E[] constants) {
+        Map<Object, E> map = new HashMap<>(constants.length * 4);
+        for (E e : constants) {
+            Object value = this.enumValues[e.ordinal()];
+            if (value instanceof Number) {
+                map.putIfAbsent(numberKey((Number) value), e);
+            }
+            map.putIfAbsent(StringUtils.toStringTrim(value), e);
+        }
+        return map;
+    }
+
+    /**
+     * 数值归一化, 1, 1L, 1.0 得到相同的 key
+     */
+    private static Object numberKey(Number number) {
+        if (number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte) {
+            return number.longValue();
+        }
+        BigDecimal decimal;
+        try {
+            decimal = new BigDecimal(StringUtils.toStringTrim(number)).stripTrailingZeros();
+        } catch (NumberFormatException e) {
+            // NaN, Infinity
+            return StringUtils.toStringTrim(number);
+        }
+        if (decimal.scale() <= 0 && decimal.compareTo(LONG_MIN) >= 0 && decimal.compareTo(LONG_MAX) <= 0) {
+            return decimal.longValue();
+        }
+        return decimal;
+    }
+
+    /**
+     * 子类是否重写了 {@link #equalsValue(Object, Object)}
+     */
+    private boolean overrideEqualsValue() {
+        for (Class<?> clazz = getClass(); clazz != MybatisEnumTypeHandler.class; clazz = clazz.getSuperclass()) {
+            try {
+                clazz.getDeclaredMethod("equalsValue", Object.class, Object.class);
+                return true;
+            } catch (NoSuchMethodException ignored) {
+                // continue
+            }
+        }
+        return false;
     }
 
     /**
@@ -141,8 +208,19 @@ public class MybatisEnumTypeHandler<E extends Enum<E>> extends BaseTypeHandler<E
     }
 
     private E valueOf(Object value) {
-        E[] es = this.enumClassType.getEnumConstants();
-        return Arrays.stream(es).filter((e) -> equalsValue(value, getValue(e))).findAny().orElse(null);
+        if (this.valueMap != null) {
+            E e = null;
+            if (value instanceof Number) {
+                e = this.valueMap.get(numberKey((Number) value));
+            }
+            return e != null ? e : this.valueMap.get(StringUtils.toStringTrim(value));
+        }
+        for (E e : this.enumClassType.getEnumConstants()) {
+            if (equalsValue(value, getValue(e))) {
+                return e;
+            }
+        }
+        return null;
     }
 
     /**
@@ -163,7 +241,11 @@ public class MybatisEnumTypeHandler<E extends Enum<E>> extends BaseTypeHandler<E
         return Objects.equals(sValue, tValue);
     }
 
-    private Object getValue(Object object) {
+    private Object getValue(E e) {
+        return this.enumValues[e.ordinal()];
+    }
+
+    private Object invokeGetter(Object object) {
         try {
             return this.getInvoker.invoke(object, new Object[0]);
         } catch (ReflectiveOperationException e) {
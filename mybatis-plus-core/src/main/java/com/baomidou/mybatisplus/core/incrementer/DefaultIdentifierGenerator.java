@@ -56,6 +56,16 @@ public class DefaultIdentifierGenerator implements IdentifierGenerator {
         return sequence.nextId();
     }
 
+    @Override
+    public Long[] nextIds(Object entity, int count) {
+        long[] values = sequence.nextIds(count);
+        Long[] ids = new Long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = values[i];
+        }
+        return ids;
+    }
+
     public static DefaultIdentifierGenerator getInstance() {
         return DefaultInstance.INSTANCE;
     }
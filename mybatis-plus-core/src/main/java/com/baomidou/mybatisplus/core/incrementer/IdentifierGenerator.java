@@ -47,6 +47,24 @@ public interface IdentifierGenerator {
      */
     Number nextId(Object entity);
 
+    /**
+     * 批量生成Id
+     * <p>
+     * 默认逐个调用 {@link #nextId(Object)}, 支持一次预留多个 id 的生成器可重写该方法
+     *
+     * @param entity 实体(同一批次中的第一个实体)
+     * @param count  个数
+     * @return id
+     * @since 3.5.6
+     */
+    default Number[] nextIds(Object entity, int count) {
+        Number[] ids = new Number[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = nextId(entity);
+        }
+        return ids;
+    }
+
     /**
      * 生成uuid
      *
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2011-2023, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.core.incrementer;
+
+import com.baomidou.mybatisplus.annotation.KeySequence;
+import com.baomidou.mybatisplus.core.toolkit.Assert;
+import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.ExecutorException;
+import org.apache.ibatis.executor.keygen.KeyGenerator;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.RowBounds;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 客户端号段序列主键生成器
+ * <p>
+ * 一次序列查询分配 {@link KeySequence#allocationSize()} 个主键在内存中依次使用, 号段用完时才再次查询序列
+ * <ul>
+ *     <li>pooled(默认): 序列步长与号段大小一致, 号段为 [序列值, 序列值 + allocationSize)</li>
+ *     <li>hi/lo: 序列步长为 1, 号段为 [序列值 * allocationSize, (序列值 + 1) * allocationSize)</li>
+ * </ul>
+ * 同一个 {@link Configuration} 下相同序列的生成器(例如 insert 与批量 insert)共享号段, 不会各自占用一段
+ *
+ * @author agent
+ * @since 3.5.6
+ */
+public class PooledSequenceKeyGenerator implements KeyGenerator {
+
+    /**
+     * 号段注册表, 按 Configuration 隔离, 再按序列名共享
+     */
+    private static final Map<Configuration, Map<String, SequencePool>> POOL_REGISTRY = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final MappedStatement keyStatement;
+    private final String keyProperty;
+    private final Class<?> keyType;
+    private final SequencePool pool;
+
+    public PooledSequenceKeyGenerator(MappedStatement keyStatement, String sequence, String keyProperty, Class<?> keyType,
+                                      int allocationSize, boolean hilo) {
+        this.keyStatement = keyStatement;
+        this.keyProperty = keyProperty;
+        this.keyType = keyType;
+        this.pool = registerPool(keyStatement.getConfiguration(), sequence, allocationSize, hilo);
+    }
+
+    /**
+     * 获取序列共享的号段, 同一序列的号段大小与算法必须一致
+     */
+    private static SequencePool registerPool(Configuration configuration, String sequence, int allocationSize, boolean hilo) {
+        Map<String, SequencePool> pools = POOL_REGISTRY.computeIfAbsent(configuration, k -> new ConcurrentHashMap<>());
+        SequencePool pool = CollectionUtils.computeIfAbsent(pools, sequence, k -> new SequencePool(allocationSize, hilo));
+        Assert.isTrue(pool.allocationSize == allocationSize && pool.hilo == hilo,
+            "sequence \"%s\" is already used with allocationSize %s and hilo %s", sequence, pool.allocationSize, pool.hilo);
+        return pool;
+    }
+
+    @Override
+    public void processBefore(Executor executor, MappedStatement ms, Statement stmt, Object parameter) {
+        if (parameter == null) {
+            return;
+        }
+        try {
+            long value = nextValue(executor, parameter);
+            MetaObject metaParam = ms.getConfiguration().newMetaObject(parameter);
+            metaParam.setValue(keyProperty, convert(value));
+        } catch (ExecutorException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ExecutorException("Error selecting key or setting result to parameter object. Cause: " + e, e);
+        }
+    }
+
+    @Override
+    public void processAfter(Executor executor, MappedStatement ms, Statement stmt, Object parameter) {
+        // do nothing
+    }
+
+    /**
+     * 从号段中取下一个值, 号段用完时查询序列
+     */
+    protected long nextValue(Executor executor, Object parameter) throws Exception {
+        while (true) {
+            Block current = pool.block;
+            long value = current.next.getAndIncrement();
+            if (value < current.max) {
+                return value;
+            }
+            pool.lock.lock();
+            try {
+                if (pool.block == current) {
+                    long start = selectSequence(executor, parameter);
+                    if (pool.hilo) {
+                        start = start * pool.allocationSize;
+                    }
+                    pool.block = new Block(start, start + pool.allocationSize);
+                }
+            } finally {
+                pool.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 查询序列值, 与 {@link org.apache.ibatis.executor.keygen.SelectKeyGenerator} 一样在当前事务内执行
+     */
+    protected long selectSequence(Executor executor, Object parameter) throws Exception {
+        Executor keyExecutor = keyStatement.getConfiguration().newExecutor(executor.getTransaction(), ExecutorType.SIMPLE);
+        List<Object> values = keyExecutor.query(keyStatement, parameter, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+        if (values.size() != 1 || values.get(0) == null) {
+            throw new ExecutorException("Sequence statement '" + keyStatement.getId() + "' must return exactly one value.");
+        }
+        Object value = values.get(0);
+        return value instanceof Number ? ((Number) value).longValue() : Long.parseLong(value.toString());
+    }
+
+    private Object convert(long value) {
+        if (Integer.class == keyType || int.class == keyType) {
+            return (int) value;
+        } else if (BigDecimal.class.isAssignableFrom(keyType)) {
+            return BigDecimal.valueOf(value);
+        } else if (BigInteger.class.isAssignableFrom(keyType)) {
+            return BigInteger.valueOf(value);
+        } else if (String.class.isAssignableFrom(keyType)) {
+            return String.valueOf(value);
+        }
+        return value;
+    }
+
+    /**
+     * 序列共享的号段
+     */
+    private static class SequencePool {
+        private final int allocationSize;
+        private final boolean hilo;
+        /**
+         * 只允许一个线程查询序列补充号段
+         */
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile Block block = new Block(0, 0);
+
+        SequencePool(int allocationSize, boolean hilo) {
+            this.allocationSize = allocationSize;
+            this.hilo = hilo;
+        }
+    }
+
+    /**
+     * 号段 [next, max)
+     */
+    private static class Block {
+        private final AtomicLong next;
+        private final long max;
+
+        Block(long start, long max) {
+            this.next = new AtomicLong(start);
+            this.max = max;
+        }
+    }
+}
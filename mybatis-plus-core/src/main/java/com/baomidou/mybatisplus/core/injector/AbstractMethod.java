@@ -261,18 +261,30 @@ public abstract class AbstractMethod implements Constants {
 
     protected String sqlOrderBy(TableInfo tableInfo) {
         /* 不存在排序字段，直接返回空 */
+        String orderBy = sqlOrderByColumns(tableInfo);
+        if (orderBy.isEmpty()) {
+            return StringPool.EMPTY;
+        }
+        /* 当wrapper中传递了orderBy属性，@orderBy注解失效 */
+        return SqlScriptUtils.convertIf(NEWLINE + " ORDER BY " + orderBy, String.format("%s == null or %s", WRAPPER,
+            WRAPPER_EXPRESSION_ORDER), true);
+    }
+
+    /**
+     * 注解 {@link com.baomidou.mybatisplus.annotation.OrderBy} 的排序字段
+     *
+     * @param tableInfo 表信息
+     * @return 排序字段(不含 ORDER BY), 不存在时返回空字符串
+     * @since 3.5.6
+     */
+    protected String sqlOrderByColumns(TableInfo tableInfo) {
         List<OrderFieldInfo> orderByFields = tableInfo.getOrderByFields();
         if (CollectionUtils.isEmpty(orderByFields)) {
             return StringPool.EMPTY;
         }
         orderByFields.sort(Comparator.comparingInt(OrderFieldInfo::getSort));
-        StringBuilder sql = new StringBuilder();
-        sql.append(NEWLINE).append(" ORDER BY ");
-        sql.append(orderByFields.stream().map(orderFieldInfo -> String.format("%s %s", orderFieldInfo.getColumn(),
-            orderFieldInfo.getType())).collect(joining(",")));
-        /* 当wrapper中传递了orderBy属性，@orderBy注解失效 */
-        return SqlScriptUtils.convertIf(sql.toString(), String.format("%s == null or %s", WRAPPER,
-            WRAPPER_EXPRESSION_ORDER), true);
+        return orderByFields.stream().map(orderFieldInfo -> String.format("%s %s", orderFieldInfo.getColumn(),
+            orderFieldInfo.getType())).collect(joining(","));
     }
 
     /**
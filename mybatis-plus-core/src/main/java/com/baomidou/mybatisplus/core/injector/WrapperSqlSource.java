@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2011-2023, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.core.injector;
+
+import com.baomidou.mybatisplus.core.conditions.AbstractWrapper;
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import com.baomidou.mybatisplus.core.toolkit.StringPool;
+import org.apache.ibatis.builder.SqlSourceBuilder;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.scripting.xmltags.DynamicContext;
+import org.apache.ibatis.session.Configuration;
+
+import java.util.Map;
+
+/**
+ * 内置 wrapper 方法(selectList,selectCount,delete,update 等)的 SqlSource
+ * <p>
+ * wrapper 不携带 entity 时直接由 {@link TableInfo} 与 wrapper 的 sql 片段拼接出 sql, 不再经过 OGNL 计算脚本,
+ * 其余情况(携带 entity,非 wrapper 参数等)交给注入时生成的原 SqlSource 处理
+ *
+ * @author agent
+ * @since 3.5.6
+ */
+public class WrapperSqlSource implements SqlSource {
+
+    private final Configuration configuration;
+    /**
+     * 注入时生成的脚本 SqlSource
+     */
+    private final SqlSource sqlSource;
+    /**
+     * 查询: select 之前的部分, 其他: 整个 where 之前的部分
+     */
+    private final String head;
+    /**
+     * 默认查询字段, 非查询时为 null
+     */
+    private final String columns;
+    /**
+     * 查询: 查询字段之后到 where 之前的部分
+     */
+    private final String tail;
+    /**
+     * 逻辑删除条件, 不存在时为空字符串
+     */
+    private final String logicDeleteWhere;
+    /**
+     * 注解排序字段, 不存在时为空字符串
+     */
+    private final String orderBy;
+    /**
+     * 是否为 update(拼接 ew.sqlSet)
+     */
+    private final boolean update;
+
+    private WrapperSqlSource(Configuration configuration, SqlSource sqlSource, String head, String columns, String tail,
+                             TableInfo tableInfo, String orderBy, boolean update) {
+        this.configuration = configuration;
+        this.sqlSource = sqlSource;
+        this.head = head;
+        this.columns = columns;
+        this.tail = tail;
+        this.logicDeleteWhere = tableInfo.getLogicDeleteSql(false, true);
+        this.orderBy = orderBy;
+        this.update = update;
+    }
+
+    /**
+     * 查询
+     *
+     * @param sqlSource 原 SqlSource
+     * @param tableInfo 表信息
+     * @param columns   默认查询字段
+     * @param orderBy   注解排序字段
+     */
+    public static WrapperSqlSource select(Configuration configuration, SqlSource sqlSource, TableInfo tableInfo,
+                                          String columns, String orderBy) {
+        return new WrapperSqlSource(configuration, sqlSource, "SELECT ", columns, " FROM " + tableInfo.getTableName(),
+            tableInfo, orderBy, false);
+    }
+
+    /**
+     * 查询总记录数
+     *
+     * @param sqlSource 原 SqlSource
+     * @param tableInfo 表信息
+     */
+    public static WrapperSqlSource count(Configuration configuration, SqlSource sqlSource, TableInfo tableInfo) {
+        return new WrapperSqlSource(configuration, sqlSource, "SELECT COUNT(", StringPool.ASTERISK,
+            ") AS total FROM " + tableInfo.getTableName(), tableInfo, StringPool.EMPTY, false);
+    }
+
+    /**
+     * 删除(存在逻辑删除时为逻辑删除)
+     *
+     * @param sqlSource 原 SqlSource
+     * @param tableInfo 表信息
+     */
+    public static WrapperSqlSource delete(Configuration configuration, SqlSource sqlSource, TableInfo tableInfo) {
+        String head = tableInfo.isWithLogicDelete() ? "UPDATE " + tableInfo.getTableName() + " SET " + tableInfo.getLogicDeleteSql(false, false)
+            : "DELETE FROM " + tableInfo.getTableName();
+        return new WrapperSqlSource(configuration, sqlSource, head, null, null, tableInfo, StringPool.EMPTY, false);
+    }
+
+    /**
+     * 更新(只处理 entity 为 null 的情况)
+     *
+     * @param sqlSource 原 SqlSource
+     * @param tableInfo 表信息
+     */
+    public static WrapperSqlSource update(Configuration configuration, SqlSource sqlSource, TableInfo tableInfo) {
+        return new WrapperSqlSource(configuration, sqlSource, "UPDATE " + tableInfo.getTableName(), null, null,
+            tableInfo, StringPool.EMPTY, true);
+    }
+
+    @Override
+    public BoundSql getBoundSql(Object parameterObject) {
+        if (!isRenderable(parameterObject)) {
+            return sqlSource.getBoundSql(parameterObject);
+        }
+        Wrapper<?> ew = (Wrapper<?>) ((Map<?, ?>) parameterObject).get(Constants.WRAPPER);
+        // 与 DynamicSqlSource 一致, 只是省去了脚本节点的计算
+        DynamicContext context = new DynamicContext(configuration, parameterObject);
+        context.appendSql(render(ew));
+        SqlSourceBuilder sqlSourceParser = new SqlSourceBuilder(configuration);
+        SqlSource staticSqlSource = sqlSourceParser.parse(context.getSql(), parameterObject.getClass(), context.getBindings());
+        BoundSql boundSql = staticSqlSource.getBoundSql(parameterObject);
+        context.getBindings().forEach(boundSql::setAdditionalParameter);
+        return boundSql;
+    }
+
+    /**
+     * 参数为 mapper 方法的参数 map, 且 wrapper(以及 update 的 entity)不需要脚本处理
+     */
+    private boolean isRenderable(Object parameterObject) {
+        if (!(parameterObject instanceof Map)) {
+            return false;
+        }
+        Map<?, ?> params = (Map<?, ?>) parameterObject;
+        if (!params.containsKey(Constants.WRAPPER)) {
+            return false;
+        }
+        if (update && (!params.containsKey(Constants.ENTITY) || params.get(Constants.ENTITY) != null)) {
+            return false;
+        }
+        Object ew = params.get(Constants.WRAPPER);
+        if (ew == null) {
+            return true;
+        }
+        if (!(ew instanceof Wrapper) || ((Wrapper<?>) ew).getEntity() != null) {
+            return false;
+        }
+        // 注解排序需要 AbstractWrapper#isUseAnnotationOrderBy 判断
+        return orderBy.isEmpty() || ew instanceof AbstractWrapper;
+    }
+
+    /**
+     * 按注入脚本的规则拼接 sql
+     *
+     * @param ew wrapper, 可以为 null
+     * @return sql
+     */
+    private String render(Wrapper<?> ew) {
+        StringBuilder sql = new StringBuilder(256);
+        if (columns != null) {
+            String sqlFirst = ew == null ? null : ew.getSqlFirst();
+            if (sqlFirst != null) {
+                sql.append(sqlFirst).append(StringPool.SPACE);
+            }
+            String sqlSelect = ew == null ? null : ew.getSqlSelect();
+            sql.append(head).append(sqlSelect == null ? columns : sqlSelect).append(tail);
+        } else {
+            sql.append(head);
+            if (update && ew != null && ew.getSqlSet() != null) {
+                // 同 <set> 标签, 去除首尾的逗号
+                String sqlSet = ew.getSqlSet().trim();
+                if (sqlSet.startsWith(StringPool.COMMA)) {
+                    sqlSet = sqlSet.substring(1);
+                }
+                if (sqlSet.endsWith(StringPool.COMMA)) {
+                    sqlSet = sqlSet.substring(0, sqlSet.length() - 1);
+                }
+                if (!sqlSet.isEmpty()) {
+                    sql.append(" SET ").append(sqlSet);
+                }
+            }
+        }
+        String sqlSegment = ew == null ? null : ew.getSqlSegment();
+        boolean hasSegment = sqlSegment != null && !sqlSegment.isEmpty();
+        if (logicDeleteWhere.isEmpty()) {
+            if (hasSegment) {
+                sql.append(ew.isNonEmptyOfNormal() ? " WHERE " : StringPool.SPACE).append(sqlSegment);
+            }
+        } else {
+            sql.append(" WHERE ").append(logicDeleteWhere);
+            if (hasSegment) {
+                sql.append(ew.isNonEmptyOfNormal() ? " AND " : StringPool.SPACE).append(sqlSegment);
+            }
+        }
+        if (!orderBy.isEmpty() && (ew == null || ((AbstractWrapper<?, ?, ?>) ew).isUseAnnotationOrderBy())) {
+            sql.append(" ORDER BY ").append(orderBy);
+        }
+        String sqlComment = ew == null ? null : ew.getSqlComment();
+        if (sqlComment != null) {
+            sql.append(StringPool.SPACE).append(sqlComment);
+        }
+        return sql.toString();
+    }
+}
@@ -17,6 +17,7 @@ package com.baomidou.mybatisplus.core.injector.methods;
 
 import com.baomidou.mybatisplus.core.enums.SqlMethod;
 import com.baomidou.mybatisplus.core.injector.AbstractMethod;
+import com.baomidou.mybatisplus.core.injector.WrapperSqlSource;
 import com.baomidou.mybatisplus.core.metadata.TableInfo;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.SqlSource;
@@ -50,6 +51,9 @@ public class Delete extends AbstractMethod {
                 sqlWhereEntityWrapper(true, tableInfo),
                 sqlComment());
             SqlSource sqlSource = super.createSqlSource(configuration, sql, modelClass);
+            if (getClass() == Delete.class) {
+                sqlSource = WrapperSqlSource.delete(configuration, sqlSource, tableInfo);
+            }
             return addUpdateMappedStatement(mapperClass, modelClass, methodName, sqlSource);
         } else {
             sqlMethod = SqlMethod.DELETE;
@@ -57,6 +61,9 @@ public class Delete extends AbstractMethod {
                 sqlWhereEntityWrapper(true, tableInfo),
                 sqlComment());
             SqlSource sqlSource = super.createSqlSource(configuration, sql, modelClass);
+            if (getClass() == Delete.class) {
+                sqlSource = WrapperSqlSource.delete(configuration, sqlSource, tableInfo);
+            }
             return this.addDeleteMappedStatement(mapperClass, methodName, sqlSource);
         }
     }
@@ -17,6 +17,7 @@ package com.baomidou.mybatisplus.core.injector.methods;
 
 import com.baomidou.mybatisplus.core.enums.SqlMethod;
 import com.baomidou.mybatisplus.core.injector.AbstractMethod;
+import com.baomidou.mybatisplus.core.injector.WrapperSqlSource;
 import com.baomidou.mybatisplus.core.metadata.TableInfo;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.SqlSource;
@@ -47,6 +48,9 @@ public class SelectCount extends AbstractMethod {
         String sql = String.format(sqlMethod.getSql(), sqlFirst(), sqlCount(), tableInfo.getTableName(),
             sqlWhereEntityWrapper(true, tableInfo), sqlComment());
         SqlSource sqlSource = super.createSqlSource(configuration, sql, modelClass);
+        if (getClass() == SelectCount.class) {
+            sqlSource = WrapperSqlSource.count(configuration, sqlSource, tableInfo);
+        }
         return this.addSelectMappedStatementForOther(mapperClass, methodName, sqlSource, Long.class);
     }
 }
@@ -17,6 +17,7 @@ package com.baomidou.mybatisplus.core.injector.methods;
 
 import com.baomidou.mybatisplus.core.enums.SqlMethod;
 import com.baomidou.mybatisplus.core.injector.AbstractMethod;
+import com.baomidou.mybatisplus.core.injector.WrapperSqlSource;
 import com.baomidou.mybatisplus.core.metadata.TableInfo;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.SqlSource;
@@ -49,6 +50,9 @@ public class SelectMaps extends AbstractMethod {
         String sql = String.format(sqlMethod.getSql(), sqlFirst(), sqlSelectColumns(tableInfo, true), tableInfo.getTableName(),
             sqlWhereEntityWrapper(true, tableInfo),sqlOrderBy(tableInfo), sqlComment());
         SqlSource sqlSource = super.createSqlSource(configuration, sql, modelClass);
+        if (getClass() == SelectMaps.class) {
+            sqlSource = WrapperSqlSource.select(configuration, sqlSource, tableInfo, sqlSelectColumns(tableInfo, false), sqlOrderByColumns(tableInfo));
+        }
         return this.addSelectMappedStatementForOther(mapperClass, methodName, sqlSource, Map.class);
     }
 }
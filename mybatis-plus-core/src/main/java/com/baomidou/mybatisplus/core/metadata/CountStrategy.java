@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2011-2023, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.core.metadata;
+
+/**
+ * 分页 count 查询策略
+ *
+ * @author agent
+ * @since 3.5.6
+ */
+public enum CountStrategy {
+    /**
+     * 每次同步执行 count 查询(默认)
+     */
+    EXACT,
+    /**
+     * 按 count sql 与参数缓存总数, 过期前不再执行 count 查询, 总数可能不是最新的
+     * <p>
+     * 命中缓存时总数只用于展示, 不会据此跳过数据查询或处理溢出
+     */
+    CACHED,
+    /**
+     * 使用独立连接与数据查询并发执行 count 查询, 首次读取总数时等待结果
+     * <p>
+     * 独立连接看不到当前事务中未提交的数据, 分页插件开启溢出处理时退化为 {@link #EXACT}
+     */
+    ASYNC,
+    /**
+     * 使用数据库执行计划的估算行数作为总数, 不支持的数据库退化为 {@link #EXACT}
+     * <p>
+     * 估算值只用于展示, 不会据此跳过数据查询或处理溢出
+     */
+    ESTIMATED
+}
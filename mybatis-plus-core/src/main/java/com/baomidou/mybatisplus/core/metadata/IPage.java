@@ -65,6 +65,16 @@ public interface IPage<T> extends Serializable {
         return true;
     }
 
+    /**
+     * count 查询策略,优先级高于分页插件内的 countStrategy
+     *
+     * @return 策略, 为 null 时使用分页插件的配置
+     * @since 3.5.6
+     */
+    default CountStrategy countStrategy() {
+        return null;
+    }
+
     /**
      * 计算当前分页偏移量
      */
@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2011-2023, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.core.metadata;
+
+import com.baomidou.mybatisplus.core.toolkit.ExceptionUtils;
+import com.baomidou.mybatisplus.core.toolkit.ReflectionKit;
+import com.baomidou.mybatisplus.core.toolkit.StringUtils;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.reflection.invoker.Invoker;
+import org.apache.ibatis.reflection.invoker.MethodInvoker;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * 实体属性访问器
+ * <p>
+ * 优先通过 {@link LambdaMetafactory} 将 getter/setter 编译为函数, 无法生成时回退到 {@link MethodHandle},
+ * 再回退到 mybatis {@link Reflector}, 用于替代主键填充、字段填充等热点路径上的 MetaObject 反射
+ *
+ * @author agent
+ * @since 3.5.6
+ */
+public final class PropertyAccessor {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private final String property;
+    private final Class<?> propertyType;
+    private final Function<Object, Object> getter;
+    private final BiConsumer<Object, Object> setter;
+
+    PropertyAccessor(Class<?> entityType, Reflector reflector, String property) {
+        this.property = property;
+        this.propertyType = reflector.getSetterType(property);
+        this.getter = createGetter(entityType, reflector, property);
+        this.setter = createSetter(entityType, reflector, property, propertyType);
+    }
+
+    /**
+     * 属性名
+     */
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * 属性类型
+     */
+    public Class<?> getPropertyType() {
+        return propertyType;
+    }
+
+    /**
+     * 读取属性值
+     *
+     * @param entity 实体
+     * @return 属性值
+     */
+    public Object get(Object entity) {
+        return getter.apply(entity);
+    }
+
+    /**
+     * 设置属性值
+     *
+     * @param entity 实体
+     * @param value  属性值
+     */
+    public void set(Object entity, Object value) {
+        setter.accept(entity, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> createGetter(Class<?> entityType, Reflector reflector, String property) {
+        Method method = findGetter(entityType, property);
+        if (method != null) {
+            try {
+                if (isPublic(method) && isVisible(method.getDeclaringClass()) && isVisible(method.getReturnType())) {
+                    MethodHandle handle = LOOKUP.unreflect(method);
+                    CallSite site = LambdaMetafactory.metafactory(LOOKUP, "apply", MethodType.methodType(Function.class),
+                        MethodType.methodType(Object.class, Object.class), handle,
+                        MethodType.methodType(ReflectionKit.resolvePrimitiveIfNecessary(method.getReturnType()), method.getDeclaringClass()));
+                    return (Function<Object, Object>) site.getTarget().invokeExact();
+                }
+                return handleGetter(LOOKUP.unreflect(accessible(method)));
+            } catch (Throwable e) {
+                // 回退
+            }
+        }
+        // mybatis 找到了 getter 方法时优先使用方法, 只有没有 getter 时才直接读取字段
+        Invoker invoker = reflector.hasGetter(property) ? reflector.getGetInvoker(property) : null;
+        if (!(invoker instanceof MethodInvoker)) {
+            Field field = findField(entityType, property);
+            if (field != null) {
+                try {
+                    return handleGetter(LOOKUP.unreflectGetter(accessible(field)));
+                } catch (Throwable e) {
+                    // 回退
+                }
+            }
+        }
+        return entity -> {
+            try {
+                return reflector.getGetInvoker(property).invoke(entity, null);
+            } catch (ReflectiveOperationException e) {
+                throw ExceptionUtils.mpe("Error: Cannot read property in %s.  Cause:", e, entity.getClass().getSimpleName());
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> createSetter(Class<?> entityType, Reflector reflector, String property, Class<?> propertyType) {
+        Method method = findSetter(entityType, property, propertyType);
+        if (method != null) {
+            Class<?> parameterType = method.getParameterTypes()[0];
+            try {
+                if (isPublic(method) && isVisible(method.getDeclaringClass()) && isVisible(parameterType)) {
+                    // 链式 setter 的返回值由 void 的函数签名丢弃
+                    MethodHandle handle = LOOKUP.unreflect(method);
+                    CallSite site = LambdaMetafactory.metafactory(LOOKUP, "accept", MethodType.methodType(BiConsumer.class),
+                        MethodType.methodType(void.class, Object.class, Object.class), handle,
+                        MethodType.methodType(void.class, method.getDeclaringClass(), ReflectionKit.resolvePrimitiveIfNecessary(parameterType)));
+                    return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+                }
+                return handleSetter(LOOKUP.unreflect(accessible(method)));
+            } catch (Throwable e) {
+                // 回退
+            }
+        }
+        // mybatis 找到了 setter 方法时优先使用方法, 只有没有 setter 时才直接写入字段
+        if (!(reflector.getSetInvoker(property) instanceof MethodInvoker)) {
+            Field field = findField(entityType, property);
+            if (field != null && !Modifier.isFinal(field.getModifiers())) {
+                try {
+                    return handleSetter(LOOKUP.unreflectSetter(accessible(field)));
+                } catch (Throwable e) {
+                    // 回退
+                }
+            }
+        }
+        return (entity, value) -> {
+            try {
+                reflector.getSetInvoker(property).invoke(entity, new Object[]{value});
+            } catch (ReflectiveOperationException e) {
+                throw ExceptionUtils.mpe("Error: Cannot write property in %s.  Cause:", e, entity.getClass().getSimpleName());
+            }
+        };
+    }
+
+    private static Function<Object, Object> handleGetter(MethodHandle handle) {
+        MethodHandle generic = handle.asType(MethodType.methodType(Object.class, Object.class));
+        return entity -> {
+            try {
+                return generic.invokeExact(entity);
+            } catch (Throwable e) {
+                throw ExceptionUtils.mpe(e);
+            }
+        };
+    }
+
+    private static BiConsumer<Object, Object> handleSetter(MethodHandle handle) {
+        MethodHandle generic = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        return (entity, value) -> {
+            try {
+                generic.invokeExact(entity, value);
+            } catch (Throwable e) {
+                throw ExceptionUtils.mpe(e);
+            }
+        };
+    }
+
+    private static boolean isPublic(Method method) {
+        return Modifier.isPublic(method.getModifiers()) && Modifier.isPublic(method.getDeclaringClass().getModifiers());
+    }
+
+    /**
+     * 生成的函数定义在当前类加载器中, 实体由其他类加载器(例如 devtools)加载时不能使用
+     */
+    private static boolean isVisible(Class<?> clazz) {
+        if (clazz.isPrimitive() || clazz.getClassLoader() == null) {
+            return true;
+        }
+        try {
+            return Class.forName(clazz.getName(), false, PropertyAccessor.class.getClassLoader()) == clazz;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static <T extends AccessibleObject> T accessible(T object) {
+        object.setAccessible(true);
+        return object;
+    }
+
+    /**
+     * 按 mybatis {@link Reflector} 的规则查找 getter: get 或 is 开头, 无参数, 返回值不为 void,
+     * 子类的协变重写与父类泛型擦除后的方法同时存在时优先非桥接方法
+     */
+    private static Method findGetter(Class<?> clazz, String property) {
+        String getName = StringUtils.concatCapitalize("get", property);
+        String isName = StringUtils.concatCapitalize("is", property);
+        Method candidate = null;
+        for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Method method : c.getDeclaredMethods()) {
+                if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 0
+                    || method.getReturnType() == void.class
+                    || !(getName.equals(method.getName()) || isName.equals(method.getName()))) {
+                    continue;
+                }
+                if (!method.isBridge() && getName.equals(method.getName())) {
+                    return method;
+                }
+                if (candidate == null || candidate.isBridge() && !method.isBridge()) {
+                    candidate = method;
+                }
+            }
+        }
+        return candidate;
+    }
+
+    /**
+     * 按 mybatis {@link Reflector} 的规则查找 setter: 任意返回值(例如链式 setter), 单个参数,
+     * 参数类型与属性类型相同或为其父类型(例如泛型擦除后的 Object), 优先参数类型完全一致的非桥接方法
+     */
+    private static Method findSetter(Class<?> clazz, String property, Class<?> propertyType) {
+        String name = StringUtils.concatCapitalize("set", property);
+        Class<?> boxedType = ReflectionKit.resolvePrimitiveIfNecessary(propertyType);
+        Method candidate = null;
+        for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Method method : c.getDeclaredMethods()) {
+                if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 1 || !name.equals(method.getName())) {
+                    continue;
+                }
+                Class<?> parameterType = method.getParameterTypes()[0];
+                if (parameterType == propertyType && !method.isBridge()) {
+                    return method;
+                }
+                if (ReflectionKit.resolvePrimitiveIfNecessary(parameterType).isAssignableFrom(boxedType)
+                    && (candidate == null || candidate.isBridge() && !method.isBridge())) {
+                    candidate = method;
+                }
+            }
+        }
+        return candidate;
+    }
+
+    private static Field findField(Class<?> clazz, String name) {
+        for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+            try {
+                return c.getDeclaredField(name);
+            } catch (NoSuchFieldException e) {
+                // 继续查找父类
+            }
+        }
+        return null;
+    }
+}
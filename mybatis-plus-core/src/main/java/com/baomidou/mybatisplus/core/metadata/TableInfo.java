@@ -21,8 +21,10 @@ import com.baomidou.mybatisplus.core.toolkit.*;
 import com.baomidou.mybatisplus.core.toolkit.sql.SqlScriptUtils;
 import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
+import lombok.ToString;
 import lombok.experimental.Accessors;
 import org.apache.ibatis.mapping.ResultFlag;
 import org.apache.ibatis.mapping.ResultMap;
@@ -34,7 +36,9 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 
@@ -188,6 +192,17 @@ public class TableInfo implements Constants {
     @Getter
     private Reflector reflector;
 
+    /**
+     * 属性访问器缓存
+     *
+     * @since 3.5.6
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final Map<String, PropertyAccessor> propertyAccessors = new ConcurrentHashMap<>();
+
     /**
      * @param configuration 配置对象
      * @param entityType    实体类型
@@ -542,11 +557,7 @@ public class TableInfo implements Constants {
      * @since 3.4.4
      */
     public Object getPropertyValue(Object entity, String property) {
-        try {
-            return this.reflector.getGetInvoker(property).invoke(entity, null);
-        } catch (ReflectiveOperationException e) {
-            throw ExceptionUtils.mpe("Error: Cannot read property in %s.  Cause:", e, entity.getClass().getSimpleName());
-        }
+        return getPropertyAccessor(property).get(entity);
     }
 
     /**
@@ -558,6 +569,10 @@ public class TableInfo implements Constants {
      * @since 3.4.4
      */
     public void setPropertyValue(Object entity, String property, Object... values) {
+        if (values != null && values.length == 1) {
+            getPropertyAccessor(property).set(entity, values[0]);
+            return;
+        }
         try {
             this.reflector.getSetInvoker(property).invoke(entity, values);
         } catch (ReflectiveOperationException e) {
@@ -565,6 +580,21 @@ public class TableInfo implements Constants {
         }
     }
 
+    /**
+     * 获取属性访问器(首次使用时生成), 用于替代热点路径上的 MetaObject 反射
+     *
+     * @param property 属性名
+     * @return 属性访问器
+     * @since 3.5.6
+     */
+    public PropertyAccessor getPropertyAccessor(String property) {
+        PropertyAccessor accessor = propertyAccessors.get(property);
+        if (accessor == null) {
+            accessor = propertyAccessors.computeIfAbsent(property, k -> new PropertyAccessor(entityType, reflector, k));
+        }
+        return accessor;
+    }
+
     /**
      * 创建实例
      *
@@ -27,6 +27,7 @@ import com.baomidou.mybatisplus.core.config.GlobalConfig;
 import com.baomidou.mybatisplus.core.handlers.AnnotationHandler;
 import com.baomidou.mybatisplus.core.handlers.PostInitTableInfoHandler;
 import com.baomidou.mybatisplus.core.incrementer.IKeyGenerator;
+import com.baomidou.mybatisplus.core.incrementer.PooledSequenceKeyGenerator;
 import com.baomidou.mybatisplus.core.toolkit.ClassUtils;
 import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
 import com.baomidou.mybatisplus.core.toolkit.ExceptionUtils;
@@ -620,9 +621,9 @@ public class TableInfoHelper {
             throw new IllegalArgumentException("not configure IKeyGenerator implementation class.");
         }
         IKeyGenerator keyGenerator = null;
+        KeySequence keySequence = tableInfo.getKeySequence();
         if (keyGenerators.size() > 1) {
             // 多个主键生成器
-            KeySequence keySequence = tableInfo.getKeySequence();
             if (null != keySequence && DbType.OTHER != keySequence.dbType()) {
                 keyGenerator = keyGenerators.stream().filter(k -> k.dbType() == keySequence.dbType()).findFirst().orElse(null);
             }
@@ -633,13 +634,20 @@ public class TableInfoHelper {
         }
         Configuration configuration = builderAssistant.getConfiguration();
         String id = builderAssistant.getCurrentNamespace() + StringPool.DOT + baseStatementId + SelectKeyGenerator.SELECT_KEY_SUFFIX;
-        ResultMap resultMap = new ResultMap.Builder(builderAssistant.getConfiguration(), id, tableInfo.getKeyType(), new ArrayList<>()).build();
+        // 号段模式下序列值统一按 Long 读取, 再转换为主键类型
+        boolean pooled = keySequence.allocationSize() > 1;
+        ResultMap resultMap = new ResultMap.Builder(builderAssistant.getConfiguration(), id,
+            pooled ? Long.class : tableInfo.getKeyType(), new ArrayList<>()).build();
         MappedStatement mappedStatement = new MappedStatement.Builder(builderAssistant.getConfiguration(), id,
-            new StaticSqlSource(configuration, keyGenerator.executeSql(tableInfo.getKeySequence().value())), SqlCommandType.SELECT)
+            new StaticSqlSource(configuration, keyGenerator.executeSql(keySequence.value())), SqlCommandType.SELECT)
             .keyProperty(tableInfo.getKeyProperty())
             .resultMaps(Collections.singletonList(resultMap))
             .build();
         configuration.addMappedStatement(mappedStatement);
+        if (pooled) {
+            return new PooledSequenceKeyGenerator(mappedStatement, keySequence.value(), tableInfo.getKeyProperty(),
+                tableInfo.getKeyType(), keySequence.allocationSize(), keySequence.hilo());
+        }
         return new SelectKeyGenerator(mappedStatement, true);
     }
 
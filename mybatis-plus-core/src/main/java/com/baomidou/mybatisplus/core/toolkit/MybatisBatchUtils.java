@@ -23,6 +23,7 @@ import org.apache.ibatis.executor.BatchResult;
 import org.apache.ibatis.session.SqlSessionFactory;
 
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.function.BiPredicate;
 
 /**
@@ -153,5 +154,23 @@ public class MybatisBatchUtils {
         return new MybatisBatch<>(sqlSessionFactory, dataList).saveOrUpdate(autoCommit, insertMethod, insertPredicate, updateMethod);
     }
 
+    /**
+     * 并行分区执行批量操作, 每个分区使用独立的 SqlSession 并单独提交, 不参与调用方事务
+     *
+     * @param sqlSessionFactory {@link SqlSessionFactory}
+     * @param dataList          数据集列表
+     * @param executor          执行分区的线程池
+     * @param partitionSize     每个分区的数据条数
+     * @param maxRetries        分区失败后的最大重试次数
+     * @param batchMethod       批量操作方法
+     * @param <T>               泛型
+     * @return 批处理结果
+     * @see MybatisBatch#executeParallel(Executor, int, int, BatchMethod)
+     * @since 3.5.6
+     */
+    public static <T> List<BatchResult> executeParallel(SqlSessionFactory sqlSessionFactory, List<T> dataList, Executor executor, int partitionSize, int maxRetries, BatchMethod<T> batchMethod) {
+        return new MybatisBatch<>(sqlSessionFactory, dataList).executeParallel(executor, partitionSize, maxRetries, batchMethod);
+    }
+
 
 }
@@ -21,6 +21,7 @@ import org.apache.ibatis.executor.statement.StatementHandler;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlSource;
 import org.apache.ibatis.plugin.Plugin;
 import org.apache.ibatis.reflection.DefaultReflectorFactory;
 import org.apache.ibatis.reflection.MetaObject;
@@ -32,6 +33,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * 插件工具类
@@ -84,6 +86,50 @@ public abstract class PluginUtils {
         additionalParameters.forEach(boundSql::setAdditionalParameter);
     }
 
+    /**
+     * 复制 MappedStatement(id 不变)并替换 SqlSource
+     *
+     * @param ms        MappedStatement
+     * @param sqlSource 新的 SqlSource
+     * @return 新的 MappedStatement
+     * @since 3.5.6
+     */
+    public static MappedStatement copyMappedStatement(MappedStatement ms, SqlSource sqlSource) {
+        return copyMappedStatement(ms, sqlSource, builder -> {
+        });
+    }
+
+    /**
+     * 复制 MappedStatement(id 不变), 用于在执行时替换 SqlSource 或调整 fetchSize 等属性
+     *
+     * @param ms        MappedStatement
+     * @param sqlSource 新的 SqlSource
+     * @param consumer  调整 Builder
+     * @return 新的 MappedStatement
+     * @since 3.5.6
+     */
+    public static MappedStatement copyMappedStatement(MappedStatement ms, SqlSource sqlSource, Consumer<MappedStatement.Builder> consumer) {
+        MappedStatement.Builder builder = new MappedStatement.Builder(ms.getConfiguration(), ms.getId(), sqlSource, ms.getSqlCommandType())
+            .resource(ms.getResource())
+            .fetchSize(ms.getFetchSize())
+            .statementType(ms.getStatementType())
+            .timeout(ms.getTimeout())
+            .parameterMap(ms.getParameterMap())
+            .resultMaps(ms.getResultMaps())
+            .resultSetType(ms.getResultSetType())
+            .cache(ms.getCache())
+            .flushCacheRequired(ms.isFlushCacheRequired())
+            .useCache(ms.isUseCache())
+            .resultOrdered(ms.isResultOrdered())
+            .databaseId(ms.getDatabaseId())
+            .lang(ms.getLang());
+        if (ms.getResultSets() != null) {
+            builder.resultSets(String.join(StringPool.COMMA, ms.getResultSets()));
+        }
+        consumer.accept(builder);
+        return builder.build();
+    }
+
     public static MPBoundSql mpBoundSql(BoundSql boundSql) {
         return new MPBoundSql(boundSql);
     }
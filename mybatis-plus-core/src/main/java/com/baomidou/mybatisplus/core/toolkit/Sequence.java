@@ -22,6 +22,9 @@ import java.lang.management.ManagementFactory;
 import java.net.InetAddress;
 import java.net.NetworkInterface;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * 分布式高效有序 ID 生产黑科技(sequence)
@@ -64,13 +67,9 @@ public class Sequence {
      */
     private final long datacenterId;
     /**
-     * 并发控制
+     * 上次生产 ID 的状态: (时间戳 - twepoch) << sequenceBits | 序列号, 通过 CAS 更新
      */
-    private long sequence = 0L;
-    /**
-     * 上次生产 ID 时间戳
-     */
-    private long lastTimestamp = -1L;
+    private final AtomicLong state = new AtomicLong(-1L);
     /**
      * IP 地址
      */
@@ -154,45 +153,84 @@ public class Sequence {
      *
      * @return 下一个 ID
      */
-    public synchronized long nextId() {
-        long timestamp = timeGen();
-        //闰秒
-        if (timestamp < lastTimestamp) {
-            long offset = lastTimestamp - timestamp;
-            if (offset <= 5) {
-                try {
-                    wait(offset << 1);
-                    timestamp = timeGen();
-                    if (timestamp < lastTimestamp) {
-                        throw new RuntimeException(String.format("Clock moved backwards.  Refusing to generate id for %d milliseconds", offset));
-                    }
-                } catch (Exception e) {
-                    throw new RuntimeException(e);
-                }
-            } else {
-                throw new RuntimeException(String.format("Clock moved backwards.  Refusing to generate id for %d milliseconds", offset));
+    public long nextId() {
+        return toId(reserve(1));
+    }
+
+    /**
+     * 一次获取多个连续 ID, 同一毫秒内的 ID 通过一次 CAS 预留
+     *
+     * @param count 个数
+     * @return ID 数组
+     * @since 3.5.6
+     */
+    public long[] nextIds(int count) {
+        Assert.isTrue(count > 0, "count must be greater than 0");
+        long[] ids = new long[count];
+        int index = 0;
+        while (index < count) {
+            long first = reserve(count - index);
+            long size = Math.min(count - index, sequenceMask - (first & sequenceMask) + 1);
+            for (long i = 0; i < size; i++) {
+                ids[index++] = toId(first + i);
             }
         }
+        return ids;
+    }
 
-        if (lastTimestamp == timestamp) {
-            // 相同毫秒内，序列号自增
-            sequence = (sequence + 1) & sequenceMask;
-            if (sequence == 0) {
-                // 同一毫秒的序列数已经达到最大
-                timestamp = tilNextMillis(lastTimestamp);
+    /**
+     * 预留最多 count 个序列号(不跨毫秒, 超出当前毫秒剩余序列号的部分需再次预留)
+     *
+     * @param count 期望个数
+     * @return 预留的第一个状态值
+     */
+    private long reserve(int count) {
+        while (true) {
+            long current = state.get();
+            long lastTimestamp = current < 0 ? -1L : (current >>> sequenceBits) + twepoch;
+            long timestamp = timeGen();
+            //闰秒
+            if (timestamp < lastTimestamp) {
+                long offset = lastTimestamp - timestamp;
+                if (offset > 5) {
+                    throw new RuntimeException(String.format("Clock moved backwards.  Refusing to generate id for %d milliseconds", offset));
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(offset << 1));
+                if (timeGen() < lastTimestamp) {
+                    throw new RuntimeException(String.format("Clock moved backwards.  Refusing to generate id for %d milliseconds", offset));
+                }
+                continue;
+            }
+            long first;
+            if (lastTimestamp == timestamp) {
+                // 相同毫秒内，序列号自增
+                first = (current & sequenceMask) + 1;
+                if (first > sequenceMask) {
+                    // 同一毫秒的序列数已经达到最大
+                    tilNextMillis(lastTimestamp);
+                    continue;
+                }
+            } else {
+                // 不同毫秒内，序列号置为 1 - 2 随机数
+                first = ThreadLocalRandom.current().nextLong(1, 3);
+            }
+            long last = Math.min(first + count - 1, sequenceMask);
+            long next = ((timestamp - twepoch) << sequenceBits) | last;
+            if (state.compareAndSet(current, next)) {
+                return ((timestamp - twepoch) << sequenceBits) | first;
             }
-        } else {
-            // 不同毫秒内，序列号置为 1 - 2 随机数
-            sequence = ThreadLocalRandom.current().nextLong(1, 3);
         }
+    }
 
-        lastTimestamp = timestamp;
-
+    /**
+     * 状态值转换为 ID
+     */
+    private long toId(long state) {
         // 时间戳部分 | 数据中心部分 | 机器标识部分 | 序列号部分
-        return ((timestamp - twepoch) << timestampLeftShift)
+        return ((state >>> sequenceBits) << timestampLeftShift)
             | (datacenterId << datacenterIdShift)
             | (workerId << workerIdShift)
-            | sequence;
+            | (state & sequenceMask);
     }
 
     protected long tilNextMillis(long lastTimestamp) {
@@ -204,7 +242,7 @@ public class Sequence {
     }
 
     protected long timeGen() {
-        return SystemClock.now();
+        return System.currentTimeMillis();
     }
 
     /**
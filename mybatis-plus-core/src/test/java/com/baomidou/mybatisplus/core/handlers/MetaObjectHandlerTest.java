@@ -131,6 +131,41 @@ class MetaObjectHandlerTest {
         check(xt);
     }
 
+    @Test
+    void strictFillStrategyFastPath() {
+        final MetaObjectHandler handler = new MetaObjectHandler() {
+
+            @Override
+            public void insertFill(MetaObject metaObject) {
+            }
+
+            @Override
+            public void updateFill(MetaObject metaObject) {
+            }
+        };
+
+        Xt xt = new Xt();
+        xt.setName("exists");
+        MetaObject metaObject = configuration.newMetaObject(xt);
+        // 已有值不覆盖, 空值补全, supplier 返回 null 不写入
+        handler.strictFillStrategy(metaObject, "name", () -> "2222")
+            .strictFillStrategy(metaObject, "age", () -> 222)
+            .strictFillStrategy(metaObject, "birthday", () -> null);
+        assertThat(xt.getName()).isEqualTo("exists");
+        assertThat(xt.getAge()).isEqualTo(222);
+        assertThat(xt.getBirthday()).isNull();
+        assertThat(TableInfoHelper.getTableInfo(Xt.class).getPropertyAccessor("age"))
+            .isSameAs(TableInfoHelper.getTableInfo(Xt.class).getPropertyAccessor("age"));
+
+        // 嵌套属性走 MetaObject
+        xt.setOjbk(new Ojbk());
+        handler.strictFillStrategy(metaObject, "ojbk.xx", () -> "ora");
+        assertThat(xt.getOjbk().getXx()).isEqualTo("木大木大木大木大,欧拉欧拉欧拉欧拉");
+        xt.getOjbk().setXx(null);
+        handler.strictFillStrategy(metaObject, "ojbk.xx", () -> "ora");
+        assertThat(xt.getOjbk().getXx()).isEqualTo("ora");
+    }
+
     void check(Xt xt) {
         System.out.println(xt);
         assertThat(xt.getName()).isNotNull();
@@ -0,0 +1,161 @@
+package com.baomidou.mybatisplus.core.incrementer;
+
+import com.baomidou.mybatisplus.core.exceptions.MybatisPlusException;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author agent
+ * @since 3.5.6
+ */
+class PooledSequenceKeyGeneratorTest {
+
+    private final Configuration configuration = new Configuration();
+    /**
+     * 模拟数据库序列
+     */
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger selectCount = new AtomicInteger();
+
+    private PooledSequenceKeyGenerator generator(String statementId, Class<?> keyType, int allocationSize, boolean hilo) {
+        // pooled 模式序列步长与号段大小一致, hilo 模式序列步长为 1
+        long increment = hilo ? 1 : allocationSize;
+        MappedStatement keyStatement = new MappedStatement.Builder(configuration, statementId + "!selectKey",
+            new StaticSqlSource(configuration, "select seq_user.nextval from dual"), SqlCommandType.SELECT).build();
+        return new PooledSequenceKeyGenerator(keyStatement, "seq_user", "id", keyType, allocationSize, hilo) {
+            @Override
+            protected long selectSequence(Executor executor, Object parameter) {
+                selectCount.incrementAndGet();
+                return sequence.getAndAdd(increment) + 1;
+            }
+        };
+    }
+
+    private List<Long> next(PooledSequenceKeyGenerator generator, int count) throws Exception {
+        List<Long> values = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            values.add(generator.nextValue(null, null));
+        }
+        return values;
+    }
+
+    @Test
+    void pooledRefill() throws Exception {
+        PooledSequenceKeyGenerator generator = generator("insert", Long.class, 3, false);
+        assertThat(next(generator, 7)).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+        // 号段用完才查询序列: [1, 4) [4, 7) [7, 10)
+        assertThat(selectCount).hasValue(3);
+        assertThat(next(generator, 2)).containsExactly(8L, 9L);
+        assertThat(selectCount).hasValue(3);
+    }
+
+    @Test
+    void hilo() throws Exception {
+        PooledSequenceKeyGenerator generator = generator("insert", Long.class, 3, true);
+        // 序列值 1 -> [3, 6), 序列值 2 -> [6, 9)
+        assertThat(next(generator, 6)).containsExactly(3L, 4L, 5L, 6L, 7L, 8L);
+        assertThat(selectCount).hasValue(2);
+        assertThat(sequence).hasValue(2);
+    }
+
+    @Test
+    void sharedBySequence() throws Exception {
+        PooledSequenceKeyGenerator insert = generator("insert", Long.class, 5, false);
+        PooledSequenceKeyGenerator insertBatch = generator("insertBatch", Long.class, 5, false);
+        assertThat(next(insert, 2)).containsExactly(1L, 2L);
+        assertThat(next(insertBatch, 2)).containsExactly(3L, 4L);
+        assertThat(next(insert, 2)).containsExactly(5L, 6L);
+        assertThat(selectCount).hasValue(2);
+
+        // 不同配置互不影响
+        Configuration otherConfiguration = new Configuration();
+        MappedStatement other = new MappedStatement.Builder(otherConfiguration, "insert!selectKey",
+            new StaticSqlSource(otherConfiguration, "select seq_user.nextval from dual"), SqlCommandType.SELECT).build();
+        PooledSequenceKeyGenerator otherGenerator = new PooledSequenceKeyGenerator(other, "seq_user", "id", Long.class, 5, false) {
+            @Override
+            protected long selectSequence(Executor executor, Object parameter) {
+                return 100;
+            }
+        };
+        assertThat(otherGenerator.nextValue(null, null)).isEqualTo(100L);
+        assertThat(next(insertBatch, 1)).containsExactly(7L);
+    }
+
+    @Test
+    void mismatchedAllocation() {
+        generator("insert", Long.class, 5, false);
+        assertThatThrownBy(() -> generator("insertBatch", Long.class, 10, false))
+            .isInstanceOf(MybatisPlusException.class);
+        assertThatThrownBy(() -> generator("insertBatch", Long.class, 5, true))
+            .isInstanceOf(MybatisPlusException.class);
+    }
+
+    @Test
+    void concurrentAllocation() throws Exception {
+        int threads = 8;
+        int perThread = 1000;
+        List<PooledSequenceKeyGenerator> generators = new ArrayList<>();
+        generators.add(generator("insert", Long.class, 50, false));
+        generators.add(generator("insertBatch", Long.class, 50, false));
+        Set<Long> values = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                PooledSequenceKeyGenerator generator = generators.get(i % generators.size());
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < perThread; j++) {
+                        assertThat(values.add(generator.nextValue(null, null))).isTrue();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        // 共享号段, 不会跳号也不会重复
+        assertThat(values).hasSize(threads * perThread);
+        assertThat(values).allMatch(value -> value >= 1 && value <= threads * perThread);
+        assertThat(selectCount).hasValue(threads * perThread / 50);
+    }
+
+    @Test
+    void processBefore() {
+        PooledSequenceKeyGenerator generator = generator("insert", Integer.class, 2, false);
+        MappedStatement ms = new MappedStatement.Builder(configuration, "insert",
+            new StaticSqlSource(configuration, "insert into user (id) values (?)"), SqlCommandType.INSERT).build();
+        Map<String, Object> first = new HashMap<>();
+        Map<String, Object> second = new HashMap<>();
+        generator.processBefore(null, ms, null, first);
+        generator.processBefore(null, ms, null, second);
+        assertThat(first.get("id")).isEqualTo(1);
+        assertThat(second.get("id")).isEqualTo(2);
+    }
+}
@@ -0,0 +1,121 @@
+package com.baomidou.mybatisplus.core.injector;
+
+import com.baomidou.mybatisplus.annotation.OrderBy;
+import com.baomidou.mybatisplus.annotation.TableLogic;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisMapperAnnotationBuilder;
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
+import com.baomidou.mybatisplus.core.injector.methods.*;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import com.baomidou.mybatisplus.core.toolkit.GlobalConfigUtils;
+import lombok.Data;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent
+ * @since 3.5.6
+ */
+class WrapperSqlSourceTest {
+
+    @Test
+    void render() {
+        for (Class<?> mapper : Arrays.asList(PlainMapper.class, LogicMapper.class)) {
+            MybatisConfiguration fast = configuration(mapper, false);
+            MybatisConfiguration script = configuration(mapper, true);
+            assertThat(fast.getMappedStatement(mapper.getName() + ".selectList").getSqlSource()).isInstanceOf(WrapperSqlSource.class);
+            for (Wrapper<?> ew : Arrays.asList(null,
+                new QueryWrapper<>(),
+                new QueryWrapper<>().eq("name", "a").or().like("name", "b"),
+                new QueryWrapper<>().select("id").groupBy("name").last("limit 1"),
+                new QueryWrapper<>().eq("id", 1).orderByDesc("name").comment("c").first("/* f */"))) {
+                for (String method : Arrays.asList("selectList", "selectCount", "selectMaps", "selectObjs", "delete")) {
+                    assertSame(fast, script, mapper.getName() + "." + method, params(ew, false));
+                }
+            }
+            UpdateWrapper<Object> uw = new UpdateWrapper<>().set("name", "a").setSql("age = age + 1").eq("id", 1);
+            assertSame(fast, script, mapper.getName() + ".update", params(uw, true));
+        }
+    }
+
+    private void assertSame(MybatisConfiguration fast, MybatisConfiguration script, String id, Map<String, Object> params) {
+        BoundSql expected = script.getMappedStatement(id).getBoundSql(params);
+        BoundSql actual = fast.getMappedStatement(id).getBoundSql(params);
+        // 脚本拼接会在节点间插入空白, 只比较非空白字符
+        assertThat(actual.getSql().replaceAll("\\s+", "")).as(id).isEqualTo(expected.getSql().replaceAll("\\s+", ""));
+        assertThat(properties(actual)).as(id).isEqualTo(properties(expected));
+    }
+
+    private List<String> properties(BoundSql boundSql) {
+        return boundSql.getParameterMappings().stream().map(ParameterMapping::getProperty).collect(Collectors.toList());
+    }
+
+    private Map<String, Object> params(Wrapper<?> ew, boolean update) {
+        Map<String, Object> params = new HashMap<>();
+        params.put(Constants.WRAPPER, ew);
+        if (update) {
+            params.put(Constants.ENTITY, null);
+        }
+        return params;
+    }
+
+    private MybatisConfiguration configuration(Class<?> mapper, boolean script) {
+        MybatisConfiguration configuration = new MybatisConfiguration();
+        if (script) {
+            GlobalConfigUtils.getGlobalConfig(configuration).setSqlInjector(new AbstractSqlInjector() {
+                @Override
+                public List<AbstractMethod> getMethodList(Class<?> mapperClass, TableInfo tableInfo) {
+                    // 子类不会使用 WrapperSqlSource
+                    return Arrays.asList(new Delete() {
+                    }, new Update() {
+                    }, new SelectCount() {
+                    }, new SelectMaps() {
+                    }, new SelectObjs() {
+                    }, new SelectList() {
+                    });
+                }
+            });
+        }
+        new MybatisMapperAnnotationBuilder(configuration, mapper).parse();
+        return configuration;
+    }
+
+    interface PlainMapper extends BaseMapper<Plain> {
+
+    }
+
+    interface LogicMapper extends BaseMapper<Logic> {
+
+    }
+
+    @Data
+    private static class Plain {
+        private Long id;
+        private String name;
+        private Integer age;
+    }
+
+    @Data
+    private static class Logic {
+        private Long id;
+        @OrderBy
+        private String name;
+        private Integer age;
+        @TableLogic
+        private Integer deleted;
+    }
+}
@@ -0,0 +1,243 @@
+package com.baomidou.mybatisplus.core.metadata;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.apache.ibatis.reflection.DefaultReflectorFactory;
+import org.apache.ibatis.reflection.ReflectorFactory;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent
+ * @since 3.5.6
+ */
+class PropertyAccessorTest {
+
+    private final ReflectorFactory reflectorFactory = new DefaultReflectorFactory();
+
+    private PropertyAccessor accessor(Class<?> entityType, String property) {
+        return new PropertyAccessor(entityType, reflectorFactory.findForClass(entityType), property);
+    }
+
+    @Test
+    void publicGetterSetter() {
+        PropertyAccessor name = accessor(Plain.class, "name");
+        assertThat(name.getProperty()).isEqualTo("name");
+        assertThat(name.getPropertyType()).isEqualTo(String.class);
+
+        Plain plain = new Plain();
+        name.set(plain, "mp");
+        assertThat(plain.getName()).isEqualTo("mp");
+        assertThat(name.get(plain)).isEqualTo("mp");
+
+        PropertyAccessor age = accessor(Plain.class, "age");
+        age.set(plain, 18);
+        assertThat(plain.getAge()).isEqualTo(18);
+        assertThat(age.get(plain)).isEqualTo(18);
+        age.set(plain, null);
+        assertThat(age.get(plain)).isNull();
+    }
+
+    @Test
+    void primitiveBoolean() {
+        // lombok 为 boolean 生成 isActive/setActive
+        PropertyAccessor active = accessor(Plain.class, "active");
+        assertThat(active.getPropertyType()).isEqualTo(boolean.class);
+
+        Plain plain = new Plain();
+        assertThat(active.get(plain)).isEqualTo(false);
+        active.set(plain, true);
+        assertThat(plain.isActive()).isTrue();
+        assertThat(active.get(plain)).isEqualTo(true);
+
+        PropertyAccessor deleted = accessor(Plain.class, "deleted");
+        assertThat(deleted.getPropertyType()).isEqualTo(Boolean.class);
+        deleted.set(plain, Boolean.TRUE);
+        assertThat(plain.getDeleted()).isTrue();
+        assertThat(deleted.get(plain)).isEqualTo(Boolean.TRUE);
+    }
+
+    @Test
+    void privateMethods() {
+        PropertyAccessor secret = accessor(PrivateMethods.class, "secret");
+        assertThat(secret.getPropertyType()).isEqualTo(String.class);
+
+        PrivateMethods entity = new PrivateMethods();
+        secret.set(entity, "abc");
+        assertThat(entity.secret).isEqualTo("abc");
+        assertThat(entity.setterCalled).isTrue();
+        assertThat(secret.get(entity)).isEqualTo("abc");
+        assertThat(entity.getterCalled).isTrue();
+    }
+
+    @Test
+    void fieldOnly() {
+        PropertyAccessor value = accessor(FieldOnly.class, "value");
+        assertThat(value.getPropertyType()).isEqualTo(Long.class);
+
+        FieldOnly entity = new FieldOnly();
+        value.set(entity, 10L);
+        assertThat(entity.value).isEqualTo(10L);
+        assertThat(value.get(entity)).isEqualTo(10L);
+    }
+
+    @Test
+    void genericId() {
+        PropertyAccessor id = accessor(LongEntity.class, "id");
+        assertThat(id.getPropertyType()).isEqualTo(Long.class);
+
+        LongEntity entity = new LongEntity();
+        id.set(entity, 1L);
+        assertThat(entity.getId()).isEqualTo(1L);
+        assertThat(id.get(entity)).isEqualTo(1L);
+
+        PropertyAccessor name = accessor(LongEntity.class, "name");
+        name.set(entity, "sub");
+        assertThat(name.get(entity)).isEqualTo("sub");
+    }
+
+    @Test
+    void chainSetter() {
+        PropertyAccessor name = accessor(Chain.class, "name");
+        assertThat(name.getPropertyType()).isEqualTo(String.class);
+
+        Chain chain = new Chain();
+        name.set(chain, "mp");
+        assertThat(chain.getName()).isEqualTo("mp");
+        // 必须调用 setter 而不是直接写字段
+        assertThat(chain.getSetterCalls()).isEqualTo(1);
+        assertThat(name.get(chain)).isEqualTo("mp");
+
+        PrivateChain privateChain = new PrivateChain();
+        PropertyAccessor value = accessor(PrivateChain.class, "value");
+        value.set(privateChain, 3);
+        assertThat(privateChain.value).isEqualTo(3);
+        assertThat(privateChain.setterCalled).isTrue();
+    }
+
+    @Test
+    void genericIdSetter() {
+        PropertyAccessor id = accessor(TrackedLongEntity.class, "id");
+        assertThat(id.getPropertyType()).isEqualTo(Long.class);
+
+        TrackedLongEntity entity = new TrackedLongEntity();
+        id.set(entity, 1L);
+        // 父类 setId(ID) 擦除为 setId(Object), 仍然通过 setter 写入
+        assertThat(entity.getId()).isEqualTo(1L);
+        assertThat(entity.isIdSet()).isTrue();
+        assertThat(id.get(entity)).isEqualTo(1L);
+        assertThat(entity.isIdRead()).isTrue();
+
+        // 子类重写泛型 setter 时调用子类方法而不是桥接方法到父类
+        PropertyAccessor overrideId = accessor(OverrideIdEntity.class, "id");
+        OverrideIdEntity override = new OverrideIdEntity();
+        overrideId.set(override, 2L);
+        assertThat(override.getId()).isEqualTo(2L);
+        assertThat(override.overrideCalled).isTrue();
+    }
+
+    @Data
+    public static class Plain {
+        private String name;
+        private Integer age;
+        private boolean active;
+        private Boolean deleted;
+    }
+
+    static class PrivateMethods {
+        private String secret;
+        private boolean getterCalled;
+        private boolean setterCalled;
+
+        private String getSecret() {
+            getterCalled = true;
+            return secret;
+        }
+
+        private void setSecret(String secret) {
+            setterCalled = true;
+            this.secret = secret;
+        }
+    }
+
+    static class FieldOnly {
+        private Long value;
+    }
+
+    @Data
+    public static class BaseEntity<ID> {
+        private ID id;
+    }
+
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    public static class LongEntity extends BaseEntity<Long> {
+        private String name;
+    }
+
+    @Data
+    @Accessors(chain = true)
+    public static class Chain {
+        private String name;
+        @Setter(AccessLevel.NONE)
+        private int setterCalls;
+
+        public Chain setName(String name) {
+            setterCalls++;
+            this.name = name;
+            return this;
+        }
+    }
+
+    static class PrivateChain {
+        private Integer value;
+        private boolean setterCalled;
+
+        private PrivateChain setValue(Integer value) {
+            setterCalled = true;
+            this.value = value;
+            return this;
+        }
+    }
+
+    public static class TrackedEntity<ID> {
+        private ID id;
+        private boolean idSet;
+        private boolean idRead;
+
+        public ID getId() {
+            idRead = true;
+            return id;
+        }
+
+        public void setId(ID id) {
+            idSet = true;
+            this.id = id;
+        }
+
+        public boolean isIdSet() {
+            return idSet;
+        }
+
+        public boolean isIdRead() {
+            return idRead;
+        }
+    }
+
+    public static class TrackedLongEntity extends TrackedEntity<Long> {
+    }
+
+    public static class OverrideIdEntity extends TrackedEntity<Long> {
+        private boolean overrideCalled;
+
+        @Override
+        public void setId(Long id) {
+            overrideCalled = true;
+            super.setId(id);
+        }
+    }
+}
@@ -5,6 +5,9 @@ import org.junit.jupiter.api.Test;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -28,4 +31,28 @@ class SequenceTest {
         System.out.println(timestamp + "---" + time);
         assertThat(now).isAfter(time);
     }
+
+    @Test
+    void nextIds() {
+        Sequence sequence = new Sequence(null);
+        long[] ids = sequence.nextIds(10000);
+        assertThat(ids).hasSize(10000).isSorted().doesNotHaveDuplicates();
+        assertThat(sequence.nextId()).isGreaterThan(ids[ids.length - 1]);
+    }
+
+    @Test
+    void concurrentNextId() {
+        Sequence sequence = new Sequence(null);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 100000).parallel().forEach(i -> {
+            if (i % 10 == 0) {
+                for (long id : sequence.nextIds(10)) {
+                    ids.add(id);
+                }
+            } else {
+                ids.add(sequence.nextId());
+            }
+        });
+        assertThat(ids).hasSize(90000 + 10000 * 10);
+    }
 }
@@ -8,6 +8,7 @@ import com.baomidou.mybatisplus.core.MybatisConfiguration;
 import com.baomidou.mybatisplus.core.MybatisParameterHandler;
 import com.baomidou.mybatisplus.core.handlers.MetaObjectHandler;
 import com.baomidou.mybatisplus.core.incrementer.DefaultIdentifierGenerator;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
 import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
 import com.baomidou.mybatisplus.core.toolkit.Constants;
 import com.baomidou.mybatisplus.core.toolkit.GlobalConfigUtils;
@@ -272,4 +273,50 @@ class MybatisParameterHandlerTest {
         });
     }
 
+    @Data
+    private static class AssignModel {
+
+        @TableId(type = IdType.ASSIGN_ID)
+        private Long id;
+
+        private String name;
+    }
+
+    @Test
+    void testOverridePopulateKeys() {
+        Configuration configuration = new MybatisConfiguration();
+        BoundSql boundSql = mock(BoundSql.class);
+        StaticSqlSource staticSqlSource = mock(StaticSqlSource.class);
+        GlobalConfigUtils.getGlobalConfig(configuration).setIdentifierGenerator(new DefaultIdentifierGenerator());
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(configuration, ""), AssignModel.class);
+        MappedStatement mappedStatement = new MappedStatement.Builder(configuration, "***", staticSqlSource, SqlCommandType.INSERT).build();
+
+        List<Object> seenIds = new ArrayList<>();
+        List<Object> filled = new ArrayList<>();
+        List<AssignModel> list = Arrays.asList(new AssignModel(), new AssignModel());
+        new MybatisParameterHandler(mappedStatement, list, boundSql) {
+            @Override
+            protected void populateKeys(TableInfo tableInfo, MetaObject metaObject, Object entity) {
+                // 子类重写时不应预先批量分配主键
+                seenIds.add(tableInfo.getPropertyValue(entity, tableInfo.getKeyProperty()));
+                metaObject.setValue(tableInfo.getKeyProperty(), 999L);
+            }
+
+            @Override
+            protected void insertFill(MetaObject metaObject, TableInfo tableInfo) {
+                // 未配置填充处理器也会回调
+                filled.add(metaObject.getOriginalObject());
+            }
+        };
+        assertThat(seenIds).containsExactly(null, null);
+        assertThat(filled).containsExactlyElementsOf(list);
+        list.forEach(m -> assertThat(m.getId()).isEqualTo(999L));
+
+        // 默认实现批量分配
+        list = Arrays.asList(new AssignModel(), new AssignModel());
+        new MybatisParameterHandler(mappedStatement, list, boundSql);
+        assertThat(list).allSatisfy(m -> assertThat(m.getId()).isNotNull());
+        assertThat(list.get(0).getId()).isNotEqualTo(list.get(1).getId());
+    }
+
 }
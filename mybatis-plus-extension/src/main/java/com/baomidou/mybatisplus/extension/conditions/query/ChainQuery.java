@@ -17,8 +17,12 @@ package com.baomidou.mybatisplus.extension.conditions.query;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.Assert;
+import com.baomidou.mybatisplus.core.toolkit.ReflectionKit;
 import com.baomidou.mybatisplus.extension.conditions.ChainWrapper;
 import com.baomidou.mybatisplus.extension.toolkit.SqlHelper;
 
@@ -50,6 +54,22 @@ public interface ChainQuery<T> extends ChainWrapper<T> {
         return execute(mapper -> mapper.selectList(page, getWrapper()));
     }
 
+    /**
+     * 流式获取集合, 必须关闭(建议 try-with-resources)以释放连接
+     *
+     * @return Stream
+     * @since 3.5.6
+     */
+    @SuppressWarnings("unchecked")
+    default Stream<T> stream() {
+        Class<T> entityClass = getEntityClass();
+        if (entityClass == null && getBaseMapper() != null) {
+            entityClass = (Class<T>) ReflectionKit.getSuperClassGenericType(getBaseMapper().getClass(), BaseMapper.class, 0);
+        }
+        Assert.notNull(entityClass, "error: can not get entityClass from chain wrapper");
+        return SqlHelper.stream(entityClass, getWrapper());
+    }
+
     /**
      * 获取单个
      *
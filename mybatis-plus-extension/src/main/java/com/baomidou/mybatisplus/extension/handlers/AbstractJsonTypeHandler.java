@@ -23,6 +23,12 @@ import org.apache.ibatis.type.JdbcType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.CharArrayReader;
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.io.Writer;
 import java.lang.reflect.Field;
 import java.lang.reflect.Type;
 import java.sql.CallableStatement;
@@ -45,6 +51,13 @@ public abstract class AbstractJsonTypeHandler<T> extends BaseTypeHandler<T> impl
      */
     protected Type genericType;
 
+    /**
+     * 是否流式读写, 按处理器实例配置
+     *
+     * @since 3.5.6
+     */
+    private boolean streaming = false;
+
     /**
      * 默认初始化
      *
@@ -71,27 +84,132 @@ public abstract class AbstractJsonTypeHandler<T> extends BaseTypeHandler<T> impl
 
     @Override
     public void setNonNullParameter(PreparedStatement ps, int i, T parameter, JdbcType jdbcType) throws SQLException {
-        ps.setString(i, toJson(parameter));
+        if (isStreaming()) {
+            JsonBuffer buffer = new JsonBuffer();
+            try {
+                toJson(parameter, buffer);
+            } catch (IOException e) {
+                throw new SQLException("write json error", e);
+            }
+            ps.setCharacterStream(i, buffer.toReader(), buffer.size());
+        } else {
+            ps.setString(i, toJson(parameter));
+        }
     }
 
     @Override
     public T getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        if (isStreaming()) {
+            return parseStream(rs.getCharacterStream(columnName));
+        }
         final String json = rs.getString(columnName);
         return StringUtils.isBlank(json) ? null : parse(json);
     }
 
     @Override
     public T getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        if (isStreaming()) {
+            return parseStream(rs.getCharacterStream(columnIndex));
+        }
         final String json = rs.getString(columnIndex);
         return StringUtils.isBlank(json) ? null : parse(json);
     }
 
     @Override
     public T getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        if (isStreaming()) {
+            return parseStream(cs.getCharacterStream(columnIndex));
+        }
         final String json = cs.getString(columnIndex);
         return StringUtils.isBlank(json) ? null : parse(json);
     }
 
+    /**
+     * 流式反序列化, 空白内容返回 null
+     */
+    private T parseStream(Reader reader) throws SQLException {
+        if (reader == null) {
+            return null;
+        }
+        try (PushbackReader pushbackReader = new PushbackReader(reader)) {
+            int c;
+            do {
+                c = pushbackReader.read();
+            } while (c != -1 && Character.isWhitespace(c));
+            if (c == -1) {
+                return null;
+            }
+            pushbackReader.unread(c);
+            return parse(pushbackReader);
+        } catch (IOException e) {
+            throw new SQLException("read json error", e);
+        }
+    }
+
+    /**
+     * 流式反序列化json, 默认读取完整字符串后调用 {@link #parse(String)}, 支持流式解析的实现请重写
+     *
+     * @param reader json字符流
+     * @return T
+     * @since 3.5.6
+     */
+    protected T parse(Reader reader) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        char[] chars = new char[4096];
+        int n;
+        while ((n = reader.read(chars)) != -1) {
+            builder.append(chars, 0, n);
+        }
+        return parse(builder.toString());
+    }
+
+    /**
+     * 流式序列化json, 默认调用 {@link #toJson(Object)}, 支持流式输出的实现请重写
+     *
+     * @param obj    对象信息
+     * @param writer 输出
+     * @since 3.5.6
+     */
+    protected void toJson(Object obj, Writer writer) throws IOException {
+        writer.write(toJson(obj));
+    }
+
+    /**
+     * 是否流式读写, 子类可以重写按字段类型判断
+     *
+     * @return 是否开启
+     * @since 3.5.6
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * 开启流式读写, 读取使用 getCharacterStream, 写入使用 setCharacterStream, 适用于较大的 json/clob 字段
+     * <p>
+     * 只作用于当前处理器实例, 例如在自定义处理器的构造器中开启
+     *
+     * @param streaming 是否开启
+     * @since 3.5.6
+     */
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    /**
+     * 直接以内部数组作为写入参数的输出缓冲, 省去 toString 的整份复制
+     */
+    private static class JsonBuffer extends CharArrayWriter {
+
+        JsonBuffer() {
+            super(1024);
+        }
+
+        Reader toReader() {
+            return new CharArrayReader(buf, 0, count);
+        }
+    }
+
     public Type getFieldType() {
         return this.genericType != null ? this.genericType : this.type;
     }
@@ -16,11 +16,16 @@
 package com.baomidou.mybatisplus.extension.handlers;
 
 import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONException;
+import com.alibaba.fastjson2.JSONFactory;
+import com.alibaba.fastjson2.JSONReader;
 import com.alibaba.fastjson2.JSONWriter;
+import com.alibaba.fastjson2.reader.ObjectReader;
 import org.apache.ibatis.type.JdbcType;
 import org.apache.ibatis.type.MappedJdbcTypes;
 import org.apache.ibatis.type.MappedTypes;
 
+import java.io.Reader;
 import java.lang.reflect.Field;
 
 /**
@@ -33,17 +38,44 @@ import java.lang.reflect.Field;
 @MappedJdbcTypes(JdbcType.VARCHAR)
 public class Fastjson2TypeHandler extends AbstractJsonTypeHandler<Object> {
 
+    /**
+     * 按字段类型预先解析的 ObjectReader
+     */
+    private final ObjectReader<?> objectReader;
+
     public Fastjson2TypeHandler(Class<?> type) {
         super(type);
+        this.objectReader = JSONFactory.getDefaultObjectReaderProvider().getObjectReader(getFieldType());
     }
 
     public Fastjson2TypeHandler(Class<?> type, Field field) {
         super(type, field);
+        this.objectReader = JSONFactory.getDefaultObjectReaderProvider().getObjectReader(getFieldType());
     }
 
     @Override
     public Object parse(String json) {
-        return JSON.parseObject(json, this.getFieldType());
+        try (JSONReader jsonReader = JSONReader.of(json)) {
+            return read(jsonReader);
+        }
+    }
+
+    @Override
+    protected Object parse(Reader reader) {
+        try (JSONReader jsonReader = JSONReader.of(reader)) {
+            return read(jsonReader);
+        }
+    }
+
+    private Object read(JSONReader jsonReader) {
+        Object object = objectReader.readObject(jsonReader, getFieldType(), null, 0);
+        // 处理 $ref 引用
+        jsonReader.handleResolveTasks(object);
+        // 与 JSON#parseObject 一致, 不允许多余内容
+        if (!jsonReader.isEnd()) {
+            throw new JSONException(jsonReader.info("input not end"));
+        }
+        return object;
     }
 
     @Override
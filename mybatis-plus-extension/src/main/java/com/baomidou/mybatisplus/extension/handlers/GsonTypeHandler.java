@@ -17,10 +17,22 @@ package com.baomidou.mybatisplus.extension.handlers;
 
 import com.baomidou.mybatisplus.core.toolkit.Assert;
 import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
 import org.apache.ibatis.type.JdbcType;
 import org.apache.ibatis.type.MappedJdbcTypes;
 import org.apache.ibatis.type.MappedTypes;
 
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
 import java.lang.reflect.Field;
 
 /**
@@ -35,6 +47,11 @@ public class GsonTypeHandler extends AbstractJsonTypeHandler<Object> {
 
     private static Gson GSON;
 
+    /**
+     * 按字段类型预先绑定的 TypeAdapter
+     */
+    private volatile Bound bound;
+
     public GsonTypeHandler(Class<?> type) {
         super(type);
     }
@@ -46,7 +63,7 @@ public class GsonTypeHandler extends AbstractJsonTypeHandler<Object> {
 
     @Override
     public Object parse(String json) {
-        return getGson().fromJson(json, this.getFieldType());
+        return parse(new StringReader(json));
     }
 
     @Override
@@ -54,6 +71,50 @@ public class GsonTypeHandler extends AbstractJsonTypeHandler<Object> {
         return getGson().toJson(obj);
     }
 
+    @Override
+    protected Object parse(Reader reader) {
+        Bound current = getBound();
+        JsonReader jsonReader = current.gson.newJsonReader(reader);
+        // 与 Gson#fromJson 一致使用宽松模式, 兼容已存储的单引号,无引号字段名等非标准 JSON
+        jsonReader.setLenient(true);
+        try {
+            try {
+                jsonReader.peek();
+            } catch (EOFException e) {
+                // 空文档
+                return null;
+            }
+            Object object = current.adapter.read(jsonReader);
+            // 必须完整消费, 不允许多余内容
+            if (object != null && jsonReader.peek() != JsonToken.END_DOCUMENT) {
+                throw new JsonSyntaxException("JSON document was not fully consumed.");
+            }
+            return object;
+        } catch (EOFException | MalformedJsonException e) {
+            throw new JsonSyntaxException(e);
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+    }
+
+    @Override
+    protected void toJson(Object obj, Writer writer) {
+        getGson().toJson(obj, writer);
+    }
+
+    /**
+     * 获取绑定当前 Gson 的 TypeAdapter, Gson 被替换后重新绑定
+     */
+    private Bound getBound() {
+        Gson gson = getGson();
+        Bound current = this.bound;
+        if (current == null || current.gson != gson) {
+            current = new Bound(gson, gson.getAdapter(TypeToken.get(getFieldType())));
+            this.bound = current;
+        }
+        return current;
+    }
+
     public static Gson getGson() {
         if (null == GSON) {
             GSON = new Gson();
@@ -65,4 +126,14 @@ public class GsonTypeHandler extends AbstractJsonTypeHandler<Object> {
         Assert.notNull(gson, "Gson should not be null");
         GsonTypeHandler.GSON = gson;
     }
+
+    private static class Bound {
+        private final Gson gson;
+        private final TypeAdapter<?> adapter;
+
+        Bound(Gson gson, TypeAdapter<?> adapter) {
+            this.gson = gson;
+            this.adapter = adapter;
+        }
+    }
 }
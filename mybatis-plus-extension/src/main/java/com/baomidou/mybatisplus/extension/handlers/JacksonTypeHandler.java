@@ -17,15 +17,17 @@ package com.baomidou.mybatisplus.extension.handlers;
 
 import com.baomidou.mybatisplus.core.toolkit.Assert;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.apache.ibatis.type.JdbcType;
 import org.apache.ibatis.type.MappedJdbcTypes;
 import org.apache.ibatis.type.MappedTypes;
 
 import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.lang.reflect.Field;
-import java.lang.reflect.Type;
 
 /**
  * Jackson 实现 JSON 字段类型处理器
@@ -39,6 +41,11 @@ public class JacksonTypeHandler extends AbstractJsonTypeHandler<Object> {
 
     private static ObjectMapper OBJECT_MAPPER;
 
+    /**
+     * 按字段类型预先绑定的 reader/writer
+     */
+    private volatile Bound bound;
+
     public JacksonTypeHandler(Class<?> type) {
         super(type);
     }
@@ -51,26 +58,44 @@ public class JacksonTypeHandler extends AbstractJsonTypeHandler<Object> {
     @Override
     public Object parse(String json) {
         try {
-            return getObjectMapper().readValue(json, new TypeReference<Object>() {
-                @Override
-                public Type getType() {
-                    return getFieldType();
-                }
-            });
+            return getBound().reader.readValue(json);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
+    @Override
+    protected Object parse(Reader reader) throws IOException {
+        return getBound().reader.readValue(reader);
+    }
+
+    @Override
+    protected void toJson(Object obj, Writer writer) throws IOException {
+        getBound().writer.writeValue(writer, obj);
+    }
+
     @Override
     public String toJson(Object obj) {
         try {
-            return getObjectMapper().writeValueAsString(obj);
+            return getBound().writer.writeValueAsString(obj);
         } catch (JsonProcessingException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * 获取绑定当前 ObjectMapper 的 reader/writer, ObjectMapper 被替换后重新绑定
+     */
+    private Bound getBound() {
+        ObjectMapper objectMapper = getObjectMapper();
+        Bound current = this.bound;
+        if (current == null || current.objectMapper != objectMapper) {
+            current = new Bound(objectMapper, objectMapper.readerFor(objectMapper.constructType(getFieldType())), objectMapper.writer());
+            this.bound = current;
+        }
+        return current;
+    }
+
     public static ObjectMapper getObjectMapper() {
         if (null == OBJECT_MAPPER) {
             OBJECT_MAPPER = new ObjectMapper();
@@ -82,4 +107,16 @@ public class JacksonTypeHandler extends AbstractJsonTypeHandler<Object> {
         Assert.notNull(objectMapper, "ObjectMapper should not be null");
         JacksonTypeHandler.OBJECT_MAPPER = objectMapper;
     }
+
+    private static class Bound {
+        private final ObjectMapper objectMapper;
+        private final ObjectReader reader;
+        private final ObjectWriter writer;
+
+        Bound(ObjectMapper objectMapper, ObjectReader reader, ObjectWriter writer) {
+            this.objectMapper = objectMapper;
+            this.reader = reader;
+            this.writer = writer;
+        }
+    }
 }
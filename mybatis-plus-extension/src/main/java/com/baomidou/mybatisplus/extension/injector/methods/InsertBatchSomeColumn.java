@@ -15,6 +15,7 @@
  */
 package com.baomidou.mybatisplus.extension.injector.methods;
 
+import com.baomidou.mybatisplus.annotation.DbType;
 import com.baomidou.mybatisplus.annotation.IdType;
 import com.baomidou.mybatisplus.core.enums.SqlMethod;
 import com.baomidou.mybatisplus.core.injector.AbstractMethod;
@@ -56,11 +57,19 @@ import java.util.function.Predicate;
  * <li> 例2: t -> !t.getProperty().equals("version") , 表示不要字段名为 version 的字段 </li>
  * <li> 例3: t -> t.getFieldFill() != FieldFill.UPDATE) , 表示不要填充策略为 UPDATE 的字段 </li>
  *
+ * <p> 设置 {@link #setDbType(DbType)} 为 Oracle 时生成 {@code INSERT ALL INTO ... SELECT 1 FROM DUAL} </p>
+ * <p> 配合 {@link com.baomidou.mybatisplus.extension.toolkit.SqlHelper#executeInsertBatch} 可按数据库绑定参数上限自动分段 </p>
+ *
  * @author miemie
  * @since 2018-11-29
  */
 public class InsertBatchSomeColumn extends AbstractMethod {
 
+    /**
+     * Oracle 多行插入
+     */
+    private static final String INSERT_ALL = "<script>\nINSERT ALL %s SELECT 1 FROM DUAL\n</script>";
+
     /**
      * 字段筛选条件
      */
@@ -68,6 +77,15 @@ public class InsertBatchSomeColumn extends AbstractMethod {
     @Accessors(chain = true)
     private Predicate<TableFieldInfo> predicate;
 
+    /**
+     * 数据库类型, 不同数据库多行插入语法不同, 默认使用 {@code INSERT INTO ... VALUES (...),(...)}
+     *
+     * @since 3.5.6
+     */
+    @Setter
+    @Accessors(chain = true)
+    private DbType dbType;
+
     /**
      * 默认方法名
      */
@@ -126,7 +144,14 @@ public class InsertBatchSomeColumn extends AbstractMethod {
                 }
             }
         }
-        String sql = String.format(sqlMethod.getSql(), tableInfo.getTableName(), columnScript, valuesScript);
+        String sql;
+        if (dbType == DbType.ORACLE || dbType == DbType.ORACLE_12C) {
+            String intoScript = SqlScriptUtils.convertForeach("INTO " + tableInfo.getTableName() + SPACE + columnScript + " VALUES " + insertSqlProperty,
+                "list", null, ENTITY, SPACE);
+            sql = String.format(INSERT_ALL, intoScript);
+        } else {
+            sql = String.format(sqlMethod.getSql(), tableInfo.getTableName(), columnScript, valuesScript);
+        }
         SqlSource sqlSource = super.createSqlSource(configuration, sql, modelClass);
         return this.addInsertMappedStatement(mapperClass, modelClass, methodName, sqlSource, keyGenerator, keyProperty, keyColumn);
     }
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2011-2023, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.extension.injector.methods;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.annotation.FieldStrategy;
+import com.baomidou.mybatisplus.core.enums.SqlMethod;
+import com.baomidou.mybatisplus.core.injector.AbstractMethod;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.toolkit.Assert;
+import com.baomidou.mybatisplus.core.toolkit.ExceptionUtils;
+import com.baomidou.mybatisplus.core.toolkit.sql.SqlScriptUtils;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.apache.ibatis.executor.keygen.NoKeyGenerator;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * 插入一条数据, 主键冲突时更新(upsert), 全字段插入
+ * <p>
+ * 按 {@link DbType} 生成语句:
+ * <li> mysql,mariadb,oceanbase: {@code INSERT INTO ... ON DUPLICATE KEY UPDATE} </li>
+ * <li> postgresql,kingbase,highgo,sqlite: {@code INSERT INTO ... ON CONFLICT (主键) DO UPDATE} </li>
+ * <li> oracle,dm,sqlserver: {@code MERGE INTO ... USING} </li>
+ * <li> h2: {@code MERGE INTO ... KEY (主键) VALUES} (冲突时整行覆盖) </li>
+ * </p>
+ * <p>
+ * 自己的通用 mapper 如下使用:
+ * <pre>
+ * int insertOrUpdate(T entity);
+ * </pre>
+ * </p>
+ * <p> 每条数据生成的 sql 相同, 配合 BATCH 执行器可以整批发送, 参考 {@link com.baomidou.mybatisplus.extension.service.impl.ServiceImpl#getInsertOrUpdateMethod()} </p>
+ *
+ * <li> 注意: 主键必须有值(数据库自增主键为 null 时请走 insert), 只执行 insert 填充, 不处理乐观锁(版本号按实体值写入, 不会自增) </li>
+ * <li> 注意: 全字段写入, 不判断字段策略(NOT_NULL 等), 值为 null 的字段冲突时同样会被更新为 null </li>
+ * <li> 注意: 逻辑删除字段不参与插入(使用数据库默认值)与更新, 冲突更新时也不更新只有 insert 或只有 update 填充的字段以及更新策略为 NEVER 的字段(h2 除外, 见 {@link #isUpdateColumn}) </li>
+ * <li> 注意: oracle,dm,sqlserver 的 MERGE 语句无法由多租户与数据权限拦截器追加条件, 配置了这些拦截器时执行会被拒绝(忽略的表除外), 请改用 insert/update </li>
+ *
+ * <p> 如何筛选字段参考请 {@link InsertBatchSomeColumn} 里面的注释 </p>
+ *
+ * @author agent
+ * @since 3.5.6
+ */
+public class InsertOrUpdate extends AbstractMethod {
+
+    /**
+     * 数据库类型
+     */
+    private final DbType dbType;
+
+    /**
+     * 字段筛选条件
+     */
+    @Setter
+    @Accessors(chain = true)
+    private Predicate<TableFieldInfo> predicate;
+
+    /**
+     * 默认方法名
+     *
+     * @param dbType 数据库类型
+     */
+    public InsertOrUpdate(DbType dbType) {
+        this(SqlMethod.INSERT_OR_UPDATE.getMethod(), dbType);
+    }
+
+    /**
+     * @param name   方法名
+     * @param dbType 数据库类型
+     */
+    public InsertOrUpdate(String name, DbType dbType) {
+        super(name);
+        Assert.notNull(dbType, "dbType must not be null");
+        this.dbType = dbType;
+    }
+
+    @Override
+    public MappedStatement injectMappedStatement(Class<?> mapperClass, Class<?> modelClass, TableInfo tableInfo) {
+        if (!tableInfo.havePK()) {
+            logger.warn(String.format("%s ,Not found @TableId annotation, Cannot use Mybatis-Plus '%s' Method.",
+                tableInfo.getEntityType(), methodName));
+            return null;
+        }
+        List<TableFieldInfo> insertFields = tableInfo.getFieldList().stream()
+            .filter(i -> !i.isLogicDelete() && i.getInsertStrategy() != FieldStrategy.NEVER)
+            .filter(i -> predicate == null || predicate.test(i))
+            .collect(Collectors.toList());
+        List<String> columns = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        columns.add(tableInfo.getKeyColumn());
+        values.add(SqlScriptUtils.safeParam(tableInfo.getKeyProperty()));
+        List<String> updateColumns = new ArrayList<>();
+        for (TableFieldInfo fieldInfo : insertFields) {
+            columns.add(fieldInfo.getColumn());
+            values.add(SqlScriptUtils.safeParam(fieldInfo.getEl()));
+            if (isUpdateColumn(fieldInfo)) {
+                updateColumns.add(fieldInfo.getColumn());
+            }
+        }
+        String sql = String.format(SqlMethod.INSERT_OR_UPDATE.getSql(), sql(tableInfo, columns, values, updateColumns));
+        SqlSource sqlSource = super.createSqlSource(configuration, sql, modelClass);
+        return this.addInsertMappedStatement(mapperClass, modelClass, methodName, sqlSource, NoKeyGenerator.INSTANCE, null, null);
+    }
+
+    /**
+     * 冲突时是否更新该字段
+     * <p>
+     * h2 的 {@code MERGE INTO ... KEY} 冲突时整行覆盖, 不支持只更新部分字段, 该判断对 h2 不生效:
+     * 只有 insert 填充的字段以及更新策略为 NEVER 的字段同样会被覆盖
+     */
+    protected boolean isUpdateColumn(TableFieldInfo fieldInfo) {
+        if (fieldInfo.getUpdateStrategy() == FieldStrategy.NEVER) {
+            return false;
+        }
+        // upsert 只执行 insert 填充: 只有 insert 填充的字段(例如创建时间)保留原值, 只有 update 填充的字段此时没有值, 同样不更新
+        return fieldInfo.isWithInsertFill() == fieldInfo.isWithUpdateFill();
+    }
+
+    protected String sql(TableInfo tableInfo, List<String> columns, List<String> values, List<String> updateColumns) {
+        String tableName = tableInfo.getTableName();
+        String keyColumn = tableInfo.getKeyColumn();
+        String insert = "INSERT INTO " + tableName + " (" + String.join(COMMA, columns) + ") VALUES (" + String.join(COMMA, values) + RIGHT_BRACKET;
+        switch (dbType) {
+            case MYSQL:
+            case MARIADB:
+            case OCEAN_BASE:
+                return insert + " ON DUPLICATE KEY UPDATE " + (updateColumns.isEmpty() ? keyColumn + EQUALS + keyColumn
+                    : join(updateColumns, c -> c + EQUALS + "VALUES(" + c + RIGHT_BRACKET));
+            case POSTGRE_SQL:
+            case KINGBASE_ES:
+            case HIGH_GO:
+            case SQLITE:
+                return insert + " ON CONFLICT (" + keyColumn + ") " + (updateColumns.isEmpty() ? "DO NOTHING"
+                    : "DO UPDATE SET " + join(updateColumns, c -> c + EQUALS + "EXCLUDED." + c));
+            case H2:
+                // h2 不能推断 select 中参数的类型, 使用 h2 自身的 merge 语法
+                return "MERGE INTO " + tableName + " (" + String.join(COMMA, columns) + ") KEY (" + keyColumn + ") VALUES ("
+                    + String.join(COMMA, values) + RIGHT_BRACKET;
+            case ORACLE:
+            case ORACLE_12C:
+            case DM:
+            case SQL_SERVER:
+            case SQL_SERVER2005:
+                boolean dual = dbType == DbType.ORACLE || dbType == DbType.ORACLE_12C || dbType == DbType.DM;
+                boolean sqlServer = dbType == DbType.SQL_SERVER || dbType == DbType.SQL_SERVER2005;
+                List<String> selects = new ArrayList<>(columns.size());
+                for (int i = 0; i < columns.size(); i++) {
+                    selects.add(values.get(i) + " AS " + columns.get(i));
+                }
+                StringBuilder sql = new StringBuilder("MERGE INTO ").append(tableName).append(" T USING (SELECT ")
+                    .append(String.join(COMMA, selects)).append(dual ? " FROM DUAL) S" : ") S")
+                    .append(" ON (T.").append(keyColumn).append(" = S.").append(keyColumn).append(RIGHT_BRACKET);
+                if (!updateColumns.isEmpty()) {
+                    sql.append(" WHEN MATCHED THEN UPDATE SET ").append(join(updateColumns, c -> c + EQUALS + "S." + c));
+                }
+                sql.append(" WHEN NOT MATCHED THEN INSERT (").append(String.join(COMMA, columns)).append(") VALUES (")
+                    .append(join(columns, c -> "S." + c)).append(RIGHT_BRACKET);
+                return sqlServer ? sql.append(SEMICOLON).toString() : sql.toString();
+            default:
+                throw ExceptionUtils.mpe("%s does not support the database type: %s", methodName, dbType.getDb());
+        }
+    }
+
+    private String join(List<String> columns, Function<String, String> function) {
+        return columns.stream().map(function).collect(Collectors.joining(COMMA));
+    }
+}
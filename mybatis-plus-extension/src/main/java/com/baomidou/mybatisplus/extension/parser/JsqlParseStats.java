@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2011-2023, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.extension.parser;
+
+import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * sql 解析耗时统计, 按 MappedStatement id 分组
+ * <p>
+ * 使用 2 的幂次分桶的直方图, 分位值为所在桶的上界(纳秒), 误差在 2 倍以内, 记录过程无锁无分配
+ *
+ * @author agent
+ * @since 3.5.6
+ */
+public class JsqlParseStats {
+
+    /**
+     * 不在拦截器内(无法获取 MappedStatement)的解析
+     */
+    public static final String UNKNOWN_ID = "unknown";
+
+    private static final int BUCKETS = 64;
+
+    private final Map<String, AtomicLongArray> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * 记录一次解析耗时
+     *
+     * @param id    MappedStatement id, 为 null 时记为 {@link #UNKNOWN_ID}
+     * @param nanos 耗时纳秒
+     */
+    public void record(String id, long nanos) {
+        AtomicLongArray histogram = CollectionUtils.computeIfAbsent(histograms, id == null ? UNKNOWN_ID : id,
+            k -> new AtomicLongArray(BUCKETS));
+        histogram.incrementAndGet(BUCKETS - Long.numberOfLeadingZeros(Math.max(nanos, 1L)));
+    }
+
+    /**
+     * 获取分位耗时
+     *
+     * @param id         MappedStatement id
+     * @param percentile 分位, 例如 0.5 , 0.99
+     * @return 耗时纳秒, 没有记录时返回 -1
+     */
+    public long percentile(String id, double percentile) {
+        AtomicLongArray histogram = histograms.get(id);
+        if (histogram == null) {
+            return -1;
+        }
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = histogram.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return -1;
+        }
+        long rank = (long) Math.ceil(total * percentile);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return i >= BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    public long p50(String id) {
+        return percentile(id, 0.5);
+    }
+
+    public long p99(String id) {
+        return percentile(id, 0.99);
+    }
+
+    /**
+     * 已记录的 MappedStatement id
+     */
+    public Iterable<String> ids() {
+        return histograms.keySet();
+    }
+
+    public void reset() {
+        histograms.clear();
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2011-2023, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.extension.parser;
+
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import com.baomidou.mybatisplus.core.toolkit.StringPool;
+import net.sf.jsqlparser.statement.Statement;
+import org.apache.ibatis.mapping.BoundSql;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 拦截器链内共享的 jsqlparser 解析结果
+ * <p>
+ * 在一次拦截内, 连续执行的 {@link JsqlParserSupport} 复用同一个 AST 进行改写,
+ * 只在拦截器链需要字符串形式的 sql 时({@link #flush()})才输出一次
+ *
+ * @author agent
+ * @since 3.5.6
+ */
+public class JsqlParserContext {
+
+    private static final ThreadLocal<JsqlParserContext> CONTEXT = new ThreadLocal<>();
+
+    /**
+     * 外层上下文(例如 count 查询会在拦截过程中再次进入拦截器)
+     */
+    private final JsqlParserContext previous;
+    /**
+     * MappedStatement id
+     */
+    private final String id;
+    private final BoundSql boundSql;
+    /**
+     * 是否共享解析结果, 为 false 时只记录 id 用于统计
+     */
+    private final boolean share;
+    /**
+     * 当前 AST 对应的原始 sql, 也就是 {@link BoundSql} 当前持有的 sql
+     */
+    private String sql;
+    private List<Statement> statements;
+    /**
+     * AST 是否已被改写但还未输出到 {@link BoundSql}
+     */
+    private boolean dirty;
+
+    private JsqlParserContext(JsqlParserContext previous, String id, BoundSql boundSql, boolean share) {
+        this.previous = previous;
+        this.id = id;
+        this.boundSql = boundSql;
+        this.share = share;
+        this.sql = boundSql.getSql();
+    }
+
+    /**
+     * 开启上下文, 必须在 finally 中调用 {@link #close()}
+     *
+     * @param boundSql 拦截器链改写的 BoundSql
+     * @return 上下文
+     */
+    public static JsqlParserContext open(BoundSql boundSql) {
+        return open(null, boundSql, true);
+    }
+
+    /**
+     * 开启上下文, 必须在 finally 中调用 {@link #close()}
+     *
+     * @param id       MappedStatement id
+     * @param boundSql 拦截器链改写的 BoundSql
+     * @param share    是否共享解析结果
+     * @return 上下文
+     */
+    public static JsqlParserContext open(String id, BoundSql boundSql, boolean share) {
+        JsqlParserContext context = new JsqlParserContext(CONTEXT.get(), id, boundSql, share);
+        CONTEXT.set(context);
+        return context;
+    }
+
+    /**
+     * 当前拦截的 MappedStatement id
+     *
+     * @return id, 不在拦截器内时返回 null
+     */
+    public static String currentId() {
+        JsqlParserContext context = CONTEXT.get();
+        return context == null ? null : context.id;
+    }
+
+    /**
+     * 获取跟踪该 sql 的上下文
+     *
+     * @param sql 待解析 sql
+     * @return 上下文, 未开启或 sql 不是拦截器链当前的 sql 时返回 null
+     */
+    public static JsqlParserContext current(String sql) {
+        JsqlParserContext context = CONTEXT.get();
+        if (context != null && context.share && context.sql.equals(sql)) {
+            return context;
+        }
+        return null;
+    }
+
+    /**
+     * 当前 AST 对应的 sql
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * 获取单条语句的 AST
+     *
+     * @return AST, 还未解析或当前持有的是多语句时返回 null
+     */
+    public Statement getStatement() {
+        if (statements == null || statements.size() != 1) {
+            return null;
+        }
+        return statements.get(0);
+    }
+
+    /**
+     * 获取多语句的 AST
+     *
+     * @return AST, 还未解析时返回 null
+     */
+    public List<Statement> getStatements() {
+        return statements;
+    }
+
+    /**
+     * 持有改写后的单条语句
+     */
+    public void setStatement(Statement statement) {
+        this.statements = Collections.singletonList(statement);
+        this.dirty = true;
+    }
+
+    /**
+     * 持有改写后的多语句
+     */
+    public void setStatements(List<Statement> statements) {
+        this.statements = statements;
+        this.dirty = true;
+    }
+
+    /**
+     * 将改写后的 AST 输出到 {@link BoundSql}
+     * <p>
+     * 输出后 AST 仍然有效, 后续的 {@link JsqlParserSupport} 可以继续复用
+     */
+    public void flush() {
+        if (dirty) {
+            String newSql = toSql();
+            PluginUtils.mpBoundSql(boundSql).sql(newSql);
+            this.sql = newSql;
+            this.dirty = false;
+        }
+    }
+
+    /**
+     * 同步 {@link BoundSql} 的 sql, 被其他拦截器改写过则丢弃当前 AST
+     */
+    public void sync() {
+        String current = boundSql.getSql();
+        if (!current.equals(sql)) {
+            this.sql = current;
+            this.statements = null;
+            this.dirty = false;
+        }
+    }
+
+    /**
+     * 直接替换 {@link BoundSql} 的 sql 并丢弃当前 AST, 用于未经解析得到改写结果的场景(例如命中改写缓存)
+     *
+     * @param newSql 改写后的 sql
+     */
+    public void replace(String newSql) {
+        PluginUtils.mpBoundSql(boundSql).sql(newSql);
+        this.sql = newSql;
+        this.statements = null;
+        this.dirty = false;
+    }
+
+    /**
+     * 关闭上下文并恢复外层上下文
+     */
+    public void close() {
+        if (previous == null) {
+            CONTEXT.remove();
+        } else {
+            CONTEXT.set(previous);
+        }
+    }
+
+    private String toSql() {
+        if (statements.size() == 1) {
+            return statements.get(0).toString();
+        }
+        // fixed github pull/295
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < statements.size(); i++) {
+            if (i > 0) {
+                sb.append(StringPool.SEMICOLON);
+            }
+            sb.append(statements.get(i));
+        }
+        return sb.toString();
+    }
+}
@@ -16,12 +16,16 @@
 package com.baomidou.mybatisplus.extension.parser;
 
 import com.baomidou.mybatisplus.extension.parser.cache.JsqlParseCache;
+import lombok.Getter;
 import lombok.Setter;
 import net.sf.jsqlparser.JSQLParserException;
 import net.sf.jsqlparser.parser.CCJSqlParserUtil;
 import net.sf.jsqlparser.statement.Statement;
 import net.sf.jsqlparser.statement.Statements;
 
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * @author miemie
  * @since 2023-08-05
@@ -33,14 +37,38 @@ public class JsqlParserGlobal {
     private static JsqlParserFunction<String, Statements> parserMultiFunc = CCJSqlParserUtil::parseStatements;
     @Setter
     private static JsqlParseCache jsqlParseCache;
+    /**
+     * 解析线程池, 与 {@link #parseTimeout} 同时设置后在该线程池中限时解析
+     * <p>
+     * 请使用有界线程池, 例如 {@link #newParseExecutor(int, int)}, 超时的解析线程无法被立即中断
+     *
+     * @since 3.5.6
+     */
+    @Setter
+    private static ExecutorService parseExecutor;
+    /**
+     * 单条 sql 解析超时时间(毫秒), 小于等于 0 不限制
+     *
+     * @since 3.5.6
+     */
+    @Setter
+    private static long parseTimeout = 0;
+    /**
+     * 解析耗时统计
+     *
+     * @since 3.5.6
+     */
+    @Getter
+    @Setter
+    private static JsqlParseStats parseStats;
 
     public static Statement parse(String sql) throws JSQLParserException {
         if (jsqlParseCache == null) {
-            return parserSingleFunc.apply(sql);
+            return apply(parserSingleFunc, sql);
         }
         Statement statement = jsqlParseCache.getStatement(sql);
         if (statement == null) {
-            statement = parserSingleFunc.apply(sql);
+            statement = apply(parserSingleFunc, sql);
             jsqlParseCache.putStatement(sql, statement);
         }
         return statement;
@@ -48,13 +76,69 @@ public class JsqlParserGlobal {
 
     public static Statements parseStatements(String sql) throws JSQLParserException {
         if (jsqlParseCache == null) {
-            return parserMultiFunc.apply(sql);
+            return apply(parserMultiFunc, sql);
         }
         Statements statements = jsqlParseCache.getStatements(sql);
         if (statements == null) {
-            statements = parserMultiFunc.apply(sql);
+            statements = apply(parserMultiFunc, sql);
             jsqlParseCache.putStatements(sql, statements);
         }
         return statements;
     }
+
+    /**
+     * 创建有界的解析线程池, 队列满时直接拒绝(按解析超时处理)
+     *
+     * @param threads   线程数
+     * @param queueSize 队列长度
+     * @return 线程池
+     * @since 3.5.6
+     */
+    public static ExecutorService newParseExecutor(int threads, int queueSize) {
+        AtomicInteger index = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize), runnable -> {
+            Thread thread = new Thread(runnable, "JsqlParser-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private static <T> T apply(JsqlParserFunction<String, T> func, String sql) throws JSQLParserException {
+        long start = parseStats == null ? 0 : System.nanoTime();
+        try {
+            if (parseExecutor == null || parseTimeout <= 0) {
+                return func.apply(sql);
+            }
+            return applyWithTimeout(func, sql);
+        } finally {
+            if (parseStats != null) {
+                parseStats.record(JsqlParserContext.currentId(), System.nanoTime() - start);
+            }
+        }
+    }
+
+    private static <T> T applyWithTimeout(JsqlParserFunction<String, T> func, String sql) throws JSQLParserException {
+        Future<T> future;
+        try {
+            future = parseExecutor.submit(() -> func.apply(sql));
+        } catch (RejectedExecutionException e) {
+            throw new JsqlParserTimeoutException("the parser executor is busy, SQL: " + sql);
+        }
+        try {
+            return future.get(parseTimeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new JsqlParserTimeoutException("parse timeout(" + parseTimeout + "ms), SQL: " + sql);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new JSQLParserException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof JSQLParserException) {
+                throw (JSQLParserException) cause;
+            }
+            throw new JSQLParserException(cause);
+        }
+    }
 }
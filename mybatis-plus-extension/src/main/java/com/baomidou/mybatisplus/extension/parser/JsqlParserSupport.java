@@ -22,11 +22,14 @@ import net.sf.jsqlparser.statement.Statement;
 import net.sf.jsqlparser.statement.Statements;
 import net.sf.jsqlparser.statement.delete.Delete;
 import net.sf.jsqlparser.statement.insert.Insert;
+import net.sf.jsqlparser.statement.merge.Merge;
 import net.sf.jsqlparser.statement.select.Select;
 import net.sf.jsqlparser.statement.update.Update;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
 
+import java.util.List;
+
 /**
  * https://github.com/JSQLParser/JSqlParser
  *
@@ -40,13 +43,47 @@ public abstract class JsqlParserSupport {
      */
     protected final Log logger = LogFactory.getLog(this.getClass());
 
+    /**
+     * 解析超时(见 {@link JsqlParserGlobal#setParseTimeout(long)})时是否跳过改写直接使用原 sql
+     * <p>
+     * 默认 false 抛出异常拒绝执行, 多租户等安全相关的拦截器请勿开启
+     *
+     * @since 3.5.6
+     */
+    protected boolean skipOnParseTimeout = false;
+
+    public boolean isSkipOnParseTimeout() {
+        return skipOnParseTimeout;
+    }
+
+    public void setSkipOnParseTimeout(boolean skipOnParseTimeout) {
+        this.skipOnParseTimeout = skipOnParseTimeout;
+    }
+
     public String parserSingle(String sql, Object obj) {
         if (logger.isDebugEnabled()) {
             logger.debug("original SQL: " + sql);
         }
         try {
+            JsqlParserContext context = JsqlParserContext.current(sql);
+            if (context != null) {
+                // 复用拦截器链上一个解析结果, 由拦截器链统一输出 sql
+                Statement statement = context.getStatement();
+                if (statement == null) {
+                    statement = JsqlParserGlobal.parse(sql);
+                }
+                processStatement(statement, 0, sql, obj);
+                context.setStatement(statement);
+                return sql;
+            }
             Statement statement = JsqlParserGlobal.parse(sql);
             return processParser(statement, 0, sql, obj);
+        } catch (JsqlParserTimeoutException e) {
+            if (skipOnParseTimeout) {
+                logger.warn(e.getMessage() + ", skip processing");
+                return sql;
+            }
+            throw ExceptionUtils.mpe("Failed to process, Error SQL: %s", e, sql);
         } catch (JSQLParserException e) {
             throw ExceptionUtils.mpe("Failed to process, Error SQL: %s", e.getCause(), sql);
         }
@@ -57,6 +94,18 @@ public abstract class JsqlParserSupport {
             logger.debug("original SQL: " + sql);
         }
         try {
+            JsqlParserContext context = JsqlParserContext.current(sql);
+            if (context != null) {
+                List<Statement> statementList = context.getStatements();
+                if (statementList == null) {
+                    statementList = JsqlParserGlobal.parseStatements(sql).getStatements();
+                }
+                for (int i = 0; i < statementList.size(); i++) {
+                    processStatement(statementList.get(i), i, sql, obj);
+                }
+                context.setStatements(statementList);
+                return sql;
+            }
             // fixed github pull/295
             StringBuilder sb = new StringBuilder();
             Statements statements = JsqlParserGlobal.parseStatements(sql);
@@ -69,6 +118,12 @@ public abstract class JsqlParserSupport {
                 i++;
             }
             return sb.toString();
+        } catch (JsqlParserTimeoutException e) {
+            if (skipOnParseTimeout) {
+                logger.warn(e.getMessage() + ", skip processing");
+                return sql;
+            }
+            throw ExceptionUtils.mpe("Failed to process, Error SQL: %s", e, sql);
         } catch (JSQLParserException e) {
             throw ExceptionUtils.mpe("Failed to process, Error SQL: %s", e.getCause(), sql);
         }
@@ -81,6 +136,23 @@ public abstract class JsqlParserSupport {
      * @return sql
      */
     protected String processParser(Statement statement, int index, String sql, Object obj) {
+        this.processStatement(statement, index, sql, obj);
+        sql = statement.toString();
+        if (logger.isDebugEnabled()) {
+            logger.debug("parse the finished SQL: " + sql);
+        }
+        return sql;
+    }
+
+    /**
+     * 改写 JsqlParser Statement
+     * <p>
+     * 只处理 AST, 不输出 sql
+     *
+     * @param statement JsqlParser Statement
+     * @since 3.5.6
+     */
+    protected void processStatement(Statement statement, int index, String sql, Object obj) {
         if (logger.isDebugEnabled()) {
             logger.debug("SQL to parse, SQL: " + sql);
         }
@@ -92,12 +164,9 @@ public abstract class JsqlParserSupport {
             this.processUpdate((Update) statement, index, sql, obj);
         } else if (statement instanceof Delete) {
             this.processDelete((Delete) statement, index, sql, obj);
+        } else if (statement instanceof Merge) {
+            this.processMerge((Merge) statement, index, sql, obj);
         }
-        sql = statement.toString();
-        if (logger.isDebugEnabled()) {
-            logger.debug("parse the finished SQL: " + sql);
-        }
-        return sql;
     }
 
     /**
@@ -127,4 +196,12 @@ public abstract class JsqlParserSupport {
     protected void processSelect(Select select, int index, String sql, Object obj) {
         throw new UnsupportedOperationException();
     }
+
+    /**
+     * 合并(MERGE INTO ... USING), 默认不处理
+     *
+     * @since 3.5.6
+     */
+    protected void processMerge(Merge merge, int index, String sql, Object obj) {
+    }
 }
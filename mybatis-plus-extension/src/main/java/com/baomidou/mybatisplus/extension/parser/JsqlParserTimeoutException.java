@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2011-2023, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.extension.parser;
+
+import net.sf.jsqlparser.JSQLParserException;
+
+/**
+ * sql 解析超时或解析线程池已满
+ *
+ * @author agent
+ * @since 3.5.6
+ */
+public class JsqlParserTimeoutException extends JSQLParserException {
+
+    private static final long serialVersionUID = 1L;
+
+    public JsqlParserTimeoutException(String message) {
+        super(message);
+    }
+}
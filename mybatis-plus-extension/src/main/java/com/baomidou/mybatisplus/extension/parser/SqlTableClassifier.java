@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2011-2023, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.extension.parser;
+
+import java.util.function.Predicate;
+
+/**
+ * 解析前的快速判断, 在不进行 jsqlparser 完整解析的情况下判断 sql 是否需要改写
+ *
+ * @author agent
+ * @since 3.5.6
+ */
+@FunctionalInterface
+public interface SqlTableClassifier {
+
+    /**
+     * sql 涉及的表是否全部被忽略
+     * <p>
+     * 无法确定时必须返回 false
+     *
+     * @param sql         原始 sql
+     * @param ignoreTable 表名是否忽略
+     * @return true 表示全部被忽略, 可以跳过解析
+     */
+    boolean allIgnored(String sql, Predicate<String> ignoreTable);
+}
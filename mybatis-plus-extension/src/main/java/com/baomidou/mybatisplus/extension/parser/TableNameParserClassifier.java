@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2011-2023, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.extension.parser;
+
+import com.baomidou.mybatisplus.core.toolkit.StringPool;
+import com.baomidou.mybatisplus.core.toolkit.TableNameParser;
+
+import java.util.function.Predicate;
+
+/**
+ * 基于 {@link TableNameParser} 词法提取表名的快速判断
+ * <p>
+ * 表名去掉 schema 前缀后与 jsqlparser 的 {@code Table#getName()} 保持一致,
+ * 没有提取到任何表时按无法确定处理
+ *
+ * @author agent
+ * @since 3.5.6
+ */
+public class TableNameParserClassifier implements SqlTableClassifier {
+
+    public static final TableNameParserClassifier INSTANCE = new TableNameParserClassifier();
+
+    @Override
+    public boolean allIgnored(String sql, Predicate<String> ignoreTable) {
+        boolean[] result = {false, true};
+        new TableNameParser(sql).accept(token -> {
+            result[0] = true;
+            if (result[1]) {
+                String name = token.getValue();
+                int index = name.lastIndexOf(StringPool.DOT);
+                if (index >= 0) {
+                    name = name.substring(index + 1);
+                }
+                result[1] = ignoreTable.test(name);
+            }
+        });
+        return result[0] && result[1];
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2011-2023, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.extension.parser.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.Statements;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+
+import java.util.function.Consumer;
+
+/**
+ * jsqlparser 缓存 AST 结构复制 Caffeine 缓存实现
+ * <p>
+ * 直接缓存解析对象, 存取时通过 {@link JsqlStatementCopier} 复制, 省去序列化与反序列化的开销
+ *
+ * @author agent
+ * @since 3.5.6
+ */
+public class CopyCaffeineJsqlParseCache implements JsqlParseCache {
+    protected final Log logger = LogFactory.getLog(this.getClass());
+    protected final Cache<String, Object> cache;
+
+    public CopyCaffeineJsqlParseCache(Cache<String, Object> cache) {
+        this.cache = cache;
+    }
+
+    public CopyCaffeineJsqlParseCache(Consumer<Caffeine<Object, Object>> consumer) {
+        Caffeine<Object, Object> caffeine = Caffeine.newBuilder();
+        consumer.accept(caffeine);
+        this.cache = caffeine.build();
+    }
+
+    @Override
+    public void putStatement(String sql, Statement value) {
+        this.put(sql, value);
+    }
+
+    @Override
+    public void putStatements(String sql, Statements value) {
+        this.put(sql, value);
+    }
+
+    @Override
+    public Statement getStatement(String sql) {
+        return this.get(sql);
+    }
+
+    @Override
+    public Statements getStatements(String sql) {
+        return this.get(sql);
+    }
+
+    /**
+     * 获取解析对象的副本，异常清空缓存逻辑
+     *
+     * @param sql 执行 SQL
+     * @return 返回泛型对象
+     */
+    @SuppressWarnings("unchecked")
+    protected <T> T get(String sql) {
+        Object value = cache.getIfPresent(sql);
+        if (null != value) {
+            try {
+                return (T) JsqlStatementCopier.copy(value);
+            } catch (Exception e) {
+                cache.invalidate(sql);
+                logger.error("copy error", e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 存储解析对象的副本(调用方会继续改写原对象)
+     *
+     * @param sql   执行 SQL
+     * @param value 解析对象
+     */
+    protected void put(String sql, Object value) {
+        try {
+            cache.put(sql, JsqlStatementCopier.copy(value));
+        } catch (Exception e) {
+            logger.error("copy error", e);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2011-2023, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.extension.parser.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * sql 改写结果缓存
+ * <p>
+ * 缓存拦截器改写后的最终 sql, key 为 (拦截器类型, MappedStatement id, 原始 sql, 处理器返回的指纹),
+ * 命中后不再进行 jsqlparser 解析与输出, 多个拦截器可以共用同一个缓存实例
+ *
+ * @author agent
+ * @since 3.5.6
+ */
+public class JsqlRewriteCache {
+
+    private final Cache<Key, String> cache;
+
+    /**
+     * @param consumer 配置 Caffeine, 请务必设置容量上限, 例如: {@code c -> c.maximumSize(1024)}, 已默认开启 recordStats
+     */
+    public JsqlRewriteCache(Consumer<Caffeine<Object, Object>> consumer) {
+        Caffeine<Object, Object> caffeine = Caffeine.newBuilder().recordStats();
+        consumer.accept(caffeine);
+        this.cache = caffeine.build();
+    }
+
+    public JsqlRewriteCache(long maximumSize) {
+        this(c -> c.maximumSize(maximumSize));
+    }
+
+    /**
+     * 获取改写后的 sql
+     *
+     * @param type        拦截器类型
+     * @param id          MappedStatement id
+     * @param sql         原始 sql
+     * @param fingerprint 处理器返回的指纹
+     * @return 改写后的 sql, 未命中返回 null
+     */
+    public String get(Class<?> type, String id, String sql, Object fingerprint) {
+        return cache.getIfPresent(new Key(type, id, sql, fingerprint));
+    }
+
+    /**
+     * 存储改写后的 sql
+     *
+     * @param type        拦截器类型
+     * @param id          MappedStatement id
+     * @param sql         原始 sql
+     * @param fingerprint 处理器返回的指纹
+     * @param value       改写后的 sql
+     */
+    public void put(Class<?> type, String id, String sql, Object fingerprint, String value) {
+        cache.put(new Key(type, id, sql, fingerprint), value);
+    }
+
+    /**
+     * 命中率等统计信息
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private static final class Key {
+        private final Class<?> type;
+        private final String id;
+        private final String sql;
+        private final Object fingerprint;
+        private final int hash;
+
+        Key(Class<?> type, String id, String sql, Object fingerprint) {
+            this.type = type;
+            this.id = id;
+            this.sql = sql;
+            this.fingerprint = fingerprint;
+            this.hash = Objects.hash(type, id, sql, fingerprint);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return hash == key.hash && type == key.type && Objects.equals(id, key.id) && sql.equals(key.sql)
+                && Objects.equals(fingerprint, key.fingerprint);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2011-2023, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.extension.parser.cache;
+
+import com.baomidou.mybatisplus.core.toolkit.ExceptionUtils;
+import com.baomidou.mybatisplus.core.toolkit.SerializationUtils;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * jsqlparser AST 结构复制
+ * <p>
+ * 直接按字段复制对象图, 不经过字节数组, 语义与 jdk 序列化一致(transient 字段不复制)
+ * <p>
+ * 没有无参构造的类回退到 jdk 序列化复制该节点
+ *
+ * @author agent
+ * @since 3.5.6
+ */
+public class JsqlStatementCopier {
+
+    private static final Map<Class<?>, ClassCopier> COPIER_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 深度复制 AST
+     *
+     * @param obj Statement 或 Statements
+     * @return 复制后的对象
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T copy(T obj) {
+        return (T) copy(obj, new IdentityHashMap<>());
+    }
+
+    private static Object copy(Object obj, Map<Object, Object> copied) {
+        if (obj == null || isImmutable(obj.getClass())) {
+            return obj;
+        }
+        Object target = copied.get(obj);
+        if (target != null) {
+            return target;
+        }
+        Class<?> clazz = obj.getClass();
+        if (clazz.isArray()) {
+            int length = Array.getLength(obj);
+            target = Array.newInstance(clazz.getComponentType(), length);
+            copied.put(obj, target);
+            for (int i = 0; i < length; i++) {
+                Array.set(target, i, copy(Array.get(obj, i), copied));
+            }
+            return target;
+        }
+        if (obj instanceof Collection || obj instanceof Map) {
+            return copyContainer(obj, copied);
+        }
+        if (obj instanceof Date) {
+            target = ((Date) obj).clone();
+            copied.put(obj, target);
+            return target;
+        }
+        if (isJdkClass(clazz)) {
+            // 其他 jdk 类型按不可变处理
+            return obj;
+        }
+        return COPIER_CACHE.computeIfAbsent(clazz, ClassCopier::new).copy(obj, copied);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object copyContainer(Object obj, Map<Object, Object> copied) {
+        if (obj instanceof List) {
+            List<Object> source = (List<Object>) obj;
+            List<Object> target = obj instanceof LinkedList ? new LinkedList<>() : new ArrayList<>(source.size());
+            copied.put(obj, target);
+            for (Object o : source) {
+                target.add(copy(o, copied));
+            }
+            return target;
+        }
+        if (obj instanceof Set) {
+            Set<Object> source = (Set<Object>) obj;
+            Set<Object> target = new LinkedHashSet<>(source.size());
+            copied.put(obj, target);
+            for (Object o : source) {
+                target.add(copy(o, copied));
+            }
+            return target;
+        }
+        if (obj instanceof Map) {
+            Map<Object, Object> source = (Map<Object, Object>) obj;
+            Map<Object, Object> target = new LinkedHashMap<>(source.size());
+            copied.put(obj, target);
+            source.forEach((k, v) -> target.put(copy(k, copied), copy(v, copied)));
+            return target;
+        }
+        Collection<Object> source = (Collection<Object>) obj;
+        Collection<Object> target = new ArrayList<>(source.size());
+        copied.put(obj, target);
+        for (Object o : source) {
+            target.add(copy(o, copied));
+        }
+        return target;
+    }
+
+    private static boolean isImmutable(Class<?> clazz) {
+        return clazz == String.class || clazz.isEnum() || clazz.isPrimitive() || Number.class.isAssignableFrom(clazz) && isJdkClass(clazz)
+            || clazz == Boolean.class || clazz == Character.class || clazz == Class.class;
+    }
+
+    private static boolean isJdkClass(Class<?> clazz) {
+        String name = clazz.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("sun.") || name.startsWith("jdk.");
+    }
+
+    /**
+     * 单个类的字段复制逻辑
+     */
+    private static class ClassCopier {
+        private final Constructor<?> constructor;
+        private final Field[] fields;
+
+        ClassCopier(Class<?> clazz) {
+            this.constructor = findConstructor(clazz);
+            List<Field> list = new ArrayList<>();
+            for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers)) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    list.add(field);
+                }
+            }
+            this.fields = list.toArray(new Field[0]);
+        }
+
+        private static Constructor<?> findConstructor(Class<?> clazz) {
+            try {
+                Constructor<?> c = clazz.getDeclaredConstructor();
+                c.setAccessible(true);
+                return c;
+            } catch (Exception e) {
+                return null;
+            }
+        }
+
+        Object copy(Object obj, Map<Object, Object> copied) {
+            if (constructor == null) {
+                Object target = SerializationUtils.deserialize(SerializationUtils.serialize(obj));
+                copied.put(obj, target);
+                return target;
+            }
+            try {
+                Object target = constructor.newInstance();
+                copied.put(obj, target);
+                for (Field field : fields) {
+                    field.set(target, JsqlStatementCopier.copy(field.get(obj), copied));
+                }
+                return target;
+            } catch (ReflectiveOperationException e) {
+                throw ExceptionUtils.mpe("copy jsqlparser object error: %s", e, obj.getClass().getName());
+            }
+        }
+    }
+}
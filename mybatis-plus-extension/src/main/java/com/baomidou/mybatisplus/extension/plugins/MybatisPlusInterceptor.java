@@ -16,7 +16,11 @@
 package com.baomidou.mybatisplus.extension.plugins;
 
 import com.baomidou.mybatisplus.core.toolkit.ClassUtils;
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
 import com.baomidou.mybatisplus.core.toolkit.StringPool;
+import com.baomidou.mybatisplus.extension.parser.JsqlParserContext;
+import com.baomidou.mybatisplus.extension.parser.JsqlParserGlobal;
+import com.baomidou.mybatisplus.extension.parser.JsqlParserSupport;
 import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
 import com.baomidou.mybatisplus.extension.toolkit.PropertyMapper;
 import lombok.Setter;
@@ -31,6 +35,7 @@ import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
 
 import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.*;
 
 /**
@@ -45,13 +50,44 @@ import java.util.*;
         @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
         @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
         @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "queryCursor", args = {MappedStatement.class, Object.class, RowBounds.class}),
     }
 )
 public class MybatisPlusInterceptor implements Interceptor {
 
+    /**
+     * MP 自身发起的游标查询({@link com.baomidou.mybatisplus.extension.toolkit.SqlHelper#cursor})的参数标记,
+     * 带有该标记的游标查询不受 {@link #interceptCursor} 影响, 总是执行 {@link InnerInterceptor#beforeQuery}
+     *
+     * @since 3.5.6
+     */
+    public static final String CURSOR_PARAM_NAME = "mybatis_plus_cursor";
+
     @Setter
     private List<InnerInterceptor> interceptors = new ArrayList<>();
 
+    /**
+     * 拦截器链共享同一个 jsqlparser 解析结果
+     * <p>
+     * 开启后连续的 {@link JsqlParserSupport} 类型拦截器(多租户,数据权限等)对同一条 sql 只解析一次,
+     * 并在拦截器链需要字符串 sql 时才统一输出, 此时自定义拦截器请重写 {@link JsqlParserSupport#processStatement} 而不是 processParser
+     *
+     * @since 3.5.6
+     */
+    @Setter
+    private boolean shareStatement = false;
+
+    /**
+     * 自定义的游标查询({@link Executor#queryCursor}, 例如返回 {@code Cursor<T>} 的 mapper 方法)是否执行 {@link InnerInterceptor#beforeQuery}
+     * <p>
+     * 默认关闭, 开启后多租户,数据权限等改写同样作用于这些游标查询, 此时拦截器的 beforeQuery 需要兼容 resultHandler 为 null.
+     * IService#stream 等 MP 自身的流式查询总是执行改写, 不受该配置影响
+     *
+     * @since 3.5.6
+     */
+    @Setter
+    private boolean interceptCursor = false;
+
     @Override
     public Object intercept(Invocation invocation) throws Throwable {
         Object target = invocation.getTarget();
@@ -61,6 +97,12 @@ public class MybatisPlusInterceptor implements Interceptor {
             Object parameter = args[1];
             boolean isUpdate = args.length == 2;
             MappedStatement ms = (MappedStatement) args[0];
+            if (args.length == 3) {
+                if (interceptCursor || isMpCursor(parameter)) {
+                    return queryCursor(executor, ms, parameter, (RowBounds) args[2]);
+                }
+                return invocation.proceed();
+            }
             if (!isUpdate && ms.getSqlCommandType() == SqlCommandType.SELECT) {
                 RowBounds rowBounds = (RowBounds) args[2];
                 ResultHandler resultHandler = (ResultHandler) args[3];
@@ -71,11 +113,23 @@ public class MybatisPlusInterceptor implements Interceptor {
                     // 几乎不可能走进这里面,除非使用Executor的代理对象调用query[args[6]]
                     boundSql = (BoundSql) args[5];
                 }
-                for (InnerInterceptor query : interceptors) {
-                    if (!query.willDoQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql)) {
-                        return Collections.emptyList();
+                JsqlParserContext context = openContext(ms, boundSql);
+                try {
+                    for (InnerInterceptor query : interceptors) {
+                        beforeInnerInterceptor(context, query);
+                        if (!query.willDoQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql)) {
+                            return Collections.emptyList();
+                        }
+                        query.beforeQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+                        afterInnerInterceptor(context, query);
+                    }
+                    if (context != null) {
+                        context.flush();
+                    }
+                } finally {
+                    if (context != null) {
+                        context.close();
                     }
-                    query.beforeQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
                 }
                 CacheKey cacheKey = executor.createCacheKey(ms, parameter, rowBounds, boundSql);
                 return executor.query(ms, parameter, rowBounds, resultHandler, cacheKey, boundSql);
@@ -98,14 +152,92 @@ public class MybatisPlusInterceptor implements Interceptor {
             } else {
                 Connection connections = (Connection) args[0];
                 Integer transactionTimeout = (Integer) args[1];
-                for (InnerInterceptor innerInterceptor : interceptors) {
-                    innerInterceptor.beforePrepare(sh, connections, transactionTimeout);
+                JsqlParserContext context = null;
+                if (shareStatement || JsqlParserGlobal.getParseStats() != null) {
+                    PluginUtils.MPStatementHandler mpSh = PluginUtils.mpStatementHandler(sh);
+                    context = openContext(mpSh.mappedStatement(), mpSh.boundSql());
+                }
+                try {
+                    for (InnerInterceptor innerInterceptor : interceptors) {
+                        beforeInnerInterceptor(context, innerInterceptor);
+                        innerInterceptor.beforePrepare(sh, connections, transactionTimeout);
+                        afterInnerInterceptor(context, innerInterceptor);
+                    }
+                    if (context != null) {
+                        context.flush();
+                    }
+                } finally {
+                    if (context != null) {
+                        context.close();
+                    }
                 }
             }
         }
         return invocation.proceed();
     }
 
+    /**
+     * 游标查询, 只执行 {@link InnerInterceptor#beforeQuery}(不进行 count 等 willDoQuery 判断, resultHandler 为 null)
+     * <p>
+     * {@link Executor#queryCursor} 不接收 BoundSql, 改写后的 BoundSql 通过复制的 MappedStatement 传递
+     *
+     * @since 3.5.6
+     */
+    private Object queryCursor(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds) throws SQLException {
+        BoundSql boundSql = ms.getBoundSql(parameter);
+        JsqlParserContext context = openContext(ms, boundSql);
+        try {
+            for (InnerInterceptor query : interceptors) {
+                beforeInnerInterceptor(context, query);
+                query.beforeQuery(executor, ms, parameter, rowBounds, null, boundSql);
+                afterInnerInterceptor(context, query);
+            }
+            if (context != null) {
+                context.flush();
+            }
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+        return executor.queryCursor(PluginUtils.copyMappedStatement(ms, parameterObject -> boundSql), parameter, rowBounds);
+    }
+
+    /**
+     * 是否为 MP 自身发起的游标查询
+     */
+    private boolean isMpCursor(Object parameter) {
+        return parameter instanceof Map && ((Map) parameter).containsKey(CURSOR_PARAM_NAME);
+    }
+
+    /**
+     * 共享解析结果或统计解析耗时时开启解析上下文
+     */
+    private JsqlParserContext openContext(MappedStatement ms, BoundSql boundSql) {
+        if (shareStatement || JsqlParserGlobal.getParseStats() != null) {
+            return JsqlParserContext.open(ms.getId(), boundSql, shareStatement);
+        }
+        return null;
+    }
+
+    /**
+     * 非 {@link JsqlParserSupport} 的拦截器需要读取字符串形式的 sql, 执行前先输出改写后的 AST
+     */
+    private void beforeInnerInterceptor(JsqlParserContext context, InnerInterceptor innerInterceptor) {
+        if (context != null && !(innerInterceptor instanceof JsqlParserSupport)) {
+            context.flush();
+        }
+    }
+
+    /**
+     * 非 {@link JsqlParserSupport} 的拦截器可能直接改写了 sql, 执行后丢弃失效的 AST
+     */
+    private void afterInnerInterceptor(JsqlParserContext context, InnerInterceptor innerInterceptor) {
+        if (context != null && !(innerInterceptor instanceof JsqlParserSupport)) {
+            context.sync();
+        }
+    }
+
     @Override
     public Object plugin(Object target) {
         if (target instanceof Executor || target instanceof StatementHandler) {
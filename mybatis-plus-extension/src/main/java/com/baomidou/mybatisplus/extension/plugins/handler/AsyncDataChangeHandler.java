@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2011-2023, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.extension.plugins.handler;
+
+import com.baomidou.mybatisplus.core.toolkit.Assert;
+import com.baomidou.mybatisplus.extension.plugins.inner.DataChangeRecorderInnerInterceptor.OperationResult;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 异步批量数据变动记录处理器
+ * <p>
+ * 记录先写入有界环形队列, 由后台线程按批取出交给目标处理器, 格式化与投递都不占用业务线程(也不在写事务内)
+ * <p>
+ * 队列已满或已关闭时在当前线程直接处理, 不丢弃记录; 在 Spring 中作为 bean 时会自动调用 {@link #close()}
+ *
+ * @author agent
+ * @since 3.5.6
+ */
+public class AsyncDataChangeHandler implements DataChangeHandler, AutoCloseable {
+
+    private static final Log logger = LogFactory.getLog(AsyncDataChangeHandler.class);
+    private static final long POLL_TIMEOUT_MILLIS = 100L;
+
+    private final DataChangeHandler delegate;
+    private final BlockingQueue<OperationResult> queue;
+    private final int batchSize;
+    private final Thread worker;
+    /**
+     * 写入队列持有读锁, 关闭持有写锁, 保证关闭后不会再有记录进入队列
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean running = true;
+
+    public AsyncDataChangeHandler(DataChangeHandler delegate) {
+        this(delegate, 8192, 256);
+    }
+
+    /**
+     * @param delegate  目标处理器, 只会被后台线程(或队列满时的业务线程)调用
+     * @param capacity  队列容量
+     * @param batchSize 每批最多记录数
+     */
+    public AsyncDataChangeHandler(DataChangeHandler delegate, int capacity, int batchSize) {
+        Assert.notNull(delegate, "delegate must not be null");
+        Assert.isTrue(capacity > 0, "capacity must be greater than zero");
+        Assert.isTrue(batchSize > 0, "batchSize must be greater than zero");
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.worker = new Thread(this::run, "mybatis-plus-data-change");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    @Override
+    public void handle(List<OperationResult> results) {
+        List<OperationResult> rejected = null;
+        lock.readLock().lock();
+        try {
+            for (OperationResult result : results) {
+                if (!running || !queue.offer(result)) {
+                    if (rejected == null) {
+                        rejected = new ArrayList<>();
+                    }
+                    rejected.add(result);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (rejected != null) {
+            // 在锁外处理, 不阻塞关闭
+            for (OperationResult result : rejected) {
+                deliver(Collections.singletonList(result));
+            }
+        }
+    }
+
+    private void run() {
+        while (running || !queue.isEmpty()) {
+            OperationResult first;
+            try {
+                first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            if (first == null) {
+                continue;
+            }
+            List<OperationResult> batch = new ArrayList<>(Math.min(batchSize, queue.size() + 1));
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+            deliver(batch);
+        }
+    }
+
+    private void deliver(List<OperationResult> batch) {
+        try {
+            delegate.handle(batch);
+        } catch (Throwable e) {
+            logger.error("deal data change records error, size=" + batch.size(), e);
+        }
+    }
+
+    /**
+     * 待处理的记录数
+     */
+    public int pending() {
+        return queue.size();
+    }
+
+    /**
+     * 停止接收并等待队列中的记录处理完成
+     */
+    @Override
+    public void close() throws InterruptedException {
+        lock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        worker.join();
+        // 兜底, 确保队列中没有遗留的记录
+        List<OperationResult> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        if (!rest.isEmpty()) {
+            deliver(rest);
+        }
+    }
+}
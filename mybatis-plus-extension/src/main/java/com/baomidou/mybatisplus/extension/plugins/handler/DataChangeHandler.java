@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2011-2023, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.extension.plugins.handler;
+
+import com.baomidou.mybatisplus.extension.plugins.inner.DataChangeRecorderInnerInterceptor.OperationResult;
+
+import java.util.List;
+
+/**
+ * 数据变动记录处理器
+ * <p>
+ * 配置到 {@link com.baomidou.mybatisplus.extension.plugins.inner.DataChangeRecorderInnerInterceptor} 后替代默认的日志输出,
+ * {@link OperationResult#getChangedData()} 在首次调用时才格式化, 需要异步处理时使用 {@link AsyncDataChangeHandler} 包装
+ *
+ * @author agent
+ * @since 3.5.6
+ */
+@FunctionalInterface
+public interface DataChangeHandler {
+
+    /**
+     * 处理一批数据变动记录
+     *
+     * @param results 数据变动记录
+     */
+    void handle(List<OperationResult> results);
+}
@@ -33,4 +33,18 @@ public interface DataPermissionHandler {
      * @return JSqlParser 条件表达式，返回的条件表达式会覆盖原有的条件表达式
      */
     Expression getSqlSegment(Expression where, String mappedStatementId);
+
+    /**
+     * 改写结果缓存指纹
+     * <p>
+     * 配置了 {@link com.baomidou.mybatisplus.extension.parser.cache.JsqlRewriteCache} 时生效,
+     * 返回 null 表示不缓存; 返回非 null 表示相同的 (MappedStatement, sql, 指纹) 改写结果一定相同,
+     * 例如返回当前用户的数据权限范围, 返回值需要正确实现 equals 与 hashCode
+     *
+     * @return 指纹
+     * @since 3.5.6
+     */
+    default Object getCacheFingerprint() {
+        return null;
+    }
 }
@@ -31,4 +31,17 @@ public interface TableNameHandler {
      * @return String
      */
     String dynamicTableName(String sql, String tableName);
+
+    /**
+     * 当前上下文 key(例如当前月份)
+     * <p>
+     * 返回非 null 时表示 {@link #dynamicTableName(String, String)} 的结果只取决于 (sql, tableName, 该 key),
+     * 拦截器将按 (sql, key) 缓存改写后的 sql, 相同上下文下不再调用 dynamicTableName
+     *
+     * @return 上下文 key, 默认 null 不缓存改写结果
+     * @since 3.5.6
+     */
+    default Object contextKey() {
+        return null;
+    }
 }
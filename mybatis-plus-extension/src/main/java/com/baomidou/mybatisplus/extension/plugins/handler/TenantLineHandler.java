@@ -69,4 +69,18 @@ public interface TenantLineHandler {
     default boolean ignoreInsert(List<Column> columns, String tenantIdColumn) {
         return columns.stream().map(Column::getColumnName).anyMatch(i -> i.equalsIgnoreCase(tenantIdColumn));
     }
+
+    /**
+     * 改写结果缓存指纹
+     * <p>
+     * 配置了 {@link com.baomidou.mybatisplus.extension.parser.cache.JsqlRewriteCache} 时生效,
+     * 返回 null 表示不缓存; 返回非 null 表示相同的 (MappedStatement, sql, 指纹) 改写结果一定相同,
+     * 一般返回当前租户 ID 即可, 返回值需要正确实现 equals 与 hashCode
+     *
+     * @return 指纹
+     * @since 3.5.6
+     */
+    default Object getCacheFingerprint() {
+        return null;
+    }
 }
@@ -16,7 +16,12 @@
 package com.baomidou.mybatisplus.extension.plugins.inner;
 
 import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
+import com.baomidou.mybatisplus.core.toolkit.ExceptionUtils;
+import com.baomidou.mybatisplus.extension.parser.JsqlParserContext;
 import com.baomidou.mybatisplus.extension.parser.JsqlParserSupport;
+import com.baomidou.mybatisplus.extension.parser.SqlTableClassifier;
+import com.baomidou.mybatisplus.extension.parser.TableNameParserClassifier;
+import com.baomidou.mybatisplus.extension.parser.cache.JsqlRewriteCache;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
@@ -28,9 +33,11 @@ import net.sf.jsqlparser.expression.operators.relational.ExistsExpression;
 import net.sf.jsqlparser.expression.operators.relational.ExpressionList;
 import net.sf.jsqlparser.expression.operators.relational.InExpression;
 import net.sf.jsqlparser.schema.Table;
+import net.sf.jsqlparser.statement.merge.Merge;
 import net.sf.jsqlparser.statement.select.*;
 
 import java.util.*;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 /**
@@ -46,6 +53,96 @@ import java.util.stream.Collectors;
 @SuppressWarnings({"rawtypes"})
 public abstract class BaseMultiTableInnerInterceptor extends JsqlParserSupport implements InnerInterceptor {
 
+    /**
+     * sql 改写结果缓存, 需要处理器返回缓存指纹才会生效
+     * <p>
+     * 缓存 key 包含拦截器类型, 不同类型的拦截器可以共用同一个缓存; 同一类型的多个实例共用时需要通过指纹区分
+     *
+     * @since 3.5.6
+     */
+    private JsqlRewriteCache rewriteCache;
+
+    /**
+     * 解析前的快速判断, 例如 {@link TableNameParserClassifier}, 为 null 时总是解析
+     *
+     * @since 3.5.6
+     */
+    private SqlTableClassifier tableClassifier;
+
+    /**
+     * 解析前判断 sql 是否可以跳过处理(涉及的表全部被 {@link #ignoreTable(String)} 忽略)
+     *
+     * @param sql 原始 sql
+     * @return 是否跳过
+     * @since 3.5.6
+     */
+    protected boolean canSkipParser(String sql) {
+        return tableClassifier != null && tableClassifier.allIgnored(sql, this::ignoreTable);
+    }
+
+    /**
+     * 表是否一定不需要处理, 供 {@link #canSkipParser(String)} 使用
+     * <p>
+     * 默认不忽略任何表
+     *
+     * @param tableName 表名
+     * @return 是否忽略
+     * @since 3.5.6
+     */
+    protected boolean ignoreTable(String tableName) {
+        return false;
+    }
+
+    /**
+     * MERGE 语句同时包含插入与更新, 暂不支持追加条件, 涉及未忽略的表时拒绝执行, 避免绕过多租户或数据权限条件
+     *
+     * @since 3.5.6
+     */
+    @Override
+    protected void processMerge(Merge merge, int index, String sql, Object obj) {
+        String tableName = merge.getTable().getName();
+        if (!ignoreTable(tableName)) {
+            throw ExceptionUtils.mpe("%s does not support the MERGE statement, table: %s, SQL: %s", getClass().getSimpleName(), tableName, sql);
+        }
+    }
+
+    /**
+     * 优先从改写结果缓存中获取 sql
+     *
+     * @param id          MappedStatement id
+     * @param sql         原始 sql
+     * @param fingerprint 处理器返回的缓存指纹, 为 null 时不缓存
+     * @param parser      解析改写逻辑
+     * @return 改写后的 sql
+     * @since 3.5.6
+     */
+    protected String parserWithCache(String id, String sql, Object fingerprint, UnaryOperator<String> parser) {
+        if (rewriteCache == null || fingerprint == null) {
+            return parser.apply(sql);
+        }
+        JsqlParserContext context = JsqlParserContext.current(sql);
+        if (context != null && context.getStatements() != null) {
+            // 前面的拦截器已经改写了 AST, 原始 sql 不能作为缓存 key
+            return parser.apply(sql);
+        }
+        String rewriteSql = rewriteCache.get(getClass(), id, sql, fingerprint);
+        if (rewriteSql != null) {
+            if (context != null) {
+                // 没有经过解析, 上下文改为跟踪缓存中的 sql
+                context.replace(rewriteSql);
+            }
+            return rewriteSql;
+        }
+        rewriteSql = parser.apply(sql);
+        if (context != null) {
+            // 共享解析结果时改写被延迟了, 这里提前输出以便缓存, 后续拦截器依然可以复用 AST
+            context.flush();
+            rewriteSql = context.getSql();
+        }
+        rewriteCache.put(getClass(), id, sql, fingerprint, rewriteSql);
+        return rewriteSql;
+    }
+
     protected void processSelectBody(SelectBody selectBody, final String whereSegment) {
         if (selectBody == null) {
             return;
@@ -28,13 +28,17 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import org.apache.ibatis.executor.statement.StatementHandler;
 import org.apache.ibatis.mapping.BoundSql;
@@ -57,6 +61,9 @@ import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
 import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
 import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
 import com.baomidou.mybatisplus.extension.parser.JsqlParserGlobal;
+import com.baomidou.mybatisplus.extension.plugins.handler.DataChangeHandler;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
 import lombok.Data;
 import net.sf.jsqlparser.expression.Expression;
@@ -69,7 +76,6 @@ import net.sf.jsqlparser.statement.Statement;
 import net.sf.jsqlparser.statement.delete.Delete;
 import net.sf.jsqlparser.statement.insert.Insert;
 import net.sf.jsqlparser.statement.select.AllColumns;
-import net.sf.jsqlparser.statement.select.FromItem;
 import net.sf.jsqlparser.statement.select.PlainSelect;
 import net.sf.jsqlparser.statement.select.Select;
 import net.sf.jsqlparser.statement.select.SelectBody;
@@ -135,6 +141,18 @@ public class DataChangeRecorderInnerInterceptor implements InnerInterceptor {
     private int BATCH_UPDATE_LIMIT = 1000;
     private boolean batchUpdateLimitationOpened = false;
     private final Map<String, Integer> BATCH_UPDATE_LIMIT_MAP = new ConcurrentHashMap<>();//表名->批量更新上限
+    //执行sql->前镜像查询, 相同的sql只构建一次查询语句
+    private static final long BEFORE_IMAGE_CACHE_SIZE = 1024L;
+    /**
+     * 前镜像查询缓存, 首次使用时创建
+     */
+    private volatile Cache<String, BeforeImage> beforeImageCache;
+    private final Map<String, TableStats> tableStats = new ConcurrentHashMap<>();//表名->插件耗时统计
+    private final Map<String, TableMeta> tableMetaCache = new ConcurrentHashMap<>();//表名(大写)->表元数据
+    /**
+     * 数据变动处理器, 为空时打印日志
+     */
+    private DataChangeHandler dataChangeHandler;
 
     @Override
     public void beforePrepare(StatementHandler sh, Connection connection, Integer transactionTimeout) {
@@ -146,6 +164,7 @@ public class DataChangeRecorderInnerInterceptor implements InnerInterceptor {
             PluginUtils.MPBoundSql mpBs = mpSh.mPBoundSql();
             OperationResult operationResult;
             long startTs = System.currentTimeMillis();
+            long startNanos = System.nanoTime();
             try {
                 Statement statement = JsqlParserGlobal.parse(mpBs.sql());
                 if (statement instanceof Insert) {
@@ -169,6 +188,8 @@ public class DataChangeRecorderInnerInterceptor implements InnerInterceptor {
             if (operationResult != null) {
                 operationResult.setCost(costThis);
                 dealOperationResult(operationResult);
+                CollectionUtils.computeIfAbsent(tableStats, operationResult.getTableName().toUpperCase(), k -> new TableStats())
+                    .record(System.nanoTime() - startNanos);
             }
         }
     }
@@ -186,11 +207,15 @@ public class DataChangeRecorderInnerInterceptor implements InnerInterceptor {
     }
 
     /**
-     * 处理数据更新结果，默认打印
+     * 处理数据更新结果，配置了 {@link DataChangeHandler} 时交给处理器，否则打印
      *
      * @param operationResult
      */
     protected void dealOperationResult(OperationResult operationResult) {
+        if (dataChangeHandler != null) {
+            dataChangeHandler.handle(Collections.singletonList(operationResult));
+            return;
+        }
         logger.info("{}", operationResult);
     }
 
@@ -199,14 +224,12 @@ public class DataChangeRecorderInnerInterceptor implements InnerInterceptor {
         result.setOperation("insert");
         result.setTableName(insertStmt.getTable().getName());
         result.setRecordStatus(true);
-        result.buildDataStr(compareAndGetUpdatedColumnDatas(result.getTableName(), boundSql, insertStmt, null));
+        result.buildDataStr(compareAndGetUpdatedColumnDatas(buildColumnNameValMap(result.getTableName(), boundSql, insertStmt),
+            ignoredTableColumns.get(result.getTableName().toUpperCase()), null));
         return result;
     }
 
     public OperationResult processUpdate(Update updateStmt, MappedStatement mappedStatement, BoundSql boundSql, Connection connection) {
-        Expression where = updateStmt.getWhere();
-        Select selectStmt = new Select();
-        PlainSelect selectBody = new PlainSelect();
         Table table = updateStmt.getTable();
         final Set<String> ignoredColumns = ignoredTableColumns.get(table.getName().toUpperCase());
         if (ignoredColumns != null) {
@@ -218,18 +241,23 @@ public class DataChangeRecorderInnerInterceptor implements InnerInterceptor {
                 return result;
             }
         }
-        selectBody.setFromItem(table);
-        List<Column> updateColumns = new ArrayList<>();
-        for (UpdateSet updateSet : updateStmt.getUpdateSets()) {
-            updateColumns.addAll(updateSet.getColumns());
-        }
-        Columns2SelectItemsResult buildColumns2SelectItems = buildColumns2SelectItems(table.getName(), updateColumns);
-        selectBody.setSelectItems(buildColumns2SelectItems.getSelectItems());
-        selectBody.setWhere(where);
-        selectStmt.setSelectBody(selectBody);
-
-        BoundSql boundSql4Select = new BoundSql(mappedStatement.getConfiguration(), selectStmt.toString(),
-            prepareParameterMapping4Select(boundSql.getParameterMappings(), updateStmt),
+        BeforeImage beforeImage = getBeforeImage(boundSql.getSql(), table.getName(), () -> {
+            Select selectStmt = new Select();
+            PlainSelect selectBody = new PlainSelect();
+            selectBody.setFromItem(table);
+            List<Column> updateColumns = new ArrayList<>();
+            for (UpdateSet updateSet : updateStmt.getUpdateSets()) {
+                updateColumns.addAll(updateSet.getColumns());
+            }
+            Columns2SelectItemsResult buildColumns2SelectItems = buildColumns2SelectItems(table.getName(), updateColumns);
+            selectBody.setSelectItems(buildColumns2SelectItems.getSelectItems());
+            selectBody.setWhere(updateStmt.getWhere());
+            selectStmt.setSelectBody(selectBody);
+            return new BeforeImage(selectStmt.toString(), table.getName(), buildColumns2SelectItems.getPk(), countSetJdbcParameters(updateStmt));
+        });
+        List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
+        BoundSql boundSql4Select = new BoundSql(mappedStatement.getConfiguration(), beforeImage.getSelectSql(),
+            parameterMappings.subList(beforeImage.getSkipParameterCount(), parameterMappings.size()),
             boundSql.getParameterObject());
         PluginUtils.MPBoundSql mpBoundSql = PluginUtils.mpBoundSql(boundSql);
         Map<String, Object> additionalParameters = mpBoundSql.additionalParameters();
@@ -238,23 +266,63 @@ public class DataChangeRecorderInnerInterceptor implements InnerInterceptor {
                 boundSql4Select.setAdditionalParameter(ety.getKey(), ety.getValue());
             }
         }
-        OriginalDataObj originalData = buildOriginalObjectData(selectStmt, buildColumns2SelectItems.getPk(), mappedStatement, boundSql4Select, connection);
+        Map<String, String> columnNameValMap = buildColumnNameValMap(table.getName(), boundSql, updateStmt);
+        // 逐行比较, 只保留有变动的行
+        OriginalDataObj originalData = buildOriginalObjectData(beforeImage, mappedStatement, boundSql4Select, connection,
+            record -> record.hasUpdate(columnNameValMap, ignoredColumns, ignoreAllColumns));
         OperationResult result = new OperationResult();
         result.setOperation("update");
         result.setTableName(table.getName());
         result.setRecordStatus(true);
-        result.buildDataStr(compareAndGetUpdatedColumnDatas(result.getTableName(), boundSql, updateStmt, originalData));
+        result.buildDataStr(compareAndGetUpdatedColumnDatas(columnNameValMap, ignoredColumns, originalData));
         return result;
     }
 
     /**
-     * 将update SET部分的jdbc参数去除
+     * 获取前镜像查询, 相同的执行sql复用同一个查询语句
+     * <p>表没有对应实体时不缓存, 实体初始化后需要按映射字段重新构建</p>
+     *
+     * @param sql       执行sql
+     * @param tableName 表名
+     * @param builder   查询构建
+     * @return 前镜像查询
+     */
+    private BeforeImage getBeforeImage(String sql, String tableName, Supplier<BeforeImage> builder) {
+        Cache<String, BeforeImage> cache = getBeforeImageCache();
+        BeforeImage beforeImage = cache.getIfPresent(sql);
+        if (beforeImage == null) {
+            beforeImage = builder.get();
+            if (getTableMeta(tableName) != TableMeta.NONE) {
+                cache.put(sql, beforeImage);
+            }
+        }
+        return beforeImage;
+    }
+
+    /**
+     * 前镜像查询缓存, 超出容量时按最近使用淘汰
+     */
+    private Cache<String, BeforeImage> getBeforeImageCache() {
+        Cache<String, BeforeImage> cache = beforeImageCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = beforeImageCache;
+                if (cache == null) {
+                    cache = Caffeine.newBuilder().maximumSize(BEFORE_IMAGE_CACHE_SIZE).build();
+                    beforeImageCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * update SET部分的jdbc参数个数, 前镜像查询需要去除这部分参数
      *
-     * @param originalMappingList 这里只会包含JdbcParameter参数
      * @param updateStmt
      * @return
      */
-    private List<ParameterMapping> prepareParameterMapping4Select(List<ParameterMapping> originalMappingList, Update updateStmt) {
+    private int countSetJdbcParameters(Update updateStmt) {
         List<Expression> updateValueExpressions = new ArrayList<>();
         for (UpdateSet updateSet : updateStmt.getUpdateSets()) {
             updateValueExpressions.addAll(updateSet.getExpressions());
@@ -265,15 +333,18 @@ public class DataChangeRecorderInnerInterceptor implements InnerInterceptor {
                 ++removeParamCount;
             }
         }
-        return originalMappingList.subList(removeParamCount, originalMappingList.size());
+        return removeParamCount;
     }
 
     /**
+     * 获取 insert/update 写入的字段值
+     *
+     * @param tableName
      * @param updateSql
-     * @param originalDataObj
-     * @return
+     * @param statement
+     * @return 字段名(大写)->写入值
      */
-    private List<DataChangedRecord> compareAndGetUpdatedColumnDatas(String tableName, BoundSql updateSql, Statement statement, OriginalDataObj originalDataObj) {
+    private Map<String, String> buildColumnNameValMap(String tableName, BoundSql updateSql, Statement statement) {
         Map<String, String> columnNameValMap = new HashMap<>(updateSql.getParameterMappings().size());
         Map<Integer, String> columnSetIndexMap = new HashMap<>(updateSql.getParameterMappings().size());
         List<Column> selectItemsFromUpdateSql = new ArrayList<>();
@@ -332,9 +403,17 @@ public class DataChangeRecorderInnerInterceptor implements InnerInterceptor {
             }
         }
         dealWithUpdateWrapper(columnSetIndexMap, columnNameValMap, updateSql);
+        return columnNameValMap;
+    }
 
-        final Set<String> ignoredColumns = ignoredTableColumns.get(tableName.toUpperCase());
-        if (originalDataObj == null || originalDataObj.isEmpty()) {
+    /**
+     * @param columnNameValMap 写入的字段值
+     * @param ignoredColumns   当前表忽略的字段
+     * @param originalDataObj  已比较过的前镜像(只包含有变动的行), 为 null 表示没有查到原始数据
+     * @return
+     */
+    private List<DataChangedRecord> compareAndGetUpdatedColumnDatas(Map<String, String> columnNameValMap, Set<String> ignoredColumns, OriginalDataObj originalDataObj) {
+        if (originalDataObj == null) {
             DataChangedRecord oneRecord = new DataChangedRecord();
             List<DataColumnChangeResult> updateColumns = new ArrayList<>(columnNameValMap.size());
             for (Map.Entry<String, String> ety : columnNameValMap.entrySet()) {
@@ -347,14 +426,7 @@ public class DataChangeRecorderInnerInterceptor implements InnerInterceptor {
 //            oneRecord.setUpdatedColumns(Collections.EMPTY_LIST);
             return Collections.singletonList(oneRecord);
         }
-        List<DataChangedRecord> originalDataList = originalDataObj.getOriginalDataObj();
-        List<DataChangedRecord> updateDataList = new ArrayList<>(originalDataList.size());
-        for (DataChangedRecord originalData : originalDataList) {
-            if (originalData.hasUpdate(columnNameValMap, ignoredColumns, ignoreAllColumns)) {
-                updateDataList.add(originalData);
-            }
-        }
-        return updateDataList;
+        return originalDataObj.getOriginalDataObj();
     }
 
     @SuppressWarnings("rawtypes")
@@ -433,21 +505,31 @@ public class DataChangeRecorderInnerInterceptor implements InnerInterceptor {
     }
 
     private String getColumnNameByProperty(String propertyName, String tableName) {
-        for (TableInfo tableInfo : TableInfoHelper.getTableInfos()) {
-            if (tableName.equalsIgnoreCase(tableInfo.getTableName())) {
-                final List<TableFieldInfo> fieldList = tableInfo.getFieldList();
-                if (CollectionUtils.isEmpty(fieldList)) {
-                    return propertyName;
-                }
-                for (TableFieldInfo tableFieldInfo : fieldList) {
-                    if (propertyName.equalsIgnoreCase(tableFieldInfo.getProperty())) {
-                        return tableFieldInfo.getColumn().toUpperCase();
-                    }
-                }
-                return propertyName;
-            }
+        return getTableMeta(tableName).getPropertyColumns().getOrDefault(propertyName.toUpperCase(), propertyName);
+    }
+
+    /**
+     * 获取表元数据, 找到实体后每个表名只构建一次
+     * <p>没有找到实体时不缓存, 实体可能在之后才完成初始化</p>
+     *
+     * @param tableName 表名
+     * @return 表元数据, 没有对应实体时返回 {@link TableMeta#NONE}
+     */
+    private TableMeta getTableMeta(String tableName) {
+        TableMeta tableMeta = tableMetaCache.get(tableName.toUpperCase());
+        if (tableMeta != null) {
+            return tableMeta;
+        }
+        TableInfo tableInfo = TableInfoHelper.getTableInfo(tableName);
+        if (tableInfo == null) {
+            tableInfo = TableInfoHelper.getTableInfos().stream()
+                .filter(t -> tableName.equalsIgnoreCase(t.getTableName())).findFirst().orElse(null);
         }
-        return propertyName;
+        if (tableInfo == null) {
+            return TableMeta.NONE;
+        }
+        final TableInfo found = tableInfo;
+        return CollectionUtils.computeIfAbsent(tableMetaCache, tableName.toUpperCase(), k -> new TableMeta(found));
     }
 
 
@@ -467,71 +549,106 @@ public class DataChangeRecorderInnerInterceptor implements InnerInterceptor {
     }
 
 
-    private String buildOriginalData(Select selectStmt, MappedStatement mappedStatement, BoundSql boundSql, Connection connection) {
-        try (PreparedStatement statement = connection.prepareStatement(selectStmt.toString())) {
+    /**
+     * 查询待删除的数据, 只读取原始值, 格式化在 {@link OperationResult#getChangedData()} 中进行
+     *
+     * @return 原始数据, 查询失败时返回 null
+     */
+    private List<Map<String, Object>> buildOriginalData(BeforeImage beforeImage, MappedStatement mappedStatement, BoundSql boundSql, Connection connection) {
+        try (PreparedStatement statement = connection.prepareStatement(beforeImage.getSelectSql())) {
+            limitMaxRows(statement, beforeImage.getTableName());
             DefaultParameterHandler parameterHandler = new DefaultParameterHandler(mappedStatement, boundSql.getParameterObject(), boundSql);
             parameterHandler.setParameters(statement);
             ResultSet resultSet = statement.executeQuery();
             final ResultSetMetaData metaData = resultSet.getMetaData();
             int columnCount = metaData.getColumnCount();
-            StringBuilder sb = new StringBuilder("[");
+            List<Map<String, Object>> originalRows = new ArrayList<>();
             int count = 0;
             while (resultSet.next()) {
                 ++count;
-                if (checkTableBatchLimitExceeded(selectStmt, count)) {
+                if (checkTableBatchLimitExceeded(beforeImage.getTableName(), count)) {
                     logger.error("batch delete limit exceed: count={}, BATCH_UPDATE_LIMIT={}", count, BATCH_UPDATE_LIMIT);
                     throw DataUpdateLimitationException.DEFAULT;
                 }
-                sb.append("{");
+                Map<String, Object> row = new LinkedHashMap<>(columnCount);
                 for (int i = 1; i <= columnCount; ++i) {
-                    sb.append("\"").append(metaData.getColumnName(i)).append("\":\"");
                     Object res = resultSet.getObject(i);
-                    if (res instanceof Clob) {
-                        sb.append(DataColumnChangeResult.convertClob((Clob) res));
-                    } else {
-                        sb.append(res);
-                    }
-                    sb.append("\",");
+                    row.put(metaData.getColumnName(i), res instanceof Clob ? DataColumnChangeResult.convertClob((Clob) res) : res);
                 }
-                sb.replace(sb.length() - 1, sb.length(), "}");
+                originalRows.add(row);
             }
-            sb.append("]");
             resultSet.close();
-            return sb.toString();
+            return originalRows;
         } catch (Exception e) {
             if (e instanceof DataUpdateLimitationException) {
                 throw (DataUpdateLimitationException) e;
             }
-            logger.error("try to get record tobe deleted for selectStmt={}", selectStmt, e);
-            return "failed to get original data";
+            logger.error("try to get record tobe deleted for selectStmt={}", beforeImage.getSelectSql(), e);
+            return null;
         }
     }
 
-    private OriginalDataObj buildOriginalObjectData(Select selectStmt, Column pk, MappedStatement mappedStatement, BoundSql boundSql, Connection connection) {
-        try (PreparedStatement statement = connection.prepareStatement(selectStmt.toString())) {
+    /**
+     * 查询待更新的数据, 逐行读取并比较, 没有变动的行直接丢弃
+     *
+     * @param filter 保留行的条件
+     * @return 有变动的行, 没有查到数据或查询失败时返回 null
+     */
+    private OriginalDataObj buildOriginalObjectData(BeforeImage beforeImage, MappedStatement mappedStatement, BoundSql boundSql,
+                                                    Connection connection, Predicate<DataChangedRecord> filter) {
+        try (PreparedStatement statement = connection.prepareStatement(beforeImage.getSelectSql())) {
+            limitMaxRows(statement, beforeImage.getTableName());
             DefaultParameterHandler parameterHandler = new DefaultParameterHandler(mappedStatement, boundSql.getParameterObject(), boundSql);
             parameterHandler.setParameters(statement);
             ResultSet resultSet = statement.executeQuery();
-            List<DataChangedRecord> originalObjectDatas = new LinkedList<>();
+            final ResultSetMetaData metaData = resultSet.getMetaData();
+            int columnCount = metaData.getColumnCount();
+            String[] columnNames = new String[columnCount];
+            int pkIndex = -1;
+            for (int i = 0; i < columnCount; ++i) {
+                columnNames[i] = metaData.getColumnName(i + 1).toUpperCase();
+                if (beforeImage.getPk() != null && columnNames[i].equalsIgnoreCase(beforeImage.getPk().getColumnName())) {
+                    pkIndex = i;
+                }
+            }
+            List<DataChangedRecord> originalObjectDatas = new ArrayList<>();
             int count = 0;
             while (resultSet.next()) {
                 ++count;
-                if (checkTableBatchLimitExceeded(selectStmt, count)) {
+                if (checkTableBatchLimitExceeded(beforeImage.getTableName(), count)) {
                     logger.error("batch update limit exceed: count={}, BATCH_UPDATE_LIMIT={}", count, BATCH_UPDATE_LIMIT);
                     throw DataUpdateLimitationException.DEFAULT;
                 }
-                originalObjectDatas.add(prepareOriginalDataObj(resultSet, pk));
+                DataChangedRecord record = prepareOriginalDataObj(resultSet, columnNames, pkIndex);
+                if (filter.test(record)) {
+                    originalObjectDatas.add(record);
+                }
+            }
+            resultSet.close();
+            if (count == 0) {
+                return null;
             }
             OriginalDataObj result = new OriginalDataObj();
             result.setOriginalDataObj(originalObjectDatas);
-            resultSet.close();
             return result;
         } catch (Exception e) {
             if (e instanceof DataUpdateLimitationException) {
                 throw (DataUpdateLimitationException) e;
             }
-            logger.error("try to get record tobe updated for selectStmt={}", selectStmt, e);
-            return new OriginalDataObj();
+            logger.error("try to get record tobe updated for selectStmt={}", beforeImage.getSelectSql(), e);
+            return null;
+        }
+    }
+
+    /**
+     * 开启批量更新上限时, 前镜像查询最多只读取 上限+1 行
+     */
+    private void limitMaxRows(PreparedStatement statement, String tableName) throws SQLException {
+        if (batchUpdateLimitationOpened) {
+            int limit = BATCH_UPDATE_LIMIT_MAP.getOrDefault(tableName.toUpperCase(), BATCH_UPDATE_LIMIT);
+            if (limit >= 0 && limit < Integer.MAX_VALUE) {
+                statement.setMaxRows(limit + 1);
+            }
         }
     }
 
@@ -539,36 +656,29 @@ public class DataChangeRecorderInnerInterceptor implements InnerInterceptor {
      * 防止出现全表批量更新
      * 默认一次更新不超过1000条
      *
-     * @param selectStmt
+     * @param tableName
      * @param count
      * @return
      */
-    private boolean checkTableBatchLimitExceeded(Select selectStmt, int count) {
+    private boolean checkTableBatchLimitExceeded(String tableName, int count) {
         if (!batchUpdateLimitationOpened) {
             return false;
         }
-        final PlainSelect selectBody = (PlainSelect) selectStmt.getSelectBody();
-        final FromItem fromItem = selectBody.getFromItem();
-        if (fromItem instanceof Table) {
-            Table fromTable = (Table) fromItem;
-            final String tableName = fromTable.getName().toUpperCase();
-            if (!BATCH_UPDATE_LIMIT_MAP.containsKey(tableName)) {
-                if (count > BATCH_UPDATE_LIMIT) {
-                    logger.error("batch update limit exceed for tableName={}, BATCH_UPDATE_LIMIT={}, count={}",
-                        tableName, BATCH_UPDATE_LIMIT, count);
-                    return true;
-                }
-                return false;
-            }
-            final Integer limit = BATCH_UPDATE_LIMIT_MAP.get(tableName);
-            if (count > limit) {
-                logger.error("batch update limit exceed for configured tableName={}, BATCH_UPDATE_LIMIT={}, count={}",
-                    tableName, limit, count);
+        final Integer limit = BATCH_UPDATE_LIMIT_MAP.get(tableName.toUpperCase());
+        if (limit == null) {
+            if (count > BATCH_UPDATE_LIMIT) {
+                logger.error("batch update limit exceed for tableName={}, BATCH_UPDATE_LIMIT={}, count={}",
+                    tableName, BATCH_UPDATE_LIMIT, count);
                 return true;
             }
             return false;
         }
-        return count > BATCH_UPDATE_LIMIT;
+        if (count > limit) {
+            logger.error("batch update limit exceed for configured tableName={}, BATCH_UPDATE_LIMIT={}, count={}",
+                tableName, limit, count);
+            return true;
+        }
+        return false;
     }
 
 
@@ -576,19 +686,17 @@ public class DataChangeRecorderInnerInterceptor implements InnerInterceptor {
      * get records : include related column with original data in DB
      *
      * @param resultSet
-     * @param pk
+     * @param columnNames 字段名(大写)
+     * @param pkIndex     主键所在下标, 没有时为 -1
      * @return
      * @throws SQLException
      */
-    private DataChangedRecord prepareOriginalDataObj(ResultSet resultSet, Column pk) throws SQLException {
-        final ResultSetMetaData metaData = resultSet.getMetaData();
-        int columnCount = metaData.getColumnCount();
-        List<DataColumnChangeResult> originalColumnDatas = new LinkedList<>();
+    private DataChangedRecord prepareOriginalDataObj(ResultSet resultSet, String[] columnNames, int pkIndex) throws SQLException {
+        List<DataColumnChangeResult> originalColumnDatas = new ArrayList<>(columnNames.length);
         DataColumnChangeResult pkval = null;
-        for (int i = 1; i <= columnCount; ++i) {
-            String columnName = metaData.getColumnName(i).toUpperCase();
-            DataColumnChangeResult col = DataColumnChangeResult.constrcutByOriginalVal(columnName, resultSet.getObject(i));
-            if (pk != null && columnName.equalsIgnoreCase(pk.getColumnName())) {
+        for (int i = 0; i < columnNames.length; ++i) {
+            DataColumnChangeResult col = DataColumnChangeResult.constrcutByOriginalVal(columnNames[i], resultSet.getObject(i + 1));
+            if (i == pkIndex) {
                 pkval = col;
             } else {
                 originalColumnDatas.add(col);
@@ -607,18 +715,17 @@ public class DataChangeRecorderInnerInterceptor implements InnerInterceptor {
         if (columns == null || columns.isEmpty()) {
             return Columns2SelectItemsResult.build(Collections.singletonList(new AllColumns()), 0);
         }
-        List<SelectItem> selectItems = new ArrayList<>(columns.size());
+        List<SelectItem> selectItems = new ArrayList<>(columns.size() + 1);
         for (Column column : columns) {
             selectItems.add(new SelectExpressionItem(column));
         }
-        for (TableInfo tableInfo : TableInfoHelper.getTableInfos()) {
-            if (tableName.equalsIgnoreCase(tableInfo.getTableName())) {
-                Column pk = new Column(tableInfo.getKeyColumn());
-                selectItems.add(new SelectExpressionItem(pk));
-                Columns2SelectItemsResult result = Columns2SelectItemsResult.build(selectItems, 1);
-                result.setPk(pk);
-                return result;
-            }
+        String keyColumn = getTableMeta(tableName).getKeyColumn();
+        if (keyColumn != null) {
+            Column pk = new Column(keyColumn);
+            selectItems.add(new SelectExpressionItem(pk));
+            Columns2SelectItemsResult result = Columns2SelectItemsResult.build(selectItems, 1);
+            result.setPk(pk);
+            return result;
         }
         return Columns2SelectItemsResult.build(selectItems, 0);
     }
@@ -657,19 +764,35 @@ public class DataChangeRecorderInnerInterceptor implements InnerInterceptor {
 
     public OperationResult processDelete(Delete deleteStmt, MappedStatement mappedStatement, BoundSql boundSql, Connection connection) {
         Table table = deleteStmt.getTable();
-        Expression where = deleteStmt.getWhere();
-        Select selectStmt = new Select();
-        PlainSelect selectBody = new PlainSelect();
-        selectBody.setFromItem(table);
-        selectBody.setSelectItems(Collections.singletonList(new AllColumns()));
-        selectBody.setWhere(where);
-        selectStmt.setSelectBody(selectBody);
-        String originalData = buildOriginalData(selectStmt, mappedStatement, boundSql, connection);
+        BeforeImage beforeImage = getBeforeImage(boundSql.getSql(), table.getName(), () -> {
+            Select selectStmt = new Select();
+            PlainSelect selectBody = new PlainSelect();
+            selectBody.setFromItem(table);
+            // 有实体映射时只查询映射的字段, 否则查询全部字段
+            List<String> columnNames = getTableMeta(table.getName()).getColumnNames();
+            if (columnNames.isEmpty()) {
+                selectBody.setSelectItems(Collections.singletonList(new AllColumns()));
+            } else {
+                List<SelectItem> selectItems = new ArrayList<>(columnNames.size());
+                for (String columnName : columnNames) {
+                    selectItems.add(new SelectExpressionItem(new Column(columnName)));
+                }
+                selectBody.setSelectItems(selectItems);
+            }
+            selectBody.setWhere(deleteStmt.getWhere());
+            selectStmt.setSelectBody(selectBody);
+            return new BeforeImage(selectStmt.toString(), table.getName(), null, 0);
+        });
+        List<Map<String, Object>> originalRows = buildOriginalData(beforeImage, mappedStatement, boundSql, connection);
         OperationResult result = new OperationResult();
         result.setOperation("delete");
         result.setTableName(table.getName());
-        result.setRecordStatus(originalData.startsWith("["));
-        result.setChangedData(originalData);
+        result.setRecordStatus(originalRows != null);
+        if (originalRows == null) {
+            result.setChangedData("failed to get original data");
+        } else {
+            result.setOriginalRows(originalRows);
+        }
         return result;
     }
 
@@ -694,6 +817,28 @@ public class DataChangeRecorderInnerInterceptor implements InnerInterceptor {
         return this;
     }
 
+    /**
+     * 设置数据变动处理器, 需要异步处理时使用 {@link com.baomidou.mybatisplus.extension.plugins.handler.AsyncDataChangeHandler}
+     *
+     * @param dataChangeHandler
+     * @return
+     * @since 3.5.6
+     */
+    public DataChangeRecorderInnerInterceptor setDataChangeHandler(DataChangeHandler dataChangeHandler) {
+        this.dataChangeHandler = dataChangeHandler;
+        return this;
+    }
+
+    /**
+     * 插件耗时统计(包含前镜像查询与数据变动处理器的耗时)
+     *
+     * @return 表名(大写)->耗时统计
+     * @since 3.5.6
+     */
+    public Map<String, TableStats> getTableStats() {
+        return Collections.unmodifiableMap(tableStats);
+    }
+
     /**
      * ignoredColumns = TABLE_NAME1.COLUMN1,COLUMN2; TABLE2.COLUMN1,COLUMN2; TABLE3.*; *.COLUMN1,COLUMN2
      * 多个表用分号分隔
@@ -742,12 +887,39 @@ public class DataChangeRecorderInnerInterceptor implements InnerInterceptor {
         private boolean recordStatus;
         private String tableName;
         private String changedData;
+        /**
+         * insert/update 的变动数据, changedData 由此延迟生成
+         */
+        private List<DataChangedRecord> changedRecords;
+        /**
+         * delete 的原始数据, changedData 由此延迟生成
+         */
+        private List<Map<String, Object>> originalRows;
         /**
          * cost for this plugin, ms
          */
         private long cost;
 
         public void buildDataStr(List<DataChangedRecord> records) {
+            this.changedRecords = records;
+            this.changedData = null;
+        }
+
+        /**
+         * 首次调用时才格式化变动数据, 配合异步 {@link DataChangeHandler} 时不占用业务线程
+         */
+        public String getChangedData() {
+            if (changedData == null) {
+                if (changedRecords != null) {
+                    changedData = generateRecordsStr(changedRecords);
+                } else if (originalRows != null) {
+                    changedData = generateRowsStr(originalRows);
+                }
+            }
+            return changedData;
+        }
+
+        private static String generateRecordsStr(List<DataChangedRecord> records) {
             StringBuilder sb = new StringBuilder();
             sb.append("[");
             for (DataChangedRecord r : records) {
@@ -755,11 +927,26 @@ public class DataChangeRecorderInnerInterceptor implements InnerInterceptor {
             }
             if (sb.length() == 1) {
                 sb.append("]");
-                changedData = sb.toString();
-                return;
+                return sb.toString();
             }
             sb.replace(sb.length() - 1, sb.length(), "]");
-            changedData = sb.toString();
+            return sb.toString();
+        }
+
+        private static String generateRowsStr(List<Map<String, Object>> rows) {
+            StringBuilder sb = new StringBuilder("[");
+            for (Map<String, Object> row : rows) {
+                sb.append("{");
+                for (Map.Entry<String, Object> ety : row.entrySet()) {
+                    sb.append("\"").append(ety.getKey()).append("\":\"").append(ety.getValue()).append("\",");
+                }
+                sb.replace(sb.length() - 1, sb.length(), "},");
+            }
+            if (sb.length() > 1) {
+                sb.delete(sb.length() - 1, sb.length());
+            }
+            sb.append("]");
+            return sb.toString();
         }
 
         @Override
@@ -768,7 +955,7 @@ public class DataChangeRecorderInnerInterceptor implements InnerInterceptor {
                 "\"tableName\":\"" + tableName + "\"," +
                 "\"operation\":\"" + operation + "\"," +
                 "\"recordStatus\":\"" + recordStatus + "\"," +
-                "\"changedData\":" + changedData + "," +
+                "\"changedData\":" + getChangedData() + "," +
                 "\"cost(ms)\":" + cost + "}";
         }
     }
@@ -794,6 +981,103 @@ public class DataChangeRecorderInnerInterceptor implements InnerInterceptor {
         }
     }
 
+    /**
+     * 前镜像查询
+     */
+    @Data
+    private static class BeforeImage {
+
+        private final String selectSql;
+        private final String tableName;
+        private final Column pk;
+        /**
+         * 执行sql中不属于where条件的jdbc参数个数(update SET部分)
+         */
+        private final int skipParameterCount;
+    }
+
+    /**
+     * 表元数据
+     */
+    @Data
+    private static class TableMeta {
+
+        static final TableMeta NONE = new TableMeta(null);
+
+        /**
+         * 主键字段, 没有主键时为 null
+         */
+        private final String keyColumn;
+        /**
+         * 属性名(大写)->字段名(大写)
+         */
+        private final Map<String, String> propertyColumns;
+        /**
+         * 主键及映射的字段
+         */
+        private final List<String> columnNames;
+
+        TableMeta(TableInfo tableInfo) {
+            if (tableInfo == null) {
+                this.keyColumn = null;
+                this.propertyColumns = Collections.emptyMap();
+                this.columnNames = Collections.emptyList();
+                return;
+            }
+            this.keyColumn = tableInfo.getKeyColumn();
+            List<TableFieldInfo> fieldList = tableInfo.getFieldList();
+            Map<String, String> propertyColumns = new HashMap<>(fieldList.size());
+            List<String> columnNames = new ArrayList<>(fieldList.size() + 1);
+            if (keyColumn != null) {
+                columnNames.add(keyColumn);
+            }
+            for (TableFieldInfo tableFieldInfo : fieldList) {
+                propertyColumns.put(tableFieldInfo.getProperty().toUpperCase(), tableFieldInfo.getColumn().toUpperCase());
+                columnNames.add(tableFieldInfo.getColumn());
+            }
+            this.propertyColumns = propertyColumns;
+            this.columnNames = columnNames;
+        }
+    }
+
+    /**
+     * 插件耗时统计
+     */
+    public static class TableStats {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        public long getAvgNanos() {
+            long c = count.sum();
+            return c == 0 ? 0 : totalNanos.sum() / c;
+        }
+
+        @Override
+        public String toString() {
+            return "{\"count\":" + getCount() + ",\"avg(ns)\":" + getAvgNanos() + ",\"max(ns)\":" + getMaxNanos() + "}";
+        }
+    }
+
     @Data
     public static class OriginalDataObj {
 
@@ -41,6 +41,7 @@ import lombok.ToString;
 import net.sf.jsqlparser.expression.Expression;
 import net.sf.jsqlparser.schema.Table;
 import net.sf.jsqlparser.statement.delete.Delete;
+import net.sf.jsqlparser.statement.merge.Merge;
 import net.sf.jsqlparser.statement.select.PlainSelect;
 import net.sf.jsqlparser.statement.select.Select;
 import net.sf.jsqlparser.statement.select.SelectBody;
@@ -71,7 +72,7 @@ public class DataPermissionInterceptor extends BaseMultiTableInnerInterceptor im
             return;
         }
         PluginUtils.MPBoundSql mpBs = PluginUtils.mpBoundSql(boundSql);
-        mpBs.sql(parserSingle(mpBs.sql(), ms.getId()));
+        mpBs.sql(parserWithCache(ms.getId(), mpBs.sql(), getCacheFingerprint(), sql -> parserSingle(sql, ms.getId())));
     }
 
     @Override
@@ -84,10 +85,14 @@ public class DataPermissionInterceptor extends BaseMultiTableInnerInterceptor im
                 return;
             }
             PluginUtils.MPBoundSql mpBs = mpSh.mPBoundSql();
-            mpBs.sql(parserMulti(mpBs.sql(), ms.getId()));
+            mpBs.sql(parserWithCache(ms.getId(), mpBs.sql(), getCacheFingerprint(), sql -> parserMulti(sql, ms.getId())));
         }
     }
 
+    protected Object getCacheFingerprint() {
+        return dataPermissionHandler == null ? null : dataPermissionHandler.getCacheFingerprint();
+    }
+
     @Override
     protected void processSelect(Select select, int index, String sql, Object obj) {
         if (dataPermissionHandler == null) {
@@ -153,6 +158,16 @@ public class DataPermissionInterceptor extends BaseMultiTableInnerInterceptor im
         }
     }
 
+    /**
+     * merge 语句处理, 未设置数据权限处理器时不处理
+     */
+    @Override
+    protected void processMerge(Merge merge, int index, String sql, Object obj) {
+        if (dataPermissionHandler != null) {
+            super.processMerge(merge, index, sql, obj);
+        }
+    }
+
     protected Expression getUpdateOrDeleteExpression(final Table table, final Expression where, final String whereSegment) {
         if (dataPermissionHandler == null) {
             return null;
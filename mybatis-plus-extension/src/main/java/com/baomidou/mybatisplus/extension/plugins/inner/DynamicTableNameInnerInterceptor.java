@@ -20,6 +20,10 @@ import com.baomidou.mybatisplus.core.toolkit.ExceptionUtils;
 import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
 import com.baomidou.mybatisplus.core.toolkit.TableNameParser;
 import com.baomidou.mybatisplus.extension.plugins.handler.TableNameHandler;
+import com.baomidou.mybatisplus.extension.toolkit.PropertyMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -35,6 +39,7 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Properties;
 
 /**
  * 动态表名
@@ -52,6 +57,30 @@ public class DynamicTableNameInnerInterceptor implements InnerInterceptor {
      * 表名处理器，是否处理表名的情况都在该处理器中自行判断
      */
     private TableNameHandler tableNameHandler;
+    /**
+     * 按 sql 缓存表名位置的最大条数, 小于等于 0 时不缓存
+     *
+     * @since 3.5.6
+     */
+    private long tokenCacheSize = 1024L;
+    /**
+     * {@link TableNameHandler#contextKey()} 非空时按 (sql, key) 缓存改写结果的最大条数, 小于等于 0 时不缓存
+     *
+     * @since 3.5.6
+     */
+    private long resultCacheSize = 1024L;
+    /**
+     * 表名位置缓存, 首次使用时创建
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile Cache<String, TableNameTokens> tokenCache;
+    /**
+     * 改写结果缓存, 首次使用时创建
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile Cache<ResultKey, String> resultCache;
 
     public DynamicTableNameInnerInterceptor(TableNameHandler tableNameHandler) {
         this.tableNameHandler = tableNameHandler;
@@ -80,25 +109,126 @@ public class DynamicTableNameInnerInterceptor implements InnerInterceptor {
 
     protected String changeTable(String sql) {
         ExceptionUtils.throwMpe(null == tableNameHandler, "Please implement TableNameHandler processing logic");
-        TableNameParser parser = new TableNameParser(sql);
-        List<TableNameParser.SqlToken> names = new ArrayList<>();
-        parser.accept(names::add);
-        StringBuilder builder = new StringBuilder();
+        Object contextKey = tableNameHandler.contextKey();
+        String newSql;
+        if (contextKey != null && resultCacheSize > 0) {
+            newSql = getResultCache().get(new ResultKey(sql, contextKey), k -> replaceTable(sql));
+        } else {
+            newSql = replaceTable(sql);
+        }
+        if (hook != null) {
+            hook.run();
+        }
+        return newSql;
+    }
+
+    /**
+     * 按表名位置拼接处理器返回的表名
+     */
+    private String replaceTable(String sql) {
+        TableNameTokens tokens = tokenCacheSize > 0 ? getTokenCache().get(sql, TableNameTokens::new) : new TableNameTokens(sql);
+        StringBuilder builder = new StringBuilder(sql.length() + 16 * tokens.names.length);
         int last = 0;
-        for (TableNameParser.SqlToken name : names) {
-            int start = name.getStart();
+        for (int i = 0; i < tokens.names.length; i++) {
+            int start = tokens.starts[i];
             if (start != last) {
                 builder.append(sql, last, start);
-                builder.append(tableNameHandler.dynamicTableName(sql, name.getValue()));
+                builder.append(tableNameHandler.dynamicTableName(sql, tokens.names[i]));
             }
-            last = name.getEnd();
+            last = tokens.ends[i];
         }
         if (last != sql.length()) {
-            builder.append(sql.substring(last));
-        }
-        if (hook != null) {
-            hook.run();
+            builder.append(sql, last, sql.length());
         }
         return builder.toString();
     }
+
+    private Cache<String, TableNameTokens> getTokenCache() {
+        Cache<String, TableNameTokens> cache = tokenCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = tokenCache;
+                if (cache == null) {
+                    cache = Caffeine.newBuilder().maximumSize(tokenCacheSize).build();
+                    tokenCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    private Cache<ResultKey, String> getResultCache() {
+        Cache<ResultKey, String> cache = resultCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = resultCache;
+                if (cache == null) {
+                    cache = Caffeine.newBuilder().maximumSize(resultCacheSize).build();
+                    resultCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    @Override
+    public void setProperties(Properties properties) {
+        PropertyMapper.newInstance(properties)
+            .whenNotBlank("tokenCacheSize", Long::parseLong, this::setTokenCacheSize)
+            .whenNotBlank("resultCacheSize", Long::parseLong, this::setResultCacheSize);
+    }
+
+    /**
+     * sql 中的表名位置
+     */
+    private static final class TableNameTokens {
+        private final int[] starts;
+        private final int[] ends;
+        private final String[] names;
+
+        TableNameTokens(String sql) {
+            List<TableNameParser.SqlToken> tokens = new ArrayList<>();
+            new TableNameParser(sql).accept(tokens::add);
+            int size = tokens.size();
+            this.starts = new int[size];
+            this.ends = new int[size];
+            this.names = new String[size];
+            for (int i = 0; i < size; i++) {
+                TableNameParser.SqlToken token = tokens.get(i);
+                starts[i] = token.getStart();
+                ends[i] = token.getEnd();
+                names[i] = token.getValue();
+            }
+        }
+    }
+
+    /**
+     * 改写结果缓存 key
+     */
+    private static final class ResultKey {
+        private final String sql;
+        private final Object contextKey;
+
+        ResultKey(String sql, Object contextKey) {
+            this.sql = sql;
+            this.contextKey = contextKey;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ResultKey)) {
+                return false;
+            }
+            ResultKey that = (ResultKey) o;
+            return sql.equals(that.sql) && contextKey.equals(that.contextKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return sql.hashCode() * 31 + contextKey.hashCode();
+        }
+    }
 }
@@ -18,11 +18,19 @@ package com.baomidou.mybatisplus.extension.plugins.inner;
 import com.baomidou.mybatisplus.core.exceptions.MybatisPlusException;
 import com.baomidou.mybatisplus.core.plugins.InterceptorIgnoreHelper;
 import com.baomidou.mybatisplus.core.toolkit.Assert;
-import com.baomidou.mybatisplus.core.toolkit.EncryptUtils;
 import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import com.baomidou.mybatisplus.core.toolkit.StringPool;
 import com.baomidou.mybatisplus.core.toolkit.StringUtils;
 import com.baomidou.mybatisplus.extension.parser.JsqlParserSupport;
+import com.baomidou.mybatisplus.extension.toolkit.PropertyMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import net.sf.jsqlparser.expression.BinaryExpression;
 import net.sf.jsqlparser.expression.Expression;
 import net.sf.jsqlparser.expression.Function;
@@ -49,12 +57,13 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
+import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * 由于开发人员水平参差不齐，即使订了开发规范很多人也不遵守
@@ -83,16 +92,33 @@ import java.util.concurrent.ConcurrentHashMap;
  * @author willenfoo
  * @since 3.4.0
  */
+@Data
+@ToString(callSuper = true)
+@EqualsAndHashCode(callSuper = true)
 public class IllegalSQLInnerInterceptor extends JsqlParserSupport implements InnerInterceptor {
 
     /**
-     * 缓存验证结果，提高性能
+     * 验证结果缓存最大条数
+     *
+     * @since 3.5.6
+     */
+    private long cacheSize = 4096L;
+    /**
+     * 表索引信息(以及验证结果)的有效期(毫秒), 过期后由一个线程重新加载, 其他线程继续使用旧数据
+     *
+     * @since 3.5.6
+     */
+    private long indexInfoTtl = 10 * 60 * 1000L;
+    /**
+     * 缓存验证结果，提高性能, 首次使用时创建
      */
-    private static final Set<String> cacheValidResult = new HashSet<>();
+    @Setter(AccessLevel.NONE)
+    private volatile Cache<VerdictKey, Boolean> cacheValidResult;
     /**
      * 缓存表的索引信息
      */
-    private static final Map<String, List<IndexInfo>> indexInfoMap = new ConcurrentHashMap<>();
+    @Getter(AccessLevel.NONE)
+    private final Map<String, IndexInfoEntry> indexInfoMap = new ConcurrentHashMap<>();
 
     @Override
     public void beforePrepare(StatementHandler sh, Connection connection, Integer transactionTimeout) {
@@ -102,15 +128,43 @@ public class IllegalSQLInnerInterceptor extends JsqlParserSupport implements Inn
         if (sct == SqlCommandType.INSERT || InterceptorIgnoreHelper.willIgnoreIllegalSql(ms.getId())) return;
         BoundSql boundSql = mpStatementHandler.boundSql();
         String originalSql = boundSql.getSql();
-        logger.debug("检查SQL是否合规，SQL:" + originalSql);
-        String md5Base64 = EncryptUtils.md5Base64(originalSql);
-        if (cacheValidResult.contains(md5Base64)) {
-            logger.debug("该SQL已验证，无需再次验证，，SQL:" + originalSql);
+        VerdictKey verdictKey = new VerdictKey(ms.getId(), originalSql);
+        Cache<VerdictKey, Boolean> cache = getCacheValidResult();
+        if (cache.getIfPresent(verdictKey) != null) {
             return;
         }
+        logger.debug("检查SQL是否合规，SQL:" + originalSql);
         parserSingle(originalSql, connection);
         //缓存验证结果
-        cacheValidResult.add(md5Base64);
+        cache.put(verdictKey, Boolean.TRUE);
+    }
+
+    /**
+     * 验证结果缓存
+     *
+     * @return 缓存
+     * @since 3.5.6
+     */
+    protected Cache<VerdictKey, Boolean> getCacheValidResult() {
+        Cache<VerdictKey, Boolean> cache = cacheValidResult;
+        if (cache == null) {
+            synchronized (this) {
+                cache = cacheValidResult;
+                if (cache == null) {
+                    cache = Caffeine.newBuilder().maximumSize(cacheSize)
+                        .expireAfterWrite(indexInfoTtl, TimeUnit.MILLISECONDS).build();
+                    cacheValidResult = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    @Override
+    public void setProperties(Properties properties) {
+        PropertyMapper.newInstance(properties)
+            .whenNotBlank("cacheSize", Long::parseLong, this::setCacheSize)
+            .whenNotBlank("indexInfoTtl", Long::parseLong, this::setIndexInfoTtl);
     }
 
     @Override
@@ -293,6 +347,8 @@ public class IllegalSQLInnerInterceptor extends JsqlParserSupport implements Inn
 
     /**
      * 得到表的索引信息
+     * <p>
+     * 按连接的数据库地址与实际使用的 catalog, schema 缓存, 同一个拦截器服务多个数据源时互不影响
      *
      * @param dbName    ignore
      * @param tableName ignore
@@ -300,11 +356,23 @@ public class IllegalSQLInnerInterceptor extends JsqlParserSupport implements Inn
      * @return ignore
      */
     public List<IndexInfo> getIndexInfos(String dbName, String tableName, Connection conn) {
-        return getIndexInfos(null, dbName, tableName, conn);
+        String key;
+        try {
+            String catalog = StringUtils.isBlank(dbName) ? conn.getCatalog() : dbName;
+            String schema = StringUtils.isBlank(dbName) ? conn.getSchema() : dbName;
+            key = String.join(StringPool.PIPE, conn.getMetaData().getURL(), catalog, schema, tableName);
+        } catch (SQLException e) {
+            // 无法确定数据源时不缓存
+            logger.warn(String.format("can not resolve the index info cache key, dbName:%s, tableName:%s, exception:%s", dbName, tableName, e));
+            key = null;
+        }
+        return getIndexInfos(key, dbName, tableName, conn);
     }
 
     /**
      * 得到表的索引信息
+     * <p>
+     * key 不为空时按 {@link #indexInfoTtl} 缓存, 过期后只有一个线程使用自己的连接重新加载, 加载期间其他线程继续使用旧数据
      *
      * @param key       ignore
      * @param dbName    ignore
@@ -313,17 +381,36 @@ public class IllegalSQLInnerInterceptor extends JsqlParserSupport implements Inn
      * @return ignore
      */
     public List<IndexInfo> getIndexInfos(String key, String dbName, String tableName, Connection conn) {
-        List<IndexInfo> indexInfos = null;
-        if (StringUtils.isNotBlank(key)) {
-            indexInfos = indexInfoMap.get(key);
+        if (StringUtils.isBlank(key)) {
+            return loadIndexInfos(key, dbName, tableName, conn);
         }
-        if (indexInfos == null || indexInfos.isEmpty()) {
-            ResultSet rs;
-            try {
-                DatabaseMetaData metadata = conn.getMetaData();
-                String catalog = StringUtils.isBlank(dbName) ? conn.getCatalog() : dbName;
-                String schema = StringUtils.isBlank(dbName) ? conn.getSchema() : dbName;
-                rs = metadata.getIndexInfo(catalog, schema, tableName, false, true);
+        IndexInfoEntry entry = indexInfoMap.get(key);
+        if (entry == null) {
+            List<IndexInfo> indexInfos = loadIndexInfos(key, dbName, tableName, conn);
+            if (indexInfos != null && !indexInfos.isEmpty()) {
+                indexInfoMap.put(key, new IndexInfoEntry(indexInfos));
+            }
+            return indexInfos;
+        }
+        if (System.currentTimeMillis() - entry.loadTime > indexInfoTtl && entry.refreshing.compareAndSet(false, true)) {
+            List<IndexInfo> indexInfos = loadIndexInfos(key, dbName, tableName, conn);
+            if (indexInfos != null) {
+                indexInfoMap.put(key, new IndexInfoEntry(indexInfos));
+                return indexInfos;
+            }
+            // 加载失败继续使用旧数据, 下次再尝试
+            entry.refreshing.set(false);
+        }
+        return entry.indexInfos;
+    }
+
+    private List<IndexInfo> loadIndexInfos(String key, String dbName, String tableName, Connection conn) {
+        List<IndexInfo> indexInfos = null;
+        try {
+            DatabaseMetaData metadata = conn.getMetaData();
+            String catalog = StringUtils.isBlank(dbName) ? conn.getCatalog() : dbName;
+            String schema = StringUtils.isBlank(dbName) ? conn.getSchema() : dbName;
+            try (ResultSet rs = metadata.getIndexInfo(catalog, schema, tableName, false, true)) {
                 indexInfos = new ArrayList<>();
                 while (rs.next()) {
                     //索引中的列序列号等于1，才有效
@@ -335,16 +422,56 @@ public class IllegalSQLInnerInterceptor extends JsqlParserSupport implements Inn
                         indexInfos.add(indexInfo);
                     }
                 }
-                if (StringUtils.isNotBlank(key)) {
-                    indexInfoMap.put(key, indexInfos);
-                }
-            } catch (SQLException e) {
-                logger.error(String.format("getIndexInfo fault, with key:%s, dbName:%s, tableName:%s", key, dbName, tableName), e);
             }
+        } catch (SQLException e) {
+            logger.error(String.format("getIndexInfo fault, with key:%s, dbName:%s, tableName:%s", key, dbName, tableName), e);
         }
         return indexInfos;
     }
 
+    /**
+     * 验证结果缓存 key
+     */
+    protected static final class VerdictKey {
+        private final String id;
+        private final String sql;
+
+        VerdictKey(String id, String sql) {
+            this.id = id;
+            this.sql = sql;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof VerdictKey)) {
+                return false;
+            }
+            VerdictKey that = (VerdictKey) o;
+            return id.equals(that.id) && sql.equals(that.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            return id.hashCode() * 31 + sql.hashCode();
+        }
+    }
+
+    /**
+     * 表索引信息缓存
+     */
+    private static class IndexInfoEntry {
+        private final List<IndexInfo> indexInfos;
+        private final long loadTime = System.currentTimeMillis();
+        private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+        IndexInfoEntry(List<IndexInfo> indexInfos) {
+            this.indexInfos = indexInfos;
+        }
+    }
+
     /**
      * 索引对象
      */
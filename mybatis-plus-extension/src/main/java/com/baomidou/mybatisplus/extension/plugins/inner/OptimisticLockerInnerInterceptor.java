@@ -27,6 +27,7 @@ import com.baomidou.mybatisplus.core.mapper.Mapper;
 import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
 import com.baomidou.mybatisplus.core.metadata.TableInfo;
 import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
 import com.baomidou.mybatisplus.core.toolkit.Constants;
 import com.baomidou.mybatisplus.core.toolkit.ExceptionUtils;
 import com.baomidou.mybatisplus.core.toolkit.ReflectionKit;
@@ -46,8 +47,6 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Optimistic Lock Light version
@@ -78,13 +77,9 @@ public class OptimisticLockerInnerInterceptor implements InnerInterceptor {
     }
 
     /**
-     * entity类缓存
+     * wrapper 模式下 mapper 方法对应的版本字段缓存
      */
-    private static final Map<String, Class<?>> ENTITY_CLASS_CACHE = new ConcurrentHashMap<>();
-    /**
-     * 变量占位符正则
-     */
-    private static final Pattern PARAM_PAIRS_RE = Pattern.compile("#\\{ew\\.paramNameValuePairs\\.(" + Constants.WRAPPER_PARAM + "\\d+)\\}");
+    private static final Map<String, WrapperVersion> WRAPPER_VERSION_CACHE = new ConcurrentHashMap<>();
     /**
      * paramNameValuePairs存放的version值的key
      */
@@ -173,29 +168,15 @@ public class OptimisticLockerInnerInterceptor implements InnerInterceptor {
     private void setVersionByWrapper(Map<String, Object> map, String msId) {
         Object ew = map.get(Constants.WRAPPER);
         if (ew instanceof AbstractWrapper && ew instanceof Update) {
-            Class<?> entityClass = ENTITY_CLASS_CACHE.get(msId);
-            if (null == entityClass) {
-                try {
-                    final String className = msId.substring(0, msId.lastIndexOf('.'));
-                    entityClass = ReflectionKit.getSuperClassGenericType(Class.forName(className), Mapper.class, 0);
-                    ENTITY_CLASS_CACHE.put(msId, entityClass);
-                } catch (ClassNotFoundException e) {
-                    throw ExceptionUtils.mpe(e);
-                }
-            }
-
-            final TableFieldInfo versionField = getVersionFieldInfo(entityClass);
-            if (null == versionField) {
+            final WrapperVersion wrapperVersion = CollectionUtils.computeIfAbsent(WRAPPER_VERSION_CACHE, msId, this::resolveWrapperVersion);
+            if (WrapperVersion.NONE == wrapperVersion) {
                 return;
             }
-
-            final String versionColumn = versionField.getColumn();
-            final FieldEqFinder fieldEqFinder = new FieldEqFinder(versionColumn, (Wrapper<?>) ew);
+            final FieldEqFinder fieldEqFinder = new FieldEqFinder(wrapperVersion.column, (Wrapper<?>) ew);
             if (!fieldEqFinder.isPresent()) {
                 return;
             }
-            final Map<String, Object> paramNameValuePairs = ((AbstractWrapper<?, ?, ?>) ew).getParamNameValuePairs();
-            final Object originalVersionValue = paramNameValuePairs.get(fieldEqFinder.valueKey);
+            final Object originalVersionValue = fieldEqFinder.value;
             if (originalVersionValue == null) {
                 return;
             }
@@ -204,8 +185,50 @@ public class OptimisticLockerInnerInterceptor implements InnerInterceptor {
                 return;
             }
             // 拼接新的version值
-            paramNameValuePairs.put(UPDATED_VERSION_VAL_KEY, updatedVersionVal);
-            ((Update<?, ?>) ew).setSql(String.format("%s = #{%s.%s}", versionColumn, "ew.paramNameValuePairs", UPDATED_VERSION_VAL_KEY));
+            ((AbstractWrapper<?, ?, ?>) ew).getParamNameValuePairs().put(UPDATED_VERSION_VAL_KEY, updatedVersionVal);
+            ((Update<?, ?>) ew).setSql(wrapperVersion.setSql);
+        }
+    }
+
+    /**
+     * 解析 mapper 方法对应实体的版本字段, 每个 MappedStatement 只解析一次
+     */
+    private WrapperVersion resolveWrapperVersion(String msId) {
+        final Class<?> entityClass;
+        try {
+            final String className = msId.substring(0, msId.lastIndexOf('.'));
+            entityClass = ReflectionKit.getSuperClassGenericType(Class.forName(className), Mapper.class, 0);
+        } catch (ClassNotFoundException e) {
+            throw ExceptionUtils.mpe(e);
+        }
+        final TableFieldInfo versionField = getVersionFieldInfo(entityClass);
+        if (null == versionField) {
+            return WrapperVersion.NONE;
+        }
+        final String versionColumn = versionField.getColumn();
+        return new WrapperVersion(versionColumn,
+            String.format("%s = #{%s.%s}", versionColumn, "ew.paramNameValuePairs", UPDATED_VERSION_VAL_KEY));
+    }
+
+    /**
+     * wrapper 模式下 mapper 方法的版本字段信息
+     */
+    private static class WrapperVersion {
+
+        private static final WrapperVersion NONE = new WrapperVersion(null, null);
+
+        /**
+         * 版本字段名
+         */
+        private final String column;
+        /**
+         * 设置新版本值的 set 片段
+         */
+        private final String setSql;
+
+        WrapperVersion(String column, String setSql) {
+            this.column = column;
+            this.setSql = setSql;
         }
     }
 
@@ -226,9 +249,9 @@ public class OptimisticLockerInnerInterceptor implements InnerInterceptor {
         }
 
         /**
-         * 字段值的key
+         * 字段值
          */
-        private String valueKey;
+        private Object value;
         /**
          * 当前状态
          */
@@ -252,25 +275,30 @@ public class OptimisticLockerInnerInterceptor implements InnerInterceptor {
         }
 
         private boolean find(Wrapper<?> wrapper) {
-            Matcher matcher;
             final NormalSegmentList segments = wrapper.getExpression().getNormal();
             for (ISqlSegment segment : segments) {
                 // 如果字段已找到并且当前segment为EQ
                 if (state == State.FIELD_FOUND && segment == SqlKeyword.EQ) {
                     this.state = State.EQ_FOUND;
-                    // 如果EQ找到并且value已找到
-                } else if (state == State.EQ_FOUND
-                    && (matcher = PARAM_PAIRS_RE.matcher(segment.getSqlSegment())).matches()) {
-                    this.valueKey = matcher.group(1);
+                    continue;
+                }
+                // 如果EQ找到并且value已找到, 直接读取条件值, 不渲染占位符
+                if (state == State.EQ_FOUND && segment instanceof AbstractWrapper.ParamValueSegment) {
+                    this.value = ((AbstractWrapper<?, ?, ?>.ParamValueSegment) segment).getValue();
                     this.state = State.VERSION_VALUE_PRESENT;
                     return true;
+                }
+                // 字段, EQ, 值必须相邻, 例如 version >= ? and id = ? 不能匹配
+                this.state = State.INIT;
+                if (segment instanceof Wrapper) {
                     // 处理嵌套
-                } else if (segment instanceof Wrapper) {
                     if (find((Wrapper<?>) segment)) {
                         return true;
                     }
+                    this.state = State.INIT;
+                } else if (!(segment instanceof SqlKeyword) && !(segment instanceof AbstractWrapper.ParamValueSegment)
+                    && segment.getSqlSegment().equals(this.fieldName)) {
                     // 判断字段是否是要查找字段
-                } else if (segment.getSqlSegment().equals(this.fieldName)) {
                     this.state = State.FIELD_FOUND;
                 }
             }
@@ -16,39 +16,70 @@
 package com.baomidou.mybatisplus.extension.plugins.inner;
 
 import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.core.metadata.CountStrategy;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.core.metadata.OrderItem;
 import com.baomidou.mybatisplus.core.toolkit.*;
 import com.baomidou.mybatisplus.extension.parser.JsqlParserGlobal;
+import com.baomidou.mybatisplus.extension.parser.JsqlParserTimeoutException;
 import com.baomidou.mybatisplus.extension.plugins.pagination.DialectFactory;
 import com.baomidou.mybatisplus.extension.plugins.pagination.DialectModel;
+import com.baomidou.mybatisplus.extension.plugins.pagination.KeysetPage;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.plugins.pagination.dialects.IDialect;
 import com.baomidou.mybatisplus.extension.toolkit.JdbcUtils;
 import com.baomidou.mybatisplus.extension.toolkit.PropertyMapper;
 import com.baomidou.mybatisplus.extension.toolkit.SqlParserUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import net.sf.jsqlparser.JSQLParserException;
 import net.sf.jsqlparser.expression.Alias;
 import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.ExpressionVisitorAdapter;
+import net.sf.jsqlparser.expression.JdbcParameter;
+import net.sf.jsqlparser.expression.Parenthesis;
+import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
+import net.sf.jsqlparser.expression.operators.conditional.OrExpression;
+import net.sf.jsqlparser.expression.operators.relational.ExpressionList;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
 import net.sf.jsqlparser.schema.Column;
 import net.sf.jsqlparser.schema.Table;
 import net.sf.jsqlparser.statement.select.*;
 import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.SimpleExecutor;
+import org.apache.ibatis.executor.statement.StatementHandler;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
 import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.Environment;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.StatementType;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.transaction.Transaction;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -70,6 +101,14 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
         new SelectExpressionItem(new Column().withColumnName("COUNT(*)")).withAlias(new Alias("total"))
     );
     protected static final Map<String, MappedStatement> countMsCache = new ConcurrentHashMap<>();
+    /**
+     * 游标分页参数名前缀
+     */
+    protected static final String KEYSET_PARAM_NAME = "mybatis_plus_keyset_";
+    /**
+     * PostgreSQL 执行计划中的估算行数
+     */
+    protected static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\":\\s*(\\d+)");
     protected final Log logger = LogFactory.getLog(this.getClass());
 
 
@@ -100,6 +139,50 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
      * @since 3.4.2
      */
     protected boolean optimizeJoin = true;
+    /**
+     * count 查询策略, 分页对象未指定时使用
+     *
+     * @since 3.5.6
+     */
+    protected CountStrategy countStrategy = CountStrategy.EXACT;
+    /**
+     * {@link CountStrategy#CACHED} 总数缓存时间(毫秒)
+     *
+     * @since 3.5.6
+     */
+    protected long countCacheTtl = 60_000L;
+    /**
+     * {@link CountStrategy#CACHED} 总数缓存最大条数
+     *
+     * @since 3.5.6
+     */
+    protected long countCacheSize = 1024L;
+    /**
+     * {@link CountStrategy#ASYNC} 执行异步 count 的线程池, 未设置或开启了 {@link #overflow} 时退化为同步 count
+     *
+     * @since 3.5.6
+     */
+    protected ExecutorService asyncCountExecutor;
+    /**
+     * 按原始 sql 缓存自动优化的 countSql(包括是否降级为 {@link #lowLevelCountSql(String)} 的判断, 解析超时的降级结果除外), 小于等于 0 时不缓存
+     *
+     * @since 3.5.6
+     */
+    protected long countSqlCacheSize = 1024L;
+    /**
+     * countSql 缓存, 首次使用时创建, 修改 {@link #countSqlCacheSize} 后重新创建
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private volatile Cache<CountSqlKey, String> countSqlCache;
+    /**
+     * 总数缓存, 首次使用时创建, 修改 {@link #countCacheTtl} 或 {@link #countCacheSize} 后重新创建
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private volatile Cache<CacheKey, Long> countCache;
 
     public PaginationInnerInterceptor(DbType dbType) {
         this.dbType = dbType;
@@ -119,6 +202,16 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
             return true;
         }
 
+        CountStrategy strategy = page.countStrategy() != null ? page.countStrategy() : countStrategy;
+        if (strategy == CountStrategy.ESTIMATED) {
+            Long estimated = estimateCount(executor, ms, parameter, boundSql);
+            if (estimated != null) {
+                // 估算值可能为 0 或小于实际行数, 不能据此跳过数据查询或处理溢出
+                page.setTotal(estimated);
+                return true;
+            }
+        }
+
         BoundSql countSql;
         MappedStatement countMs = buildCountMappedStatement(ms, page.countId());
         if (countMs != null) {
@@ -131,8 +224,38 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
             PluginUtils.setAdditionalParameter(countSql, mpBoundSql.additionalParameters());
         }
 
+        // 开启溢出处理时需要先得到总数, 退化为同步 count
+        if (strategy == CountStrategy.ASYNC && asyncCountExecutor != null && page instanceof Page && !overflow) {
+            ((Page<?>) page).asyncTotal(asyncCount(countMs, parameter, countSql));
+            return true;
+        }
+
         CacheKey cacheKey = executor.createCacheKey(countMs, parameter, rowBounds, countSql);
+        if (strategy == CountStrategy.CACHED) {
+            Long cached = getCountCache().getIfPresent(cacheKey);
+            if (cached != null) {
+                // 缓存的总数可能已过时, 不能据此跳过数据查询或处理溢出
+                page.setTotal(cached);
+                return true;
+            }
+        }
         List<Object> result = executor.query(countMs, parameter, rowBounds, resultHandler, cacheKey, countSql);
+        long total = toTotal(result);
+        if (strategy == CountStrategy.CACHED) {
+            getCountCache().put(cacheKey, total);
+        }
+        page.setTotal(total);
+        return continuePage(page);
+    }
+
+    /**
+     * count 查询结果转为总数
+     *
+     * @param result count 查询结果
+     * @return 总数
+     * @since 3.5.6
+     */
+    protected long toTotal(List<Object> result) {
         long total = 0;
         if (CollectionUtils.isNotEmpty(result)) {
             // 个别数据库 count 没数据不会返回 0
@@ -141,8 +264,155 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
                 total = Long.parseLong(o.toString());
             }
         }
-        page.setTotal(total);
-        return continuePage(page);
+        return total;
+    }
+
+    public void setCountCacheTtl(long countCacheTtl) {
+        synchronized (this) {
+            this.countCacheTtl = countCacheTtl;
+            this.countCache = null;
+        }
+    }
+
+    public void setCountCacheSize(long countCacheSize) {
+        synchronized (this) {
+            this.countCacheSize = countCacheSize;
+            this.countCache = null;
+        }
+    }
+
+    public void setCountSqlCacheSize(long countSqlCacheSize) {
+        synchronized (this) {
+            this.countSqlCacheSize = countSqlCacheSize;
+            this.countSqlCache = null;
+        }
+    }
+
+    /**
+     * 总数缓存
+     *
+     * @return 缓存
+     * @since 3.5.6
+     */
+    protected Cache<CacheKey, Long> getCountCache() {
+        Cache<CacheKey, Long> cache = countCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = countCache;
+                if (cache == null) {
+                    cache = Caffeine.newBuilder().maximumSize(countCacheSize)
+                        .expireAfterWrite(countCacheTtl, TimeUnit.MILLISECONDS).build();
+                    countCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * countSql 缓存
+     *
+     * @return 缓存
+     * @since 3.5.6
+     */
+    protected Cache<CountSqlKey, String> getCountSqlCache() {
+        Cache<CountSqlKey, String> cache = countSqlCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = countSqlCache;
+                if (cache == null) {
+                    cache = Caffeine.newBuilder().maximumSize(countSqlCacheSize).build();
+                    countSqlCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * 使用独立连接异步执行 count 查询
+     * <p>
+     * 与同步 count 一样不再经过 Executor 层的拦截器, count sql 已是当前拦截器链改写后的结果
+     *
+     * @param countMs   count MappedStatement
+     * @param parameter 参数
+     * @param countSql  count sql
+     * @return 异步结果
+     * @since 3.5.6
+     */
+    protected Future<Long> asyncCount(MappedStatement countMs, Object parameter, BoundSql countSql) {
+        final Configuration configuration = countMs.getConfiguration();
+        final Environment environment = configuration.getEnvironment();
+        return CompletableFuture.supplyAsync(() -> {
+            Transaction transaction = environment.getTransactionFactory().newTransaction(environment.getDataSource(), null, false);
+            Executor countExecutor = new SimpleExecutor(configuration, transaction);
+            try {
+                CacheKey cacheKey = countExecutor.createCacheKey(countMs, parameter, RowBounds.DEFAULT, countSql);
+                return toTotal(countExecutor.query(countMs, parameter, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER, cacheKey, countSql));
+            } catch (SQLException e) {
+                throw ExceptionUtils.mpe("async count error", e);
+            } finally {
+                countExecutor.close(false);
+            }
+        }, asyncCountExecutor);
+    }
+
+    /**
+     * 使用执行计划估算总数
+     * <p>
+     * 目前支持 MySQL(MariaDB) 的 {@code EXPLAIN} rows 与 PostgreSQL 的 {@code EXPLAIN (FORMAT JSON)} Plan Rows
+     * <p>
+     * 通过 {@link StatementHandler} 执行, 与普通查询一样应用语句超时与 StatementHandler 插件
+     *
+     * @param executor  Executor
+     * @param ms        MappedStatement
+     * @param parameter 参数
+     * @param boundSql  查询 sql
+     * @return 估算总数, 不支持或失败时返回 null
+     * @since 3.5.6
+     */
+    protected Long estimateCount(Executor executor, MappedStatement ms, Object parameter, BoundSql boundSql) {
+        DbType type = dbType != null ? dbType : JdbcUtils.getDbType(executor);
+        boolean mysql = type == DbType.MYSQL || type == DbType.MARIADB;
+        if (!mysql && type != DbType.POSTGRE_SQL) {
+            return null;
+        }
+        if (ms.getStatementType() != StatementType.PREPARED) {
+            return null;
+        }
+        String explainSql = (mysql ? "EXPLAIN " : "EXPLAIN (FORMAT JSON) ") + boundSql.getSql();
+        Configuration configuration = ms.getConfiguration();
+        PluginUtils.MPBoundSql mpBoundSql = PluginUtils.mpBoundSql(boundSql);
+        BoundSql explainBoundSql = new BoundSql(configuration, explainSql, mpBoundSql.parameterMappings(), parameter);
+        PluginUtils.setAdditionalParameter(explainBoundSql, mpBoundSql.additionalParameters());
+        Statement statement = null;
+        try {
+            Transaction transaction = executor.getTransaction();
+            StatementHandler handler = configuration.newStatementHandler(executor, ms, parameter, RowBounds.DEFAULT, null, explainBoundSql);
+            statement = handler.prepare(transaction.getConnection(), transaction.getTimeout());
+            handler.parameterize(statement);
+            try (ResultSet resultSet = ((PreparedStatement) statement).executeQuery()) {
+                if (!resultSet.next()) {
+                    return null;
+                }
+                if (mysql) {
+                    return resultSet.getLong("rows");
+                }
+                Matcher matcher = PLAN_ROWS.matcher(resultSet.getString(1));
+                return matcher.find() ? Long.parseLong(matcher.group(1)) : null;
+            }
+        } catch (Exception e) {
+            logger.warn("failed to estimate count, sql:\"" + explainSql + "\", exception:\n" + e);
+        } finally {
+            if (statement != null) {
+                try {
+                    statement.close();
+                } catch (SQLException ignored) {
+                    // ignored
+                }
+            }
+        }
+        return null;
     }
 
     @Override
@@ -152,11 +422,19 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
             return;
         }
 
+        final Configuration configuration = ms.getConfiguration();
+        PluginUtils.MPBoundSql mpBoundSql = PluginUtils.mpBoundSql(boundSql);
+        List<ParameterMapping> mappings = mpBoundSql.parameterMappings();
+        Map<String, Object> additionalParameter = mpBoundSql.additionalParameters();
+
         // 处理 orderBy 拼接
         boolean addOrdered = false;
         String buildSql = boundSql.getSql();
         List<OrderItem> orders = page.orders();
-        if (CollectionUtils.isNotEmpty(orders)) {
+        if (page instanceof KeysetPage) {
+            addOrdered = true;
+            buildSql = this.buildKeysetSql((KeysetPage<?>) page, buildSql, mappings, configuration, additionalParameter);
+        } else if (CollectionUtils.isNotEmpty(orders)) {
             addOrdered = true;
             buildSql = this.concatOrderBy(buildSql, orders);
         }
@@ -165,7 +443,8 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
         Long _limit = page.maxLimit() != null ? page.maxLimit() : maxLimit;
         if (page.getSize() < 0 && null == _limit) {
             if (addOrdered) {
-                PluginUtils.mpBoundSql(boundSql).sql(buildSql);
+                mpBoundSql.sql(buildSql);
+                mpBoundSql.parameterMappings(mappings);
             }
             return;
         }
@@ -173,12 +452,7 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
         handlerLimit(page, _limit);
         IDialect dialect = findIDialect(executor);
 
-        final Configuration configuration = ms.getConfiguration();
         DialectModel model = dialect.buildPaginationSql(buildSql, page.offset(), page.getSize());
-        PluginUtils.MPBoundSql mpBoundSql = PluginUtils.mpBoundSql(boundSql);
-
-        List<ParameterMapping> mappings = mpBoundSql.parameterMappings();
-        Map<String, Object> additionalParameter = mpBoundSql.additionalParameters();
         model.consumers(mappings, configuration, additionalParameter);
         mpBoundSql.sql(model.getDialectSql());
         mpBoundSql.parameterMappings(mappings);
@@ -260,6 +534,49 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
         if (!page.optimizeCountSql()) {
             return lowLevelCountSql(sql);
         }
+        boolean removeJoin = optimizeJoin && page.optimizeJoinOfCountSql();
+        if (countSqlCacheSize <= 0) {
+            return autoCountSql(sql, removeJoin);
+        }
+        String countSql = getCountSqlCache().get(new CountSqlKey(sql, removeJoin), key -> {
+            try {
+                return optimizeCountSql(key.sql, key.removeJoin);
+            } catch (JsqlParserTimeoutException e) {
+                // 解析超时的降级结果不缓存, 下次重新尝试优化
+                logger.warn(e.getMessage() + ", use the low level count sql");
+                return null;
+            }
+        });
+        return countSql == null ? lowLevelCountSql(sql) : countSql;
+    }
+
+    /**
+     * 获取自动优化的 countSql(不使用缓存)
+     *
+     * @param sql        sql
+     * @param removeJoin 是否尝试移除 join
+     * @return countSql
+     * @since 3.5.6
+     */
+    protected String autoCountSql(String sql, boolean removeJoin) {
+        try {
+            return optimizeCountSql(sql, removeJoin);
+        } catch (JsqlParserTimeoutException e) {
+            logger.warn(e.getMessage() + ", use the low level count sql");
+            return lowLevelCountSql(sql);
+        }
+    }
+
+    /**
+     * 获取自动优化的 countSql, 解析超时时抛出异常由调用方决定如何降级
+     *
+     * @param sql        sql
+     * @param removeJoin 是否尝试移除 join
+     * @return countSql
+     * @throws JsqlParserTimeoutException 解析超时或解析线程池已满
+     * @since 3.5.6
+     */
+    protected String optimizeCountSql(String sql, boolean removeJoin) throws JsqlParserTimeoutException {
         try {
             Select select = (Select) JsqlParserGlobal.parse(sql);
             SelectBody selectBody = select.getSelectBody();
@@ -301,7 +618,7 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
             }
 
             // 包含 join 连表,进行判断是否移除 join 连表
-            if (optimizeJoin && page.optimizeJoinOfCountSql()) {
+            if (removeJoin) {
                 List<Join> joins = plainSelect.getJoins();
                 if (CollectionUtils.isNotEmpty(joins)) {
                     boolean canRemoveJoin = true;
@@ -354,6 +671,8 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
             // 优化 SQL
             plainSelect.setSelectItems(COUNT_SELECT_ITEM);
             return select.toString();
+        } catch (JsqlParserTimeoutException e) {
+            throw e;
         } catch (JSQLParserException e) {
             // 无法优化使用原 SQL
             logger.warn("optimize this sql to a count sql has exception, sql:\"" + sql + "\", exception:\n" + e.getCause());
@@ -409,6 +728,114 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
         return originalSql;
     }
 
+    /**
+     * 构建游标分页 sql
+     * <p>
+     * 游标条件通过 jsqlparser 追加到原 sql 的 where 中(与原条件 and 连接), 原排序替换为游标排序,
+     * 游标参数插入到 where 之后(group by, having)的参数之前
+     * <li> 只支持单个 select(不支持 union 等), 排序字段不能是查询列的别名, 需要是 where 中可以使用的表达式(例如 u.age) </li>
+     * <li> 游标值不能为 null, 排序字段需要非空 </li>
+     *
+     * @param page                游标分页对象
+     * @param originalSql         原始 sql
+     * @param mappings            参数映射, 会插入游标参数
+     * @param configuration       Configuration
+     * @param additionalParameter additionalParameters, 会追加游标参数值
+     * @return 游标分页 sql(不含分页部分)
+     * @since 3.5.6
+     */
+    protected String buildKeysetSql(KeysetPage<?> page, String originalSql, List<ParameterMapping> mappings,
+                                    Configuration configuration, Map<String, Object> additionalParameter) {
+        List<OrderItem> orders = page.orders().stream().filter(item -> StringUtils.isNotBlank(item.getColumn()))
+            .collect(Collectors.toList());
+        Assert.notEmpty(orders, "keyset pagination must specify orders");
+        PlainSelect plainSelect;
+        try {
+            SelectBody selectBody = ((Select) JsqlParserGlobal.parse(originalSql)).getSelectBody();
+            Assert.isTrue(selectBody instanceof PlainSelect, "keyset pagination only supports plain select: %s", originalSql);
+            plainSelect = (PlainSelect) selectBody;
+        } catch (JSQLParserException e) {
+            throw ExceptionUtils.mpe("keyset pagination can not parse sql: %s", e, originalSql);
+        }
+        for (OrderItem item : orders) {
+            Assert.isFalse(isSelectAlias(plainSelect, item.getColumn()),
+                "keyset pagination can not order by select alias: %s, please use the column expression", item.getColumn());
+        }
+        Assert.isTrue(new ParameterCounter().orderBy(plainSelect.getOrderByElements()).count == 0,
+            "keyset pagination does not support parameters in order by: %s", originalSql);
+        plainSelect.setOrderByElements(addOrderByElements(orders, null));
+        List<Object> cursor = page.getCursor();
+        if (CollectionUtils.isEmpty(cursor)) {
+            return plainSelect.toString();
+        }
+        Assert.isTrue(cursor.size() == orders.size(), "keyset cursor size must equal orders size");
+        Assert.isFalse(cursor.stream().anyMatch(Objects::isNull), "keyset cursor value must not be null");
+        List<String> columns = orders.stream().map(OrderItem::getColumn).collect(Collectors.toList());
+        boolean asc = orders.get(0).isAsc();
+        boolean sameDirection = orders.stream().allMatch(item -> item.isAsc() == asc);
+        StringBuilder condition = new StringBuilder();
+        List<Object> values = new ArrayList<>();
+        if (page.isRowValueComparison() && sameDirection && orders.size() > 1) {
+            // (c1, c2) > (?, ?)
+            condition.append(columns.stream().collect(Collectors.joining(StringPool.COMMA + StringPool.SPACE, StringPool.LEFT_BRACKET, StringPool.RIGHT_BRACKET)))
+                .append(asc ? " > " : " < ")
+                .append(columns.stream().map(c -> StringPool.QUESTION_MARK).collect(Collectors.joining(StringPool.COMMA + StringPool.SPACE, StringPool.LEFT_BRACKET, StringPool.RIGHT_BRACKET)));
+            values.addAll(cursor);
+        } else {
+            // (c1 > ?) OR (c1 = ? AND c2 > ?)
+            for (int i = 0; i < orders.size(); i++) {
+                if (i > 0) {
+                    condition.append(" OR ");
+                }
+                condition.append(StringPool.LEFT_BRACKET);
+                for (int j = 0; j < i; j++) {
+                    condition.append(columns.get(j)).append(" = ? AND ");
+                    values.add(cursor.get(j));
+                }
+                condition.append(columns.get(i)).append(orders.get(i).isAsc() ? " > ?" : " < ?").append(StringPool.RIGHT_BRACKET);
+                values.add(cursor.get(i));
+            }
+        }
+        Expression keyset;
+        try {
+            keyset = CCJSqlParserUtil.parseCondExpression(condition.toString());
+        } catch (JSQLParserException e) {
+            throw ExceptionUtils.mpe("keyset pagination can not parse condition: %s", e, condition);
+        }
+        Expression where = plainSelect.getWhere();
+        if (where == null) {
+            plainSelect.setWhere(keyset);
+        } else {
+            if (where instanceof OrExpression) {
+                where = new Parenthesis(where);
+            }
+            plainSelect.setWhere(new AndExpression(where, keyset instanceof OrExpression ? new Parenthesis(keyset) : keyset));
+        }
+        // where 之后的参数
+        int after = new ParameterCounter().groupBy(plainSelect.getGroupBy()).expression(plainSelect.getHaving()).count;
+        int index = mappings.size() - after;
+        for (int i = 0; i < values.size(); i++) {
+            String property = KEYSET_PARAM_NAME + i;
+            mappings.add(index + i, new ParameterMapping.Builder(configuration, property, values.get(i).getClass()).build());
+            additionalParameter.put(property, values.get(i));
+        }
+        return plainSelect.toString();
+    }
+
+    private boolean isSelectAlias(PlainSelect plainSelect, String column) {
+        for (SelectItem item : plainSelect.getSelectItems()) {
+            if (item instanceof SelectExpressionItem) {
+                SelectExpressionItem expressionItem = (SelectExpressionItem) item;
+                Alias alias = expressionItem.getAlias();
+                if (alias != null && alias.getName().equalsIgnoreCase(column)
+                    && !expressionItem.getExpression().toString().equalsIgnoreCase(column)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     protected List<OrderByElement> addOrderByElements(List<OrderItem> orderList, List<OrderByElement> orderByElements) {
         List<OrderByElement> additionalOrderBy = orderList.stream()
             .filter(item -> StringUtils.isNotBlank(item.getColumn()))
@@ -477,6 +904,103 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
             .whenNotBlank("dbType", DbType::getDbType, this::setDbType)
             .whenNotBlank("dialect", ClassUtils::newInstance, this::setDialect)
             .whenNotBlank("maxLimit", Long::parseLong, this::setMaxLimit)
-            .whenNotBlank("optimizeJoin", Boolean::parseBoolean, this::setOptimizeJoin);
+            .whenNotBlank("optimizeJoin", Boolean::parseBoolean, this::setOptimizeJoin)
+            .whenNotBlank("countCacheTtl", Long::parseLong, this::setCountCacheTtl)
+            .whenNotBlank("countCacheSize", Long::parseLong, this::setCountCacheSize)
+            .whenNotBlank("countSqlCacheSize", Long::parseLong, this::setCountSqlCacheSize);
+    }
+
+    /**
+     * countSql 缓存 key
+     */
+    protected static final class CountSqlKey {
+        private final String sql;
+        private final boolean removeJoin;
+
+        CountSqlKey(String sql, boolean removeJoin) {
+            this.sql = sql;
+            this.removeJoin = removeJoin;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CountSqlKey)) {
+                return false;
+            }
+            CountSqlKey that = (CountSqlKey) o;
+            return removeJoin == that.removeJoin && sql.equals(that.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            return sql.hashCode() * 31 + (removeJoin ? 1 : 0);
+        }
+    }
+
+    /**
+     * 统计 jdbc 参数(?)个数, 字符串常量中的 ? 不计入, 包含子查询中的参数
+     */
+    private static final class ParameterCounter extends ExpressionVisitorAdapter {
+
+        private int count;
+
+        ParameterCounter() {
+            setSelectVisitor(new SelectVisitorAdapter() {
+                @Override
+                public void visit(PlainSelect plainSelect) {
+                    plainSelect.getSelectItems().forEach(item -> item.accept(ParameterCounter.this));
+                    if (plainSelect.getJoins() != null) {
+                        plainSelect.getJoins().forEach(join -> expression(join.getOnExpression()));
+                    }
+                    expression(plainSelect.getWhere());
+                    groupBy(plainSelect.getGroupBy());
+                    expression(plainSelect.getHaving());
+                    orderBy(plainSelect.getOrderByElements());
+                }
+
+                @Override
+                public void visit(SetOperationList setOperationList) {
+                    setOperationList.getSelects().forEach(select -> select.accept(this));
+                }
+            });
+        }
+
+        @Override
+        public void visit(JdbcParameter parameter) {
+            count++;
+        }
+
+        ParameterCounter expression(Expression expression) {
+            if (expression != null) {
+                expression.accept(this);
+            }
+            return this;
+        }
+
+        ParameterCounter groupBy(GroupByElement groupBy) {
+            if (groupBy != null) {
+                if (groupBy.getGroupByExpressionList() != null) {
+                    groupBy.getGroupByExpressionList().accept(this);
+                }
+                for (Object groupingSet : groupBy.getGroupingSets()) {
+                    if (groupingSet instanceof Expression) {
+                        ((Expression) groupingSet).accept(this);
+                    } else if (groupingSet instanceof ExpressionList) {
+                        ((ExpressionList) groupingSet).accept(this);
+                    }
+                }
+            }
+            return this;
+        }
+
+        ParameterCounter orderBy(List<OrderByElement> orderBy) {
+            if (orderBy != null) {
+                orderBy.forEach(element -> expression(element.getExpression()));
+            }
+            return this;
+        }
     }
 }
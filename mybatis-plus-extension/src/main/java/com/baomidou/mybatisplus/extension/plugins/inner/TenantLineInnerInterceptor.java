@@ -69,7 +69,10 @@ public class TenantLineInnerInterceptor extends BaseMultiTableInnerInterceptor i
             return;
         }
         PluginUtils.MPBoundSql mpBs = PluginUtils.mpBoundSql(boundSql);
-        mpBs.sql(parserSingle(mpBs.sql(), null));
+        if (canSkipParser(mpBs.sql())) {
+            return;
+        }
+        mpBs.sql(parserWithCache(ms.getId(), mpBs.sql(), tenantLineHandler.getCacheFingerprint(), sql -> parserSingle(sql, null)));
     }
 
     @Override
@@ -82,10 +85,18 @@ public class TenantLineInnerInterceptor extends BaseMultiTableInnerInterceptor i
                 return;
             }
             PluginUtils.MPBoundSql mpBs = mpSh.mPBoundSql();
-            mpBs.sql(parserMulti(mpBs.sql(), null));
+            if (canSkipParser(mpBs.sql())) {
+                return;
+            }
+            mpBs.sql(parserWithCache(ms.getId(), mpBs.sql(), tenantLineHandler.getCacheFingerprint(), sql -> parserMulti(sql, null)));
         }
     }
 
+    @Override
+    protected boolean ignoreTable(String tableName) {
+        return tenantLineHandler.ignoreTable(tableName);
+    }
+
     @Override
     protected void processSelect(Select select, int index, String sql, Object obj) {
         final String whereSegment = (String) obj;
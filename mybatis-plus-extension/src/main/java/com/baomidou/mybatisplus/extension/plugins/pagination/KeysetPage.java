@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2011-2023, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.extension.plugins.pagination;
+
+import com.baomidou.mybatisplus.core.metadata.OrderItem;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.core.toolkit.Assert;
+import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
+import com.baomidou.mybatisplus.core.toolkit.StringPool;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 游标(keyset / seek)分页模型
+ * <p>
+ * 不使用 offset, 而是携带上一页最后一条记录的排序字段值, 由分页插件改写为
+ * {@code WHERE (c1, c2) > (?, ?) ORDER BY c1, c2} 形式, 深分页性能不随页数下降
+ * <p>
+ * 必须设置排序字段且排序字段组合唯一(一般以主键收尾), 排序字段需要出现在查询列中
+ * <p>
+ * 游标条件追加在原 sql 的 where 中, 排序字段需要是 where 中可以使用的列(例如 u.age, 不能是查询列的别名), 且值不能为 null
+ *
+ * @author agent
+ * @since 3.5.6
+ */
+public class KeysetPage<T> extends Page<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 上一页最后一条记录的排序字段值, 顺序与 {@link #orders()} 一致, 为空表示第一页
+     */
+    @Getter
+    @Setter
+    protected List<Object> cursor;
+    /**
+     * 排序方向一致时是否使用行值比较 {@code (c1, c2) > (?, ?)}, 否则展开为 {@code c1 > ? OR (c1 = ? AND c2 > ?)}
+     * <p>
+     * 需要数据库支持行值比较(MySQL, PostgreSQL 等), 默认 false
+     */
+    @Getter
+    @Setter
+    protected boolean rowValueComparison = false;
+    /**
+     * 从记录中提取排序字段值, 不设置时按实体的 TableInfo 或 Map 的 key 提取
+     */
+    @Setter
+    protected transient Function<T, List<Object>> cursorExtractor;
+
+    public KeysetPage() {
+        this.searchCount = false;
+    }
+
+    public KeysetPage(long size) {
+        super(1, size, false);
+    }
+
+    public KeysetPage(long size, List<Object> cursor) {
+        this(size);
+        this.cursor = cursor;
+    }
+
+    @Override
+    public long offset() {
+        return 0L;
+    }
+
+    /**
+     * 记录数等于每页条数时认为存在下一页
+     */
+    @Override
+    public boolean hasNext() {
+        return this.records.size() >= this.size && this.size > 0;
+    }
+
+    /**
+     * 下一页的游标, 即本页最后一条记录的排序字段值
+     *
+     * @return 游标, 没有下一页时返回 null
+     */
+    public List<Object> nextCursor() {
+        if (!hasNext()) {
+            return null;
+        }
+        T last = this.records.get(this.records.size() - 1);
+        if (cursorExtractor != null) {
+            return cursorExtractor.apply(last);
+        }
+        List<OrderItem> orderItems = this.orders();
+        Assert.notEmpty(orderItems, "keyset pagination must specify orders");
+        List<Object> values = new ArrayList<>(orderItems.size());
+        if (last instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) last;
+            for (OrderItem item : orderItems) {
+                values.add(getMapValue(map, keysetColumn(item.getColumn())));
+            }
+            return values;
+        }
+        TableInfo tableInfo = TableInfoHelper.getTableInfo(last.getClass());
+        Assert.notNull(tableInfo, "can not find TableInfo of %s, please set cursorExtractor", last.getClass().getName());
+        for (OrderItem item : orderItems) {
+            values.add(tableInfo.getPropertyValue(last, columnToProperty(tableInfo, keysetColumn(item.getColumn()))));
+        }
+        return values;
+    }
+
+    /**
+     * 下一页分页对象
+     *
+     * @return 下一页, 没有下一页时返回 null
+     */
+    public KeysetPage<T> nextPage() {
+        List<Object> next = nextCursor();
+        if (next == null) {
+            return null;
+        }
+        KeysetPage<T> page = new KeysetPage<>(this.size, next);
+        page.addOrder(this.orders);
+        page.setRowValueComparison(this.rowValueComparison);
+        page.setCursorExtractor(this.cursorExtractor);
+        page.setMaxLimit(this.maxLimit);
+        return page;
+    }
+
+    /**
+     * 去掉表别名, 用于从查询结果中读取游标值: 结果集中的列标签(Map 的 key, 实体的字段映射)不带表别名,
+     * 例如按 u.age 排序时从结果中读取 age 的值, 拼接到 where 中的游标条件仍使用原排序表达式
+     *
+     * @param column 排序字段
+     * @return 列名
+     */
+    public static String keysetColumn(String column) {
+        int index = column.lastIndexOf(StringPool.DOT);
+        return index < 0 ? column : column.substring(index + 1);
+    }
+
+    private static Object getMapValue(Map<?, ?> map, String column) {
+        if (map.containsKey(column)) {
+            return map.get(column);
+        }
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (column.equalsIgnoreCase(String.valueOf(entry.getKey()))) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static String columnToProperty(TableInfo tableInfo, String column) {
+        if (tableInfo.havePK() && column.equalsIgnoreCase(tableInfo.getKeyColumn())) {
+            return tableInfo.getKeyProperty();
+        }
+        if (CollectionUtils.isNotEmpty(tableInfo.getFieldList())) {
+            for (TableFieldInfo fieldInfo : tableInfo.getFieldList()) {
+                if (column.equalsIgnoreCase(fieldInfo.getColumn())) {
+                    return fieldInfo.getProperty();
+                }
+            }
+        }
+        return column;
+    }
+}
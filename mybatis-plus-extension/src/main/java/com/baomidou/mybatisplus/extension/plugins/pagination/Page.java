@@ -15,14 +15,18 @@
  */
 package com.baomidou.mybatisplus.extension.plugins.pagination;
 
+import com.baomidou.mybatisplus.core.metadata.CountStrategy;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.core.metadata.OrderItem;
+import com.baomidou.mybatisplus.core.toolkit.ExceptionUtils;
 import lombok.Setter;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.function.Predicate;
 
 /**
@@ -83,6 +87,19 @@ public class Page<T> implements IPage<T> {
      */
     @Setter
     protected String countId;
+    /**
+     * count 查询策略
+     *
+     * @since 3.5.6
+     */
+    @Setter
+    protected CountStrategy countStrategy;
+    /**
+     * 异步 count 查询结果
+     *
+     * @since 3.5.6
+     */
+    protected transient Future<Long> totalFuture;
 
     public Page() {
     }
@@ -145,12 +162,36 @@ public class Page<T> implements IPage<T> {
 
     @Override
     public long getTotal() {
+        if (this.totalFuture != null) {
+            try {
+                this.total = this.totalFuture.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw ExceptionUtils.mpe("wait async count interrupted", e);
+            } catch (ExecutionException e) {
+                throw ExceptionUtils.mpe("async count error", e.getCause());
+            }
+            this.totalFuture = null;
+        }
         return this.total;
     }
 
     @Override
     public Page<T> setTotal(long total) {
         this.total = total;
+        this.totalFuture = null;
+        return this;
+    }
+
+    /**
+     * 设置异步 count 查询结果, 首次读取总数时等待结果
+     *
+     * @param totalFuture 异步 count 查询结果
+     * @return 返回分页参数本身
+     * @since 3.5.6
+     */
+    public Page<T> asyncTotal(Future<Long> totalFuture) {
+        this.totalFuture = totalFuture;
         return this;
     }
 
@@ -186,6 +227,11 @@ public class Page<T> implements IPage<T> {
         return this.maxLimit;
     }
 
+    @Override
+    public CountStrategy countStrategy() {
+        return this.countStrategy;
+    }
+
     /**
      * 查找 order 中正序排序的字段数组
      *
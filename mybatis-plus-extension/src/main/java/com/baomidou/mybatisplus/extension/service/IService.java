@@ -31,12 +31,14 @@ import com.baomidou.mybatisplus.extension.kotlin.KtQueryChainWrapper;
 import com.baomidou.mybatisplus.extension.kotlin.KtUpdateChainWrapper;
 import com.baomidou.mybatisplus.extension.toolkit.ChainWrappers;
 import com.baomidou.mybatisplus.extension.toolkit.SqlHelper;
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.Serializable;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * 顶级 Service
@@ -418,6 +420,41 @@ public interface IService<T> {
         return getBaseMapper().selectList(page, queryWrapper);
     }
 
+    /**
+     * 流式查询, 逐行读取不会一次加载全部数据, 必须关闭(建议 try-with-resources)以释放连接
+     * <p>
+     * 在 Spring 事务外调用时会单独获取连接, 直到 Stream 关闭才释放
+     *
+     * @param queryWrapper 实体对象封装操作类 {@link com.baomidou.mybatisplus.core.conditions.query.QueryWrapper}
+     * @return Stream
+     * @since 3.5.6
+     */
+    default Stream<T> stream(Wrapper<T> queryWrapper) {
+        return SqlHelper.stream(getEntityClass(), queryWrapper);
+    }
+
+    /**
+     * 流式查询所有, 必须关闭以释放连接
+     *
+     * @see #stream(Wrapper)
+     * @since 3.5.6
+     */
+    default Stream<T> stream() {
+        return stream(Wrappers.emptyWrapper());
+    }
+
+    /**
+     * 游标查询, 必须关闭以释放连接
+     *
+     * @param queryWrapper 实体对象封装操作类 {@link com.baomidou.mybatisplus.core.conditions.query.QueryWrapper}
+     * @return 游标
+     * @see #stream(Wrapper)
+     * @since 3.5.6
+     */
+    default Cursor<T> cursor(Wrapper<T> queryWrapper) {
+        return SqlHelper.cursor(getEntityClass(), queryWrapper);
+    }
+
     /**
      * 查询所有
      *
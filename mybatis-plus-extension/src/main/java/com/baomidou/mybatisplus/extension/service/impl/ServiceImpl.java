@@ -15,6 +15,7 @@
  */
 package com.baomidou.mybatisplus.extension.service.impl;
 
+import com.baomidou.mybatisplus.core.MybatisParameterHandler;
 import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.enums.SqlMethod;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
@@ -42,10 +43,15 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.io.Serializable;
 import java.lang.reflect.Proxy;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -174,10 +180,48 @@ public class ServiceImpl<M extends BaseMapper<T>, T> implements IService<T> {
     @Transactional(rollbackFor = Exception.class)
     @Override
     public boolean saveBatch(Collection<T> entityList, int batchSize) {
+        String insertBatchMethod = getInsertBatchMethod();
+        if (StringUtils.isNotBlank(insertBatchMethod)) {
+            TableInfo tableInfo = TableInfoHelper.getTableInfo(entityClass);
+            int columnCount = tableInfo.getFieldList().size() + (tableInfo.havePK() ? 1 : 0);
+            return SqlHelper.executeInsertBatch(getSqlSessionFactory(), log, tableInfo.getSqlStatement(insertBatchMethod),
+                entityList, batchSize, columnCount);
+        }
         String sqlStatement = getSqlStatement(SqlMethod.INSERT_ONE);
+        // 逐条插入前一次性预留整批主键
+        MybatisParameterHandler.assignIds(getSqlSessionFactory().getConfiguration(), entityList);
         return executeBatch(entityList, batchSize, (sqlSession, entity) -> sqlSession.insert(sqlStatement, entity));
     }
 
+    /**
+     * saveBatch 使用的多行插入方法名
+     * <p>
+     * 返回非空时 saveBatch 改为多行 VALUES 插入(按数据库绑定参数上限自动分段),
+     * 需要在 sql 注入器中注入 {@link com.baomidou.mybatisplus.extension.injector.methods.InsertBatchSomeColumn} 并在 mapper 中声明该方法
+     *
+     * @return 方法名, 默认 null 表示逐条插入
+     * @since 3.5.6
+     */
+    protected String getInsertBatchMethod() {
+        return null;
+    }
+
+    /**
+     * saveOrUpdateBatch 使用的 upsert 方法名
+     * <p>
+     * 返回非空时 saveOrUpdateBatch 不再逐条查询主键是否存在, 主键为空的数据执行 insert, 其余数据执行该 upsert 方法,
+     * 需要在 sql 注入器中注入 {@link com.baomidou.mybatisplus.extension.injector.methods.InsertOrUpdate} 并在 mapper 中声明该方法
+     * <p>
+     * 注意与 updateById 的区别: upsert 全字段写入, 不判断字段策略(NOT_NULL 等, 值为 null 的字段也会被更新),
+     * 只执行 insert 填充, 乐观锁版本号按实体值写入且不会自增
+     *
+     * @return 方法名, 默认 null 表示先查询再插入或更新
+     * @since 3.5.6
+     */
+    protected String getInsertOrUpdateMethod() {
+        return null;
+    }
+
     /**
      * 获取mapperStatementId
      *
@@ -215,17 +259,39 @@ public class ServiceImpl<M extends BaseMapper<T>, T> implements IService<T> {
         Assert.notNull(tableInfo, "error: can not execute. because can not find cache of TableInfo for entity!");
         String keyProperty = tableInfo.getKeyProperty();
         Assert.notEmpty(keyProperty, "error: can not execute. because can not find column for id from entity!");
-        return SqlHelper.saveOrUpdateBatch(getSqlSessionFactory(), this.mapperClass, this.log, entityList, batchSize, (sqlSession, entity) -> {
-            Object idVal = tableInfo.getPropertyValue(entity, keyProperty);
-            return StringUtils.checkValNull(idVal)
-                || CollectionUtils.isEmpty(sqlSession.selectList(getSqlStatement(SqlMethod.SELECT_BY_ID), entity));
-        }, (sqlSession, entity) -> {
+        String insertOrUpdateMethod = getInsertOrUpdateMethod();
+        if (StringUtils.isNotBlank(insertOrUpdateMethod)) {
+            return insertOrUpdateBatch(tableInfo, entityList, batchSize, tableInfo.getSqlStatement(insertOrUpdateMethod));
+        }
+        String updateStatement = getSqlStatement(SqlMethod.UPDATE_BY_ID);
+        return SqlHelper.saveOrUpdateBatch(getSqlSessionFactory(), tableInfo, this.log, entityList, batchSize, (sqlSession, entity) -> {
             MapperMethod.ParamMap<T> param = new MapperMethod.ParamMap<>();
             param.put(Constants.ENTITY, entity);
-            sqlSession.update(getSqlStatement(SqlMethod.UPDATE_BY_ID), param);
+            sqlSession.update(updateStatement, param);
         });
     }
 
+    /**
+     * 主键为空的数据执行 insert, 其余执行 upsert, 两类数据分开连续执行以保证 BATCH 执行器整批发送
+     */
+    private boolean insertOrUpdateBatch(TableInfo tableInfo, Collection<T> entityList, int batchSize, String sqlStatement) {
+        List<T> list = new ArrayList<>(entityList.size());
+        List<T> upsertList = new ArrayList<>();
+        Set<T> insertSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (T entity : entityList) {
+            if (StringUtils.checkValNull(tableInfo.getPropertyValue(entity, tableInfo.getKeyProperty()))) {
+                list.add(entity);
+                insertSet.add(entity);
+            } else {
+                upsertList.add(entity);
+            }
+        }
+        MybatisParameterHandler.assignIds(getSqlSessionFactory().getConfiguration(), list);
+        list.addAll(upsertList);
+        return SqlHelper.saveOrUpdateBatch(getSqlSessionFactory(), this.mapperClass, this.log, list, batchSize,
+            (sqlSession, entity) -> insertSet.contains(entity), (sqlSession, entity) -> sqlSession.insert(sqlStatement, entity));
+    }
+
     @Transactional(rollbackFor = Exception.class)
     @Override
     public boolean updateBatchById(Collection<T> entityList, int batchSize) {
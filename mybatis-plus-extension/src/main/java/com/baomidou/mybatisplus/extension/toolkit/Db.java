@@ -36,6 +36,7 @@ import org.apache.ibatis.logging.LogFactory;
 import java.io.Serializable;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * 以静态方式调用Service中的函数
@@ -113,14 +114,11 @@ public class Db {
         Class<?> mapperClass = ClassUtils.toClassConfident(tableInfo.getCurrentNamespace());
         String keyProperty = tableInfo.getKeyProperty();
         Assert.notEmpty(keyProperty, "error: can not execute. because can not find column for primary key from entity!");
-        return SqlHelper.saveOrUpdateBatch(entityClass, mapperClass, log, entityList, batchSize, (sqlSession, entity) -> {
-            Object idVal = tableInfo.getPropertyValue(entity, keyProperty);
-            return StringUtils.checkValNull(idVal)
-                || CollectionUtils.isEmpty(sqlSession.selectList(SqlHelper.getSqlStatement(mapperClass, SqlMethod.SELECT_BY_ID), entity));
-        }, (sqlSession, entity) -> {
+        String updateStatement = SqlHelper.getSqlStatement(mapperClass, SqlMethod.UPDATE_BY_ID);
+        return SqlHelper.saveOrUpdateBatch(GlobalConfigUtils.currentSessionFactory(entityClass), tableInfo, log, entityList, batchSize, (sqlSession, entity) -> {
             MapperMethod.ParamMap<T> param = new MapperMethod.ParamMap<>();
             param.put(Constants.ENTITY, entity);
-            sqlSession.update(SqlHelper.getSqlStatement(mapperClass, SqlMethod.UPDATE_BY_ID), param);
+            sqlSession.update(updateStatement, param);
         });
     }
 
@@ -379,6 +377,18 @@ public class Db {
         return SqlHelper.execute(getEntityClass(queryWrapper), baseMapper -> baseMapper.selectList(queryWrapper));
     }
 
+    /**
+     * 流式查询, 必须关闭(建议 try-with-resources)以释放连接
+     *
+     * @param queryWrapper 实体对象封装操作类 {@link com.baomidou.mybatisplus.core.conditions.query.QueryWrapper}
+     * @param <T>          entity
+     * @return Stream
+     * @since 3.5.6
+     */
+    public static <T> Stream<T> stream(AbstractWrapper<T, ?, ?> queryWrapper) {
+        return SqlHelper.stream(getEntityClass(queryWrapper), queryWrapper);
+    }
+
     /**
      * @param page         分页条件
      * @param queryWrapper 实体对象封装操作类 {@link com.baomidou.mybatisplus.core.conditions.query.QueryWrapper}
@@ -15,31 +15,53 @@
  */
 package com.baomidou.mybatisplus.extension.toolkit;
 
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.enums.SqlMethod;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.TableInfo;
 import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
 import com.baomidou.mybatisplus.core.toolkit.*;
 import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import lombok.SneakyThrows;
+import org.apache.ibatis.binding.MapperMethod;
+import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ResultSetType;
 import org.apache.ibatis.reflection.ExceptionUtil;
+import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.transaction.managed.ManagedTransaction;
 import org.mybatis.spring.MyBatisExceptionTranslator;
 import org.mybatis.spring.SqlSessionHolder;
 import org.mybatis.spring.SqlSessionUtils;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.BiPredicate;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * SQL 辅助类
@@ -54,6 +76,16 @@ public final class SqlHelper {
      */
     public static SqlSessionFactory FACTORY;
 
+    /**
+     * 流式查询时未配置 fetchSize 使用的默认值
+     */
+    private static final int DEFAULT_STREAM_FETCH_SIZE = 1000;
+
+    /**
+     * 按主键保存或更新时单条 IN 查询的主键个数上限
+     */
+    private static final int IN_LIMIT = 1000;
+
     /**
      * 批量操作 SqlSession
      *
@@ -245,6 +277,85 @@ public final class SqlHelper {
         });
     }
 
+    /**
+     * 多行 VALUES 批量插入, 按数据库绑定参数上限自动分段, 每段执行一条 insert 语句
+     *
+     * @param sqlSessionFactory sqlSessionFactory
+     * @param log               日志对象
+     * @param sqlStatement      多行插入的 statement(参数为 list), 例如 {@link com.baomidou.mybatisplus.extension.injector.methods.InsertBatchSomeColumn}
+     * @param list              数据集合
+     * @param batchSize         每条语句最大行数
+     * @param columnCount       每行绑定参数个数(上限即可)
+     * @param <E>               T
+     * @return 操作结果
+     * @since 3.5.6
+     */
+    public static <E> boolean executeInsertBatch(SqlSessionFactory sqlSessionFactory, Log log, String sqlStatement, Collection<E> list, int batchSize, int columnCount) {
+        Assert.isFalse(batchSize < 1, "batchSize must not be less than one");
+        return !CollectionUtils.isEmpty(list) && executeBatch(sqlSessionFactory, log, sqlSession -> {
+            DbType dbType;
+            try {
+                dbType = JdbcUtils.getDbType(sqlSession.getConnection().getMetaData().getURL());
+            } catch (SQLException e) {
+                throw ExceptionUtils.mpe(e);
+            }
+            int rows = insertBatchRows(dbType, batchSize, columnCount);
+            List<E> chunk = new ArrayList<>(Math.min(rows, list.size()));
+            for (E element : list) {
+                chunk.add(element);
+                if (chunk.size() == rows) {
+                    sqlSession.insert(sqlStatement, chunk);
+                    chunk = new ArrayList<>(rows);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                sqlSession.insert(sqlStatement, chunk);
+            }
+        });
+    }
+
+    /**
+     * 计算多行插入每条语句的最大行数
+     *
+     * @param dbType      数据库类型
+     * @param batchSize   期望行数
+     * @param columnCount 每行绑定参数个数
+     * @return 行数
+     * @since 3.5.6
+     */
+    public static int insertBatchRows(DbType dbType, int batchSize, int columnCount) {
+        int rows = Math.min(batchSize, maxBindParameters(dbType) / Math.max(columnCount, 1));
+        if (dbType == DbType.SQL_SERVER || dbType == DbType.SQL_SERVER2005) {
+            // 表值构造函数最多 1000 行
+            rows = Math.min(rows, 1000);
+        }
+        return Math.max(rows, 1);
+    }
+
+    /**
+     * 单条语句可绑定的参数上限
+     *
+     * @param dbType 数据库类型
+     * @return 参数上限
+     * @since 3.5.6
+     */
+    public static int maxBindParameters(DbType dbType) {
+        switch (dbType) {
+            case MYSQL:
+            case MARIADB:
+            case ORACLE:
+            case ORACLE_12C:
+                return 65535;
+            case SQL_SERVER:
+            case SQL_SERVER2005:
+                return 2000;
+            case SQLITE:
+                return 999;
+            default:
+                return 32767;
+        }
+    }
+
     /**
      * 批量更新或保存
      *
@@ -288,6 +399,77 @@ public final class SqlHelper {
         });
     }
 
+    /**
+     * 批量更新或保存
+     * <p>
+     * 每批数据先通过 selectBatchIds(每次最多 1000 个主键) 查询出已存在的记录, 再按主键是否存在分成插入与更新两组连续执行,
+     * 避免逐条查询使 BATCH 执行器每条数据都 flushStatements
+     *
+     * @param sqlSessionFactory SqlSessionFactory
+     * @param tableInfo         表信息(必须存在主键)
+     * @param log               日志对象
+     * @param list              数据集合
+     * @param batchSize         批次大小
+     * @param consumer          consumer（更新处理） notNull
+     * @param <E>               E
+     * @return 操作结果
+     * @since 3.5.6
+     */
+    public static <E> boolean saveOrUpdateBatch(SqlSessionFactory sqlSessionFactory, TableInfo tableInfo, Log log, Collection<E> list, int batchSize, BiConsumer<SqlSession, E> consumer) {
+        Assert.isFalse(batchSize < 1, "batchSize must not be less than one");
+        String insertStatement = tableInfo.getSqlStatement(SqlMethod.INSERT_ONE.getMethod());
+        String selectStatement = tableInfo.getSqlStatement(SqlMethod.SELECT_BATCH_BY_IDS.getMethod());
+        return !CollectionUtils.isEmpty(list) && executeBatch(sqlSessionFactory, log, sqlSession -> {
+            List<E> chunk = new ArrayList<>(Math.min(batchSize, list.size()));
+            for (E element : list) {
+                chunk.add(element);
+                if (chunk.size() == batchSize) {
+                    saveOrUpdateChunk(sqlSession, tableInfo, insertStatement, selectStatement, chunk, consumer);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                saveOrUpdateChunk(sqlSession, tableInfo, insertStatement, selectStatement, chunk, consumer);
+            }
+        });
+    }
+
+    private static <E> void saveOrUpdateChunk(SqlSession sqlSession, TableInfo tableInfo, String insertStatement, String selectStatement,
+                                              List<E> chunk, BiConsumer<SqlSession, E> consumer) {
+        String keyProperty = tableInfo.getKeyProperty();
+        Set<Object> idSet = new LinkedHashSet<>();
+        for (E entity : chunk) {
+            Object idVal = tableInfo.getPropertyValue(entity, keyProperty);
+            if (StringUtils.checkValNotNull(idVal)) {
+                idSet.add(idVal);
+            }
+        }
+        List<Object> ids = new ArrayList<>(idSet);
+        Set<Object> existIds = new HashSet<>();
+        // 单条 IN 查询最多 IN_LIMIT 个主键(Oracle 上限为 1000)
+        for (int i = 0; i < ids.size(); i += IN_LIMIT) {
+            MapperMethod.ParamMap<Object> param = new MapperMethod.ParamMap<>();
+            param.put(Constants.COLL, ids.subList(i, Math.min(i + IN_LIMIT, ids.size())));
+            for (Object exist : sqlSession.selectList(selectStatement, param)) {
+                existIds.add(tableInfo.getPropertyValue(exist, keyProperty));
+            }
+        }
+        List<E> updateList = new ArrayList<>();
+        for (E entity : chunk) {
+            Object idVal = tableInfo.getPropertyValue(entity, keyProperty);
+            // 同一批次内重复的主键, 第一条插入后其余按更新处理
+            if (StringUtils.checkValNull(idVal) || existIds.add(idVal)) {
+                sqlSession.insert(insertStatement, entity);
+            } else {
+                updateList.add(entity);
+            }
+        }
+        for (E entity : updateList) {
+            consumer.accept(sqlSession, entity);
+        }
+        sqlSession.flushStatements();
+    }
+
     /**
      * 获取mapperStatementId
      *
@@ -341,4 +523,151 @@ public final class SqlHelper {
             SqlSessionUtils.closeSqlSession(sqlSession, GlobalConfigUtils.currentSessionFactory(entityClass));
         }
     }
+
+    /**
+     * 流式查询实体
+     * <p>
+     * 使用 selectList 的 sql, 以 FORWARD_ONLY 结果集与数据库对应的 fetchSize 执行, 调用方必须关闭游标以释放连接,
+     * PostgreSQL 在非事务下会临时关闭 autoCommit 以使 fetchSize 生效
+     * <li> fetchSize: MySQL 与 MariaDB 固定使用 {@link Integer#MIN_VALUE} 逐行读取, 其余数据库依次使用 selectList 语句的 fetchSize,
+     * {@link Configuration#getDefaultFetchSize()}, 都未配置时为 1000 </li>
+     * <li> 多租户, 数据权限等拦截器的 beforeQuery 总是作用于该游标查询, 与 {@link MybatisPlusInterceptor#setInterceptCursor(boolean)} 无关 </li>
+     *
+     * @param entityClass  实体类
+     * @param queryWrapper 条件构造器
+     * @param <T>          实体类型
+     * @return 游标, 关闭时释放 SqlSession
+     * @since 3.5.6
+     */
+    public static <T> Cursor<T> cursor(Class<T> entityClass, Wrapper<T> queryWrapper) {
+        TableInfo tableInfo = table(entityClass);
+        SqlSessionFactory sqlSessionFactory = GlobalConfigUtils.currentSessionFactory(entityClass);
+        SqlSession sqlSession = SqlSessionUtils.getSqlSession(sqlSessionFactory);
+        Runnable closeSession = () -> SqlSessionUtils.closeSqlSession(sqlSession, sqlSessionFactory);
+        Connection connection = null;
+        Executor executor = null;
+        boolean resetAutoCommit = false;
+        try {
+            Configuration configuration = sqlSession.getConfiguration();
+            connection = sqlSession.getConnection();
+            DbType dbType = JdbcUtils.getDbType(connection.getMetaData().getURL());
+            MappedStatement ms = configuration.getMappedStatement(tableInfo.getCurrentNamespace() + StringPool.DOT + SqlMethod.SELECT_LIST.getMethod());
+            Integer fetchSize = dbType == DbType.MYSQL || dbType == DbType.MARIADB ? Integer.valueOf(Integer.MIN_VALUE)
+                : Optional.ofNullable(ms.getFetchSize()).orElseGet(() -> Optional.ofNullable(configuration.getDefaultFetchSize()).orElse(DEFAULT_STREAM_FETCH_SIZE));
+            MappedStatement streamMs = PluginUtils.copyMappedStatement(ms, ms.getSqlSource(),
+                builder -> builder.resultSetType(ResultSetType.FORWARD_ONLY).fetchSize(fetchSize));
+            if (dbType == DbType.POSTGRE_SQL && connection.getAutoCommit()) {
+                connection.setAutoCommit(false);
+                resetAutoCommit = true;
+            }
+            executor = configuration.newExecutor(new ManagedTransaction(connection, false), ExecutorType.SIMPLE);
+            MapperMethod.ParamMap<Object> parameter = new MapperMethod.ParamMap<>();
+            parameter.put(Constants.WRAPPER, queryWrapper);
+            parameter.put("param1", queryWrapper);
+            // 标记为 MP 自身的游标查询, 多租户,数据权限等拦截器总是生效
+            parameter.put(MybatisPlusInterceptor.CURSOR_PARAM_NAME, Boolean.TRUE);
+            Cursor<T> cursor = executor.queryCursor(streamMs, parameter, RowBounds.DEFAULT);
+            return new SessionCursor<>(cursor, closeExecutor(executor, connection, resetAutoCommit), closeSession);
+        } catch (Throwable t) {
+            try {
+                closeExecutor(executor, connection, resetAutoCommit).run();
+            } catch (Throwable e) {
+                t.addSuppressed(e);
+            } finally {
+                closeSession.run();
+            }
+            throw ExceptionUtils.mpe("Error: Cannot open cursor for %s", t, entityClass.getName());
+        }
+    }
+
+    /**
+     * 关闭游标执行器, 并恢复临时关闭的 autoCommit
+     */
+    private static Runnable closeExecutor(Executor executor, Connection connection, boolean resetAutoCommit) {
+        return () -> {
+            if (executor != null) {
+                executor.close(false);
+            }
+            if (resetAutoCommit) {
+                try {
+                    connection.setAutoCommit(true);
+                } catch (SQLException e) {
+                    throw ExceptionUtils.mpe(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * 流式查询实体, 需要在 try-with-resources 中使用以释放连接
+     *
+     * @param entityClass  实体类
+     * @param queryWrapper 条件构造器
+     * @param <T>          实体类型
+     * @return Stream, 关闭时释放游标与 SqlSession
+     * @since 3.5.6
+     */
+    public static <T> Stream<T> stream(Class<T> entityClass, Wrapper<T> queryWrapper) {
+        Cursor<T> cursor = cursor(entityClass, queryWrapper);
+        return StreamSupport.stream(cursor.spliterator(), false).onClose(() -> {
+            try {
+                cursor.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * 关闭时同时释放执行器与 SqlSession 的游标
+     */
+    private static class SessionCursor<T> implements Cursor<T> {
+        private final Cursor<T> delegate;
+        private final Runnable closeExecutor;
+        private final Runnable closeSession;
+        private boolean closed;
+
+        SessionCursor(Cursor<T> delegate, Runnable closeExecutor, Runnable closeSession) {
+            this.delegate = delegate;
+            this.closeExecutor = closeExecutor;
+            this.closeSession = closeSession;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return delegate.isOpen();
+        }
+
+        @Override
+        public boolean isConsumed() {
+            return delegate.isConsumed();
+        }
+
+        @Override
+        public int getCurrentIndex() {
+            return delegate.getCurrentIndex();
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return delegate.iterator();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                delegate.close();
+            } finally {
+                try {
+                    closeExecutor.run();
+                } finally {
+                    closeSession.run();
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,73 @@
+package com.baomidou.mybatisplus.extension.injector.methods;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import lombok.Data;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent
+ * @since 3.5.6
+ */
+class InsertBatchSomeColumnTest {
+
+    @Test
+    void mysql() {
+        BoundSql boundSql = boundSql(null);
+        assertThat(boundSql.getSql().replaceAll("\\s+", "")).isEqualTo("INSERTINTOt_batch(id,name,age)VALUES(?,?,?),(?,?,?)");
+        assertThat(boundSql.getParameterMappings()).hasSize(6);
+    }
+
+    @Test
+    void oracle() {
+        // Oracle 不支持 VALUES 多行, 使用 INSERT ALL
+        for (DbType dbType : Arrays.asList(DbType.ORACLE, DbType.ORACLE_12C)) {
+            BoundSql boundSql = boundSql(dbType);
+            assertThat(boundSql.getSql().trim().replaceAll("\\s+", " ")).isEqualTo("INSERT ALL"
+                + " INTO t_batch (id,name,age) VALUES (?,?,?)"
+                + " INTO t_batch (id,name,age) VALUES (?,?,?)"
+                + " SELECT 1 FROM DUAL");
+            assertThat(boundSql.getParameterMappings()).extracting(p -> p.getProperty().replaceAll("__frch_et_\\d+", "et"))
+                .containsExactly("et.id", "et.name", "et.age", "et.id", "et.name", "et.age");
+        }
+    }
+
+    private BoundSql boundSql(DbType dbType) {
+        MybatisConfiguration configuration = new MybatisConfiguration();
+        MapperBuilderAssistant assistant = new MapperBuilderAssistant(configuration, "");
+        assistant.setCurrentNamespace(BatchMapper.class.getName());
+        TableInfo tableInfo = TableInfoHelper.initTableInfo(assistant, Batch.class);
+        new InsertBatchSomeColumn().setDbType(dbType).inject(assistant, BatchMapper.class, Batch.class, tableInfo);
+        MappedStatement ms = configuration.getMappedStatement(BatchMapper.class.getName() + ".insertBatchSomeColumn");
+        return ms.getBoundSql(Collections.singletonMap("list", Arrays.asList(new Batch(), new Batch())));
+    }
+
+    interface BatchMapper extends BaseMapper<Batch> {
+    }
+
+    @Data
+    @TableName("t_batch")
+    private static class Batch {
+
+        @TableId(type = IdType.INPUT)
+        private Long id;
+
+        private String name;
+
+        private Integer age;
+    }
+}
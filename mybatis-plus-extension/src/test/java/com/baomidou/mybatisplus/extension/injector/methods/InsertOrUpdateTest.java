@@ -0,0 +1,100 @@
+package com.baomidou.mybatisplus.extension.injector.methods;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.annotation.FieldFill;
+import com.baomidou.mybatisplus.annotation.FieldStrategy;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableLogic;
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.baomidou.mybatisplus.annotation.Version;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import lombok.Data;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent
+ * @since 3.5.6
+ */
+class InsertOrUpdateTest {
+
+    private static final String COLUMNS = "id,name,create_time,update_time,operator,code,version";
+
+    @Test
+    void mysql() {
+        assertThat(sql(DbType.MYSQL)).isEqualTo("INSERT INTO t_upsert (" + COLUMNS + ") VALUES (?,?,?,?,?,?,?)"
+            + " ON DUPLICATE KEY UPDATE name=VALUES(name),operator=VALUES(operator),version=VALUES(version)");
+    }
+
+    @Test
+    void postgresql() {
+        assertThat(sql(DbType.POSTGRE_SQL)).isEqualTo("INSERT INTO t_upsert (" + COLUMNS + ") VALUES (?,?,?,?,?,?,?)"
+            + " ON CONFLICT (id) DO UPDATE SET name=EXCLUDED.name,operator=EXCLUDED.operator,version=EXCLUDED.version");
+    }
+
+    @Test
+    void oracle() {
+        assertThat(sql(DbType.ORACLE)).isEqualTo("MERGE INTO t_upsert T USING (SELECT ? AS id,? AS name,? AS create_time,"
+            + "? AS update_time,? AS operator,? AS code,? AS version FROM DUAL) S ON (T.id = S.id)"
+            + " WHEN MATCHED THEN UPDATE SET name=S.name,operator=S.operator,version=S.version"
+            + " WHEN NOT MATCHED THEN INSERT (" + COLUMNS + ") VALUES (S.id,S.name,S.create_time,S.update_time,S.operator,S.code,S.version)");
+    }
+
+    @Test
+    void sqlServer() {
+        assertThat(sql(DbType.SQL_SERVER)).isEqualTo("MERGE INTO t_upsert T USING (SELECT ? AS id,? AS name,? AS create_time,"
+            + "? AS update_time,? AS operator,? AS code,? AS version) S ON (T.id = S.id)"
+            + " WHEN MATCHED THEN UPDATE SET name=S.name,operator=S.operator,version=S.version"
+            + " WHEN NOT MATCHED THEN INSERT (" + COLUMNS + ") VALUES (S.id,S.name,S.create_time,S.update_time,S.operator,S.code,S.version);");
+    }
+
+    private String sql(DbType dbType) {
+        MybatisConfiguration configuration = new MybatisConfiguration();
+        MapperBuilderAssistant assistant = new MapperBuilderAssistant(configuration, "");
+        assistant.setCurrentNamespace(UpsertMapper.class.getName());
+        TableInfo tableInfo = TableInfoHelper.initTableInfo(assistant, Upsert.class);
+        new InsertOrUpdate(dbType).inject(assistant, UpsertMapper.class, Upsert.class, tableInfo);
+        MappedStatement ms = configuration.getMappedStatement(UpsertMapper.class.getName() + ".insertOrUpdate");
+        return ms.getBoundSql(new Upsert()).getSql().trim();
+    }
+
+    interface UpsertMapper extends BaseMapper<Upsert> {
+    }
+
+    @Data
+    @TableName("t_upsert")
+    private static class Upsert {
+
+        @TableId
+        private Long id;
+
+        private String name;
+
+        @TableField(fill = FieldFill.INSERT)
+        private LocalDateTime createTime;
+
+        @TableField(fill = FieldFill.UPDATE)
+        private LocalDateTime updateTime;
+
+        @TableField(fill = FieldFill.INSERT_UPDATE)
+        private String operator;
+
+        @TableField(updateStrategy = FieldStrategy.NEVER)
+        private String code;
+
+        @Version
+        private Integer version;
+
+        @TableLogic
+        private Integer deleted;
+    }
+}
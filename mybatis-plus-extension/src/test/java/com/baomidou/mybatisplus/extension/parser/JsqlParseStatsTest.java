@@ -0,0 +1,27 @@
+package com.baomidou.mybatisplus.extension.parser;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent
+ * @since 3.5.6
+ */
+class JsqlParseStatsTest {
+
+    @Test
+    void percentile() {
+        JsqlParseStats stats = new JsqlParseStats();
+        for (int i = 0; i < 99; i++) {
+            stats.record("a", 1000);
+        }
+        stats.record("a", 1_000_000);
+        assertThat(stats.p50("a")).isBetween(1000L, 2000L);
+        assertThat(stats.p99("a")).isBetween(1000L, 2000L);
+        assertThat(stats.percentile("a", 1)).isBetween(1_000_000L, 2_000_000L);
+        assertThat(stats.p50("b")).isEqualTo(-1);
+        stats.record(null, 10);
+        assertThat(stats.p50(JsqlParseStats.UNKNOWN_ID)).isBetween(10L, 20L);
+    }
+}
@@ -0,0 +1,45 @@
+package com.baomidou.mybatisplus.extension.parser;
+
+import com.baomidou.mybatisplus.extension.plugins.handler.TenantLineHandler;
+import com.baomidou.mybatisplus.extension.plugins.inner.TenantLineInnerInterceptor;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.LongValue;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent
+ * @since 3.5.6
+ */
+class JsqlParserContextTest {
+
+    private final TenantLineInnerInterceptor interceptor = new TenantLineInnerInterceptor(new TenantLineHandler() {
+        @Override
+        public Expression getTenantId() {
+            return new LongValue(1);
+        }
+    });
+
+    @Test
+    void shareStatement() {
+        BoundSql boundSql = new BoundSql(new Configuration(), "select * from entity where id = ?", Collections.emptyList(), null);
+        JsqlParserContext context = JsqlParserContext.open(boundSql);
+        try {
+            // 共享模式下只改写 AST, 不输出 sql
+            assertThat(interceptor.parserSingle(boundSql.getSql(), null)).isEqualTo("select * from entity where id = ?");
+            assertThat(context.getStatement()).isNotNull();
+            context.flush();
+            assertThat(boundSql.getSql()).isEqualTo("SELECT * FROM entity WHERE id = ? AND tenant_id = 1");
+            // 不是拦截器链当前的 sql 按原有逻辑处理
+            assertThat(interceptor.parserSingle("select * from entity2", null)).isEqualTo("SELECT * FROM entity2 WHERE tenant_id = 1");
+        } finally {
+            context.close();
+        }
+        assertThat(JsqlParserContext.current(boundSql.getSql())).isNull();
+    }
+}
@@ -1,6 +1,7 @@
 package com.baomidou.mybatisplus.extension.parser;
 
 import com.baomidou.mybatisplus.extension.parser.cache.FstFactory;
+import com.baomidou.mybatisplus.extension.parser.cache.JsqlStatementCopier;
 import net.sf.jsqlparser.JSQLParserException;
 import net.sf.jsqlparser.parser.CCJSqlParserUtil;
 import net.sf.jsqlparser.statement.Statement;
@@ -30,6 +31,7 @@ class JsqlParserSimpleSerialTest {
         noSerial();
         jdkSerial();
         fstSerial();
+        copy();
     }
 
     void noSerial() throws JSQLParserException {
@@ -90,4 +92,19 @@ class JsqlParserSimpleSerialTest {
         assertThat(statement).isNotNull();
         assertThat(statement.toString()).isEqualTo(target);
     }
+
+    void copy() throws JSQLParserException {
+        Statement statement = CCJSqlParserUtil.parse(sql);
+        String target = statement.toString();
+        Statement copy = null;
+        long startTime = System.currentTimeMillis();
+        for (int i = 0; i < len; i++) {
+            copy = JsqlStatementCopier.copy(statement);
+        }
+        long endTime = System.currentTimeMillis();
+        long et = endTime - startTime;
+        System.out.printf("AST copy 执行耗时: %s 毫秒, 均耗时: %s%n", et, (double) et / len);
+        assertThat(copy).isNotNull().isNotSameAs(statement);
+        assertThat(copy.toString()).isEqualTo(target);
+    }
 }
@@ -0,0 +1,31 @@
+package com.baomidou.mybatisplus.extension.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent
+ * @since 3.5.6
+ */
+class TableNameParserClassifierTest {
+
+    private final Predicate<String> ignoreTable = name -> name.startsWith("sys_");
+
+    @Test
+    void allIgnored() {
+        assertAllIgnored("select * from sys_dict where id = ?", true);
+        assertAllIgnored("select * from db.sys_dict d left join sys_dict_item i on i.dict_id = d.id", true);
+        assertAllIgnored("update sys_dict set name = ? where id = ?", true);
+        assertAllIgnored("insert into sys_dict (id, name) values (?, ?)", true);
+        assertAllIgnored("select * from sys_dict where id in (select dict_id from entity)", false);
+        assertAllIgnored("select * from sys_dict d, entity e where d.id = e.id", false);
+        assertAllIgnored("delete from entity where id = ?", false);
+    }
+
+    private void assertAllIgnored(String sql, boolean expected) {
+        assertThat(TableNameParserClassifier.INSTANCE.allIgnored(sql, ignoreTable)).isEqualTo(expected);
+    }
+}
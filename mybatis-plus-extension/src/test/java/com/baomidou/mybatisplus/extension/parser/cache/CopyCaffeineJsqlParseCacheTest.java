@@ -0,0 +1,68 @@
+package com.baomidou.mybatisplus.extension.parser.cache;
+
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
+import net.sf.jsqlparser.expression.operators.relational.EqualsTo;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.schema.Table;
+import net.sf.jsqlparser.statement.Statements;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.Select;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent
+ * @since 3.5.6
+ */
+class CopyCaffeineJsqlParseCacheTest {
+
+    private static final String SQL = "SELECT e.id, e.name FROM entity e WHERE e.id = ? AND e.name = 'a'";
+
+    private final CopyCaffeineJsqlParseCache cache = new CopyCaffeineJsqlParseCache(caffeine -> caffeine.maximumSize(16));
+
+    @Test
+    void statementHitIsDeepCopy() throws JSQLParserException {
+        Select select = (Select) CCJSqlParserUtil.parse(SQL);
+        cache.putStatement(SQL, select);
+        // 存入之后调用方继续改写原对象
+        ((Table) ((PlainSelect) select.getSelectBody()).getFromItem()).setName("changed");
+
+        Select first = (Select) cache.getStatement(SQL);
+        assertThat(first).isNotSameAs(select);
+        assertThat(first.toString()).isEqualTo(SQL);
+
+        // 修改命中结果的深层节点
+        PlainSelect plainSelect = (PlainSelect) first.getSelectBody();
+        ((Table) plainSelect.getFromItem()).setName("tenant_entity");
+        EqualsTo equalsTo = (EqualsTo) ((AndExpression) plainSelect.getWhere()).getLeftExpression();
+        ((Column) equalsTo.getLeftExpression()).setColumnName("tenant_id");
+        plainSelect.getSelectItems().clear();
+
+        Select second = (Select) cache.getStatement(SQL);
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.toString()).isEqualTo(SQL);
+    }
+
+    @Test
+    void statementsHitIsDeepCopy() throws JSQLParserException {
+        String sql = SQL + ";SELECT * FROM entity1";
+        Statements statements = CCJSqlParserUtil.parseStatements(sql);
+        String expected = statements.toString();
+        cache.putStatements(sql, statements);
+
+        Statements first = cache.getStatements(sql);
+        ((PlainSelect) ((Select) first.getStatements().get(0)).getSelectBody()).setWhere(null);
+        first.getStatements().remove(1);
+
+        assertThat(cache.getStatements(sql).toString()).isEqualTo(expected);
+    }
+
+    @Test
+    void miss() {
+        assertThat(cache.getStatement(SQL)).isNull();
+        assertThat(cache.getStatements(SQL)).isNull();
+    }
+}
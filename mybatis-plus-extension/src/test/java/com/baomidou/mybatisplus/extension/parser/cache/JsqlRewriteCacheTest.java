@@ -0,0 +1,143 @@
+package com.baomidou.mybatisplus.extension.parser.cache;
+
+import com.baomidou.mybatisplus.extension.parser.JsqlParserContext;
+import com.baomidou.mybatisplus.extension.plugins.handler.DataPermissionHandler;
+import com.baomidou.mybatisplus.extension.plugins.handler.TenantLineHandler;
+import com.baomidou.mybatisplus.extension.plugins.inner.DataPermissionInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.TenantLineInnerInterceptor;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.LongValue;
+import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
+import net.sf.jsqlparser.expression.operators.relational.EqualsTo;
+import net.sf.jsqlparser.schema.Column;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent
+ * @since 3.5.6
+ */
+class JsqlRewriteCacheTest {
+
+    private static final String SQL = "select * from entity where id = ?";
+
+    private final Configuration configuration = new Configuration();
+    private final MappedStatement ms = new MappedStatement.Builder(configuration, "entity.selectById",
+        new StaticSqlSource(configuration, SQL), SqlCommandType.SELECT).build();
+
+    private final AtomicInteger tenantParsed = new AtomicInteger();
+    private final AtomicInteger permissionParsed = new AtomicInteger();
+    private long tenantId = 1;
+
+    private final TenantLineInnerInterceptor tenant = new TenantLineInnerInterceptor(new TenantLineHandler() {
+        @Override
+        public Expression getTenantId() {
+            tenantParsed.incrementAndGet();
+            return new LongValue(tenantId);
+        }
+
+        @Override
+        public Object getCacheFingerprint() {
+            return tenantId;
+        }
+    });
+
+    private final DataPermissionInterceptor permission = new DataPermissionInterceptor(new DataPermissionHandler() {
+        @Override
+        public Expression getSqlSegment(Expression where, String mappedStatementId) {
+            permissionParsed.incrementAndGet();
+            EqualsTo equalsTo = new EqualsTo(new Column("dept_id"), new LongValue(10));
+            return where == null ? equalsTo : new AndExpression(where, equalsTo);
+        }
+
+        @Override
+        public Object getCacheFingerprint() {
+            return 1L;
+        }
+    });
+
+    @Test
+    void getAndPut() {
+        JsqlRewriteCache cache = new JsqlRewriteCache(16);
+        cache.put(TenantLineInnerInterceptor.class, "id", SQL, 1L, "rewrite");
+        assertThat(cache.get(TenantLineInnerInterceptor.class, "id", SQL, 1L)).isEqualTo("rewrite");
+        // key 的任意部分不同都不能命中
+        assertThat(cache.get(DataPermissionInterceptor.class, "id", SQL, 1L)).isNull();
+        assertThat(cache.get(TenantLineInnerInterceptor.class, "id2", SQL, 1L)).isNull();
+        assertThat(cache.get(TenantLineInnerInterceptor.class, "id", SQL + " ", 1L)).isNull();
+        assertThat(cache.get(TenantLineInnerInterceptor.class, "id", SQL, 2L)).isNull();
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+        assertThat(cache.stats().missCount()).isEqualTo(4);
+
+        cache.invalidateAll();
+        assertThat(cache.get(TenantLineInnerInterceptor.class, "id", SQL, 1L)).isNull();
+    }
+
+    @Test
+    void parserWithCache() throws SQLException {
+        tenant.setRewriteCache(new JsqlRewriteCache(16));
+        assertThat(query(tenant)).isEqualTo("SELECT * FROM entity WHERE id = ? AND tenant_id = 1");
+        assertThat(query(tenant)).isEqualTo("SELECT * FROM entity WHERE id = ? AND tenant_id = 1");
+        assertThat(tenantParsed).hasValue(1);
+
+        // 指纹变化重新解析
+        tenantId = 2;
+        assertThat(query(tenant)).isEqualTo("SELECT * FROM entity WHERE id = ? AND tenant_id = 2");
+        assertThat(tenantParsed).hasValue(2);
+    }
+
+    @Test
+    void sharedCacheBetweenInterceptors() throws SQLException {
+        JsqlRewriteCache cache = new JsqlRewriteCache(16);
+        tenant.setRewriteCache(cache);
+        permission.setRewriteCache(cache);
+        // 同一条 sql, 指纹相同, 不同拦截器的结果互不覆盖
+        assertThat(query(tenant)).isEqualTo("SELECT * FROM entity WHERE id = ? AND tenant_id = 1");
+        assertThat(query(permission)).isEqualTo("SELECT * FROM entity WHERE id = ? AND dept_id = 10");
+        assertThat(query(tenant)).isEqualTo("SELECT * FROM entity WHERE id = ? AND tenant_id = 1");
+        assertThat(query(permission)).isEqualTo("SELECT * FROM entity WHERE id = ? AND dept_id = 10");
+        assertThat(tenantParsed).hasValue(1);
+        assertThat(permissionParsed).hasValue(1);
+    }
+
+    @Test
+    void shareStatement() throws SQLException {
+        tenant.setRewriteCache(new JsqlRewriteCache(16));
+        String rewriteSql = "SELECT * FROM entity WHERE id = ? AND tenant_id = 1";
+        for (int i = 0; i < 2; i++) {
+            BoundSql boundSql = new BoundSql(configuration, SQL, Collections.emptyList(), null);
+            JsqlParserContext context = JsqlParserContext.open(ms.getId(), boundSql, true);
+            try {
+                tenant.beforeQuery(null, ms, null, RowBounds.DEFAULT, null, boundSql);
+                assertThat(boundSql.getSql()).isEqualTo(rewriteSql);
+                // 命中缓存时上下文同样跟踪改写后的 sql, 后续拦截器可以继续使用
+                assertThat(context.getSql()).isEqualTo(rewriteSql);
+                assertThat(JsqlParserContext.current(rewriteSql)).isSameAs(context);
+                assertThat(permission.parserSingle(rewriteSql, ms.getId())).isEqualTo(rewriteSql);
+                context.flush();
+                assertThat(boundSql.getSql()).isEqualTo("SELECT * FROM entity WHERE id = ? AND tenant_id = 1 AND dept_id = 10");
+            } finally {
+                context.close();
+            }
+        }
+        assertThat(tenantParsed).hasValue(1);
+    }
+
+    private String query(InnerInterceptor interceptor) throws SQLException {
+        BoundSql boundSql = new BoundSql(configuration, SQL, Collections.emptyList(), null);
+        interceptor.beforeQuery(null, ms, null, RowBounds.DEFAULT, null, boundSql);
+        return boundSql.getSql();
+    }
+}
@@ -0,0 +1,29 @@
+package com.baomidou.mybatisplus.extension.parser.cache;
+
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.Select;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent
+ * @since 3.5.6
+ */
+class JsqlStatementCopierTest {
+
+    @Test
+    void copy() throws JSQLParserException {
+        String sql = "SELECT e.id, e.name FROM entity e LEFT JOIN entity1 e1 ON e1.id = e.id WHERE e.id = ? AND e.create_time > '2023-01-01' ORDER BY e.id DESC";
+        Select select = (Select) CCJSqlParserUtil.parse(sql);
+        Select copy = JsqlStatementCopier.copy(select);
+        assertThat(copy.toString()).isEqualTo(select.toString());
+
+        // 修改副本不影响原对象
+        ((PlainSelect) copy.getSelectBody()).setWhere(null);
+        ((PlainSelect) copy.getSelectBody()).getSelectItems().clear();
+        assertThat(select.toString()).isEqualTo(sql);
+    }
+}
@@ -1,14 +1,31 @@
 package com.baomidou.mybatisplus.extension.plugins;
 
 import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
 import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 /**
  * @author miemie
@@ -36,4 +53,39 @@ class MybatisPlusInterceptorTest {
         assertThat(pii.getMaxLimit()).isEqualTo(10);
         assertThat(pii.getDbType()).isEqualTo(DbType.H2);
     }
+
+    @Test
+    void queryCursor() throws Throwable {
+        MybatisConfiguration configuration = new MybatisConfiguration();
+        MappedStatement ms = new MappedStatement.Builder(configuration, "cursor",
+            new StaticSqlSource(configuration, "select 1"), SqlCommandType.SELECT).build();
+        AtomicInteger count = new AtomicInteger();
+        MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+        interceptor.addInnerInterceptor(new InnerInterceptor() {
+            @Override
+            public void beforeQuery(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler, BoundSql boundSql) {
+                count.incrementAndGet();
+                PluginUtils.mpBoundSql(boundSql).sql("select 2");
+            }
+        });
+
+        // 默认不拦截游标查询
+        Executor executor = mock(Executor.class);
+        interceptor.intercept(cursorInvocation(executor, ms));
+        assertThat(count).hasValue(0);
+        verify(executor).queryCursor(ms, Collections.emptyMap(), RowBounds.DEFAULT);
+
+        interceptor.setInterceptCursor(true);
+        executor = mock(Executor.class);
+        interceptor.intercept(cursorInvocation(executor, ms));
+        assertThat(count).hasValue(1);
+        ArgumentCaptor<MappedStatement> captor = ArgumentCaptor.forClass(MappedStatement.class);
+        verify(executor).queryCursor(captor.capture(), eq(Collections.emptyMap()), any(RowBounds.class));
+        assertThat(captor.getValue().getBoundSql(Collections.emptyMap()).getSql()).isEqualTo("select 2");
+    }
+
+    private Invocation cursorInvocation(Executor executor, MappedStatement ms) throws NoSuchMethodException {
+        return new Invocation(executor, Executor.class.getMethod("queryCursor", MappedStatement.class, Object.class, RowBounds.class),
+            new Object[]{ms, Collections.emptyMap(), RowBounds.DEFAULT});
+    }
 }
@@ -0,0 +1,90 @@
+package com.baomidou.mybatisplus.extension.plugins.handler;
+
+import com.baomidou.mybatisplus.extension.plugins.inner.DataChangeRecorderInnerInterceptor.DataChangedRecord;
+import com.baomidou.mybatisplus.extension.plugins.inner.DataChangeRecorderInnerInterceptor.DataColumnChangeResult;
+import com.baomidou.mybatisplus.extension.plugins.inner.DataChangeRecorderInnerInterceptor.OperationResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent
+ * @since 3.5.6
+ */
+class AsyncDataChangeHandlerTest {
+
+    @Test
+    void handle() throws InterruptedException {
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        List<OperationResult> handled = new CopyOnWriteArrayList<>();
+        AsyncDataChangeHandler handler = new AsyncDataChangeHandler(results -> {
+            batchSizes.add(results.size());
+            handled.addAll(results);
+        }, 16, 4);
+        List<OperationResult> results = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            OperationResult result = new OperationResult();
+            result.setTableName("t" + i);
+            results.add(result);
+        }
+        handler.handle(results);
+        handler.close();
+        assertThat(handled).containsExactlyInAnyOrderElementsOf(results);
+        assertThat(batchSizes).allMatch(size -> size <= 4);
+        assertThat(handler.pending()).isZero();
+    }
+
+    @Test
+    void closeWhileHandling() throws Exception {
+        List<OperationResult> handled = new CopyOnWriteArrayList<>();
+        AsyncDataChangeHandler handler = new AsyncDataChangeHandler(handled::addAll, 64, 8);
+        int threads = 4;
+        int perThread = 2000;
+        CountDownLatch started = new CountDownLatch(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    started.countDown();
+                    for (int j = 0; j < perThread; j++) {
+                        handler.handle(Collections.singletonList(new OperationResult()));
+                    }
+                }));
+            }
+            started.await();
+            // 关闭与写入并发, 关闭后写入的记录在当前线程处理, 不会遗留在队列中
+            handler.close();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(handled).hasSize(threads * perThread);
+        assertThat(handler.pending()).isZero();
+    }
+
+    @Test
+    void lazyChangedData() {
+        DataChangedRecord record = new DataChangedRecord();
+        record.setPkColumnName("ID");
+        record.setPkColumnVal(1);
+        DataColumnChangeResult column = DataColumnChangeResult.constrcutByOriginalVal("NAME", "a");
+        column.setUpdateValue("b");
+        record.setUpdatedColumns(Collections.singletonList(column));
+        OperationResult result = new OperationResult();
+        result.buildDataStr(Collections.singletonList(record));
+        assertThat(result.getChangedData()).isEqualTo("[{\"ID\":\"1\",\"NAME\":\"a->b\"}]");
+    }
+}
@@ -1,8 +1,11 @@
 package com.baomidou.mybatisplus.extension.plugins.inner;
 
+import com.baomidou.mybatisplus.extension.plugins.handler.TableNameHandler;
 import org.intellij.lang.annotations.Language;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 /**
@@ -47,4 +50,29 @@ class DynamicTableNameInnerInterceptorTest {
         origin = "SELECT t.* FROM t_user_real t left join entity e on e.id = t.id";
         assertEquals("SELECT t.* FROM t_user_real_r t left join entity_r e on e.id = t.id", interceptor.changeTable(origin));
     }
+
+    @Test
+    void resultCache() {
+        AtomicInteger calls = new AtomicInteger();
+        String[] month = {"202401"};
+        DynamicTableNameInnerInterceptor interceptor = new DynamicTableNameInnerInterceptor(new TableNameHandler() {
+            @Override
+            public String dynamicTableName(String sql, String tableName) {
+                calls.incrementAndGet();
+                return tableName + "_" + month[0];
+            }
+
+            @Override
+            public Object contextKey() {
+                return month[0];
+            }
+        });
+        String origin = "SELECT * FROM t_order WHERE id = ?";
+        assertEquals("SELECT * FROM t_order_202401 WHERE id = ?", interceptor.changeTable(origin));
+        assertEquals("SELECT * FROM t_order_202401 WHERE id = ?", interceptor.changeTable(origin));
+        assertEquals(1, calls.get());
+        month[0] = "202402";
+        assertEquals("SELECT * FROM t_order_202402 WHERE id = ?", interceptor.changeTable(origin));
+        assertEquals(2, calls.get());
+    }
 }
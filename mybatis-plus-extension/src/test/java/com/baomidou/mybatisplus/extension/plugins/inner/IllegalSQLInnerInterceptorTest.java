@@ -1,16 +1,151 @@
 package com.baomidou.mybatisplus.extension.plugins.inner;
 
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.statement.RoutingStatementHandler;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
 import org.junit.jupiter.api.Test;
 
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
 /**
  * @author miemie
  * @since 2022-04-11
  */
 class IllegalSQLInnerInterceptorTest {
     private final IllegalSQLInnerInterceptor interceptor = new IllegalSQLInnerInterceptor();
+    private final Configuration configuration = new Configuration();
+    private final AtomicInteger parsed = new AtomicInteger();
 
     @Test
     void test() {
         interceptor.parserSingle("SELECT COUNT(*) AS total FROM t_user WHERE (client_id = ?)", null);
     }
+
+    @Test
+    void verdictCache() {
+        IllegalSQLInnerInterceptor interceptor = countingInterceptor();
+        String sql = "select * from t_user where id = ?";
+        interceptor.beforePrepare(statementHandler("selectById", SqlCommandType.SELECT, sql), null, null);
+        interceptor.beforePrepare(statementHandler("selectById", SqlCommandType.SELECT, sql), null, null);
+        assertThat(parsed).hasValue(1);
+
+        // 相同 sql 不同 MappedStatement 分别验证
+        interceptor.beforePrepare(statementHandler("selectOne", SqlCommandType.SELECT, sql), null, null);
+        assertThat(parsed).hasValue(2);
+        // 同一 MappedStatement 的不同 sql 分别验证
+        interceptor.beforePrepare(statementHandler("selectById", SqlCommandType.SELECT, sql + " and name = ?"), null, null);
+        assertThat(parsed).hasValue(3);
+        // insert 不验证也不缓存
+        interceptor.beforePrepare(statementHandler("insert", SqlCommandType.INSERT, "insert into t_user (id) values (?)"), null, null);
+        assertThat(parsed).hasValue(3);
+        assertThat(interceptor.getCacheValidResult().asMap()).hasSize(3);
+    }
+
+    @Test
+    void verdictExpire() throws InterruptedException {
+        IllegalSQLInnerInterceptor interceptor = countingInterceptor();
+        interceptor.setIndexInfoTtl(50);
+        String sql = "select * from t_user where id = ?";
+        interceptor.beforePrepare(statementHandler("selectById", SqlCommandType.SELECT, sql), null, null);
+        interceptor.beforePrepare(statementHandler("selectById", SqlCommandType.SELECT, sql), null, null);
+        assertThat(parsed).hasValue(1);
+        // 验证结果与索引信息同时过期, 过期后重新验证
+        Thread.sleep(200);
+        interceptor.beforePrepare(statementHandler("selectById", SqlCommandType.SELECT, sql), null, null);
+        assertThat(parsed).hasValue(2);
+    }
+
+    @Test
+    void indexInfoRefresh() throws SQLException {
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(connection.getMetaData()).thenReturn(metaData);
+        doAnswer(invocation -> indexResultSet("id")).when(metaData).getIndexInfo("db", "db", "t_user", false, true);
+        assertThat(indexInfos(connection)).extracting("columnName").containsExactly("id");
+        assertThat(indexInfos(connection)).extracting("columnName").containsExactly("id");
+        verify(metaData, times(1)).getIndexInfo("db", "db", "t_user", false, true);
+
+        // 过期后重新加载
+        interceptor.setIndexInfoTtl(-1);
+        doAnswer(invocation -> indexResultSet("name")).when(metaData).getIndexInfo("db", "db", "t_user", false, true);
+        assertThat(indexInfos(connection)).extracting("columnName").containsExactly("name");
+        verify(metaData, times(2)).getIndexInfo("db", "db", "t_user", false, true);
+
+        // 重新加载失败时继续使用旧数据, 下次再尝试
+        doThrow(new SQLException("closed")).when(metaData).getIndexInfo("db", "db", "t_user", false, true);
+        assertThat(indexInfos(connection)).extracting("columnName").containsExactly("name");
+        assertThat(indexInfos(connection)).extracting("columnName").containsExactly("name");
+        verify(metaData, times(4)).getIndexInfo("db", "db", "t_user", false, true);
+    }
+
+    @Test
+    void indexInfoPerDataSource() throws SQLException {
+        Connection first = indexConnection("jdbc:h2:mem:first", "id");
+        Connection second = indexConnection("jdbc:h2:mem:second", "name");
+        // 未指定库名时按连接的数据库地址与 catalog, schema 区分缓存
+        assertThat(interceptor.getIndexInfos(null, "t_user", first)).extracting("columnName").containsExactly("id");
+        assertThat(interceptor.getIndexInfos(null, "t_user", second)).extracting("columnName").containsExactly("name");
+        assertThat(interceptor.getIndexInfos(null, "t_user", first)).extracting("columnName").containsExactly("id");
+        verify(first.getMetaData(), times(1)).getIndexInfo("public", "public", "t_user", false, true);
+        verify(second.getMetaData(), times(1)).getIndexInfo("public", "public", "t_user", false, true);
+    }
+
+    private Connection indexConnection(String url, String column) throws SQLException {
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(connection.getCatalog()).thenReturn("public");
+        when(connection.getSchema()).thenReturn("public");
+        when(metaData.getURL()).thenReturn(url);
+        doAnswer(invocation -> indexResultSet(column)).when(metaData).getIndexInfo("public", "public", "t_user", false, true);
+        return connection;
+    }
+
+    private IllegalSQLInnerInterceptor countingInterceptor() {
+        return new IllegalSQLInnerInterceptor() {
+            @Override
+            public String parserSingle(String sql, Object obj) {
+                parsed.incrementAndGet();
+                return sql;
+            }
+        };
+    }
+
+    private StatementHandler statementHandler(String id, SqlCommandType sqlCommandType, String sql) {
+        MappedStatement ms = new MappedStatement.Builder(configuration, id,
+            new StaticSqlSource(configuration, sql), sqlCommandType).build();
+        return new RoutingStatementHandler(mock(Executor.class), ms, null, RowBounds.DEFAULT, null, ms.getBoundSql(null));
+    }
+
+    private List<?> indexInfos(Connection connection) {
+        return interceptor.getIndexInfos("db", "t_user", connection);
+    }
+
+    private ResultSet indexResultSet(String column) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getString(1)).thenReturn("db");
+        when(resultSet.getString(3)).thenReturn("t_user");
+        when(resultSet.getString(8)).thenReturn("1");
+        when(resultSet.getString(9)).thenReturn(column);
+        return resultSet;
+    }
 }
@@ -0,0 +1,137 @@
+package com.baomidou.mybatisplus.extension.plugins.inner;
+
+import com.baomidou.mybatisplus.core.metadata.CountStrategy;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author agent
+ * @since 3.5.6
+ */
+class PaginationCountStrategyTest {
+
+    private final Configuration configuration = new Configuration();
+    private final MappedStatement ms = new MappedStatement.Builder(configuration, "test.countStrategy",
+        new StaticSqlSource(configuration, "select * from user"), SqlCommandType.SELECT).build();
+    private final Executor executor = mock(Executor.class);
+
+    @BeforeEach
+    void init() {
+        when(executor.createCacheKey(any(), any(), any(), any())).thenReturn(new CacheKey(new Object[]{"count"}));
+    }
+
+    @Test
+    void estimatedZero() throws SQLException {
+        PaginationInnerInterceptor interceptor = estimated(0L);
+        interceptor.setOverflow(true);
+        Page<Object> page = page(3, CountStrategy.ESTIMATED);
+        assertThat(willDoQuery(interceptor, page)).isTrue();
+        assertThat(page.getTotal()).isZero();
+        assertThat(page.getCurrent()).isEqualTo(3);
+        verify(executor, never()).query(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void estimatedBelowOffset() throws SQLException {
+        PaginationInnerInterceptor interceptor = estimated(5L);
+        interceptor.setOverflow(true);
+        Page<Object> page = page(3, CountStrategy.ESTIMATED);
+        assertThat(willDoQuery(interceptor, page)).isTrue();
+        assertThat(page.getTotal()).isEqualTo(5);
+        assertThat(page.getCurrent()).isEqualTo(3);
+    }
+
+    @Test
+    void cachedStale() throws SQLException {
+        PaginationInnerInterceptor interceptor = new PaginationInnerInterceptor();
+        interceptor.setOverflow(true);
+        mockCount(0L);
+        // 精确 count 为 0 时不执行数据查询
+        assertThat(willDoQuery(interceptor, page(1, CountStrategy.CACHED))).isFalse();
+        // 命中缓存的 0 不再跳过数据查询, 也不处理溢出
+        Page<Object> page = page(3, CountStrategy.CACHED);
+        assertThat(willDoQuery(interceptor, page)).isTrue();
+        assertThat(page.getTotal()).isZero();
+        assertThat(page.getCurrent()).isEqualTo(3);
+        verify(executor, times(1)).query(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void asyncWithoutOverflow() throws SQLException {
+        PaginationInnerInterceptor interceptor = new PaginationInnerInterceptor() {
+            @Override
+            protected Future<Long> asyncCount(MappedStatement countMs, Object parameter, BoundSql countSql) {
+                return CompletableFuture.completedFuture(7L);
+            }
+        };
+        interceptor.setAsyncCountExecutor(Executors.newSingleThreadExecutor());
+        try {
+            Page<Object> page = page(1, CountStrategy.ASYNC);
+            assertThat(willDoQuery(interceptor, page)).isTrue();
+            assertThat(page.getTotal()).isEqualTo(7);
+            verify(executor, never()).query(any(), any(), any(), any(), any(), any());
+        } finally {
+            interceptor.getAsyncCountExecutor().shutdown();
+        }
+    }
+
+    @Test
+    void asyncWithOverflow() throws SQLException {
+        PaginationInnerInterceptor interceptor = new PaginationInnerInterceptor();
+        interceptor.setOverflow(true);
+        interceptor.setAsyncCountExecutor(Executors.newSingleThreadExecutor());
+        try {
+            mockCount(15L);
+            Page<Object> page = page(5, CountStrategy.ASYNC);
+            assertThat(willDoQuery(interceptor, page)).isTrue();
+            assertThat(page.getTotal()).isEqualTo(15);
+            assertThat(page.getCurrent()).isEqualTo(1);
+        } finally {
+            interceptor.getAsyncCountExecutor().shutdown();
+        }
+    }
+
+    private PaginationInnerInterceptor estimated(Long estimated) {
+        return new PaginationInnerInterceptor() {
+            @Override
+            protected Long estimateCount(Executor executor, MappedStatement ms, Object parameter, BoundSql boundSql) {
+                return estimated;
+            }
+        };
+    }
+
+    private Page<Object> page(long current, CountStrategy countStrategy) {
+        Page<Object> page = new Page<>(current, 10);
+        page.setCountStrategy(countStrategy);
+        return page;
+    }
+
+    private void mockCount(long total) throws SQLException {
+        when(executor.<Object>query(any(), any(), any(), any(), any(), any())).thenReturn(Collections.singletonList(total));
+    }
+
+    private boolean willDoQuery(PaginationInnerInterceptor interceptor, Page<Object> page) throws SQLException {
+        BoundSql boundSql = new BoundSql(configuration, "select * from user", new ArrayList<>(), page);
+        return interceptor.willDoQuery(executor, ms, page, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER, boundSql);
+    }
+}
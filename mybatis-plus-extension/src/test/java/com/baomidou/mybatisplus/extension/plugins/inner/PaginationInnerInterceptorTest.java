@@ -1,12 +1,20 @@
 package com.baomidou.mybatisplus.extension.plugins.inner;
 
+import com.baomidou.mybatisplus.core.exceptions.MybatisPlusException;
 import com.baomidou.mybatisplus.core.metadata.OrderItem;
+import com.baomidou.mybatisplus.extension.parser.JsqlParserGlobal;
+import com.baomidou.mybatisplus.extension.parser.JsqlParserTimeoutException;
+import com.baomidou.mybatisplus.extension.plugins.pagination.KeysetPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.session.Configuration;
 import org.junit.jupiter.api.Test;
 
-import java.util.Arrays;
+import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * @author miemie
@@ -94,6 +102,142 @@ class PaginationInnerInterceptorTest {
             "SELECT COUNT(*) AS total FROM order_info LEFT JOIN (SELECT count(1) FROM order_info WHERE create_time BETWEEN ? AND ?) tt ON 1 = 1 WHERE equipment_id = ?");
     }
 
+    @Test
+    void countSqlCache() {
+        String sql = "select * from user u LEFT JOIN role r ON r.id = u.role_id";
+        String countSql = "SELECT COUNT(*) AS total FROM user u";
+        JsqlParserGlobal.setParserSingleFunc(s -> {
+            throw new JsqlParserTimeoutException("parse timeout");
+        });
+        try {
+            // 解析超时降级, 结果不缓存
+            assertsCountSql(sql, "SELECT COUNT(*) FROM (" + sql + ") TOTAL");
+            assertThat(interceptor.getCountSqlCache().asMap()).isEmpty();
+        } finally {
+            JsqlParserGlobal.setParserSingleFunc(CCJSqlParserUtil::parse);
+        }
+        assertsCountSql(sql, countSql);
+        assertThat(interceptor.getCountSqlCache().asMap()).hasSize(1);
+
+        // 命中缓存不再解析
+        JsqlParserGlobal.setParserSingleFunc(s -> {
+            throw new AssertionError("should not parse: " + s);
+        });
+        try {
+            assertsCountSql(sql, countSql);
+        } finally {
+            JsqlParserGlobal.setParserSingleFunc(CCJSqlParserUtil::parse);
+        }
+
+        // 无法解析的 sql 降级结果照常缓存
+        assertsCountSql("select * from user where", "SELECT COUNT(*) FROM (select * from user where) TOTAL");
+        assertThat(interceptor.getCountSqlCache().asMap()).hasSize(2);
+    }
+
+    @Test
+    void cacheSettingsChanged() {
+        PaginationInnerInterceptor interceptor = new PaginationInnerInterceptor();
+        Object countCache = interceptor.getCountCache();
+        Object countSqlCache = interceptor.getCountSqlCache();
+        assertThat(interceptor.getCountCache()).isSameAs(countCache);
+
+        // 首次使用之后修改设置, 重新创建缓存
+        Properties properties = new Properties();
+        properties.setProperty("countCacheTtl", "1000");
+        interceptor.setProperties(properties);
+        assertThat(interceptor.getCountCacheTtl()).isEqualTo(1000L);
+        assertThat(interceptor.getCountCache()).isNotSameAs(countCache);
+        assertThat(interceptor.getCountSqlCache()).isSameAs(countSqlCache);
+
+        countCache = interceptor.getCountCache();
+        interceptor.setCountCacheSize(10);
+        assertThat(interceptor.getCountCache()).isNotSameAs(countCache);
+        interceptor.setCountSqlCacheSize(10);
+        assertThat(interceptor.getCountSqlCache()).isNotSameAs(countSqlCache);
+
+        // 缓存不参与 equals
+        PaginationInnerInterceptor other = new PaginationInnerInterceptor();
+        other.setCountCacheTtl(1000);
+        other.setCountCacheSize(10);
+        other.setCountSqlCacheSize(10);
+        assertThat(interceptor).isEqualTo(other);
+    }
+
+    @Test
+    void keyset() {
+        Configuration configuration = new Configuration();
+        KeysetPage<Object> page = new KeysetPage<>(10, Arrays.asList(1, 2));
+        page.addOrder(OrderItem.desc("u.age"), OrderItem.asc("u.id"));
+        List<ParameterMapping> mappings = new ArrayList<>();
+        mappings.add(new ParameterMapping.Builder(configuration, "name", String.class).build());
+        Map<String, Object> parameters = new HashMap<>();
+        assertThat(interceptor.buildKeysetSql(page, "select * from user u where u.name = ? order by u.name", mappings, configuration, parameters))
+            .isEqualTo("SELECT * FROM user u WHERE u.name = ? AND ((u.age < ?) OR (u.age = ? AND u.id > ?)) ORDER BY u.age DESC, u.id ASC");
+        assertThat(mappings).extracting(ParameterMapping::getProperty)
+            .containsExactly("name", "mybatis_plus_keyset_0", "mybatis_plus_keyset_1", "mybatis_plus_keyset_2");
+        assertThat(parameters).containsEntry("mybatis_plus_keyset_0", 1).containsEntry("mybatis_plus_keyset_2", 2);
+
+        page = new KeysetPage<>(10, Arrays.asList(1, 2));
+        page.addOrder(OrderItem.asc("age"), OrderItem.asc("id"));
+        page.setRowValueComparison(true);
+        assertThat(interceptor.buildKeysetSql(page, "select * from user", new ArrayList<>(), configuration, new HashMap<>()))
+            .isEqualTo("SELECT * FROM user WHERE (age, id) > (?, ?) ORDER BY age ASC, id ASC");
+
+        // 第一页只替换排序
+        page = new KeysetPage<>(10);
+        page.addOrder(OrderItem.asc("id"));
+        assertThat(interceptor.buildKeysetSql(page, "select * from user where a = ? or b = ?", new ArrayList<>(), configuration, new HashMap<>()))
+            .isEqualTo("SELECT * FROM user WHERE a = ? OR b = ? ORDER BY id ASC");
+        page.setCursor(Collections.singletonList(3));
+        assertThat(interceptor.buildKeysetSql(page, "select * from user where a = ? or b = ?", new ArrayList<>(), configuration, new HashMap<>()))
+            .isEqualTo("SELECT * FROM user WHERE (a = ? OR b = ?) AND (id > ?) ORDER BY id ASC");
+    }
+
+    @Test
+    void keysetWithJoinAndHaving() {
+        Configuration configuration = new Configuration();
+        KeysetPage<Object> page = new KeysetPage<>(10, Collections.singletonList(5));
+        page.addOrder(OrderItem.asc("u.id"));
+        List<ParameterMapping> mappings = new ArrayList<>();
+        mappings.add(new ParameterMapping.Builder(configuration, "name", String.class).build());
+        mappings.add(new ParameterMapping.Builder(configuration, "total", Integer.class).build());
+        assertThat(interceptor.buildKeysetSql(page, "select u.id, count(*) from user u left join dept d on d.id = u.dept_id " +
+            "where u.name = ? group by u.id having count(*) > ?", mappings, configuration, new HashMap<>()))
+            .isEqualTo("SELECT u.id, count(*) FROM user u LEFT JOIN dept d ON d.id = u.dept_id WHERE u.name = ? AND (u.id > ?) " +
+                "GROUP BY u.id HAVING count(*) > ? ORDER BY u.id ASC");
+        // 游标参数在 having 参数之前
+        assertThat(mappings).extracting(ParameterMapping::getProperty)
+            .containsExactly("name", "mybatis_plus_keyset_0", "total");
+
+        // 字符串常量中的 ? 不是参数, 子查询中的 ? 是参数
+        mappings = new ArrayList<>();
+        mappings.add(new ParameterMapping.Builder(configuration, "name", String.class).build());
+        mappings.add(new ParameterMapping.Builder(configuration, "code", String.class).build());
+        interceptor.buildKeysetSql(page, "select u.id, max(u.remark) from user u where u.name = ? group by u.id " +
+            "having max(u.remark) <> '?' and count(*) > (select count(*) from dept where code = ?)", mappings, configuration, new HashMap<>());
+        assertThat(mappings).extracting(ParameterMapping::getProperty)
+            .containsExactly("name", "mybatis_plus_keyset_0", "code");
+    }
+
+    @Test
+    void keysetUnsupported() {
+        Configuration configuration = new Configuration();
+        KeysetPage<Object> page = new KeysetPage<>(10, Collections.singletonList(1));
+        page.addOrder(OrderItem.asc("ct"));
+        assertThatThrownBy(() -> interceptor.buildKeysetSql(page, "select create_time as ct from user", new ArrayList<>(), configuration, new HashMap<>()))
+            .isInstanceOf(MybatisPlusException.class);
+
+        KeysetPage<Object> union = new KeysetPage<>(10, Collections.singletonList(1));
+        union.addOrder(OrderItem.asc("id"));
+        assertThatThrownBy(() -> interceptor.buildKeysetSql(union, "select id from a union select id from b", new ArrayList<>(), configuration, new HashMap<>()))
+            .isInstanceOf(MybatisPlusException.class);
+
+        KeysetPage<Object> nullCursor = new KeysetPage<>(10, Arrays.asList(null, 1));
+        nullCursor.addOrder(OrderItem.asc("age"), OrderItem.asc("id"));
+        assertThatThrownBy(() -> interceptor.buildKeysetSql(nullCursor, "select * from user", new ArrayList<>(), configuration, new HashMap<>()))
+            .isInstanceOf(MybatisPlusException.class);
+    }
+
     void assertsCountSql(String sql, String targetSql) {
         assertThat(interceptor.autoCountSql(new Page<>(), sql)).isEqualTo(targetSql);
     }
@@ -1,5 +1,6 @@
 package com.baomidou.mybatisplus.extension.plugins.inner;
 
+import com.baomidou.mybatisplus.core.exceptions.MybatisPlusException;
 import com.baomidou.mybatisplus.extension.plugins.handler.TenantLineHandler;
 import net.sf.jsqlparser.expression.Expression;
 import net.sf.jsqlparser.expression.LongValue;
@@ -8,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import java.util.Objects;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * @author miemie
@@ -35,6 +37,17 @@ class TenantLineInnerInterceptorTest {
         }
     });
 
+    @Test
+    void merge() {
+        // MERGE 语句无法追加租户条件, 拒绝执行
+        assertThatThrownBy(() -> interceptor.parserSingle("MERGE INTO entity T USING (SELECT ? AS id, ? AS name FROM DUAL) S ON (T.id = S.id)"
+            + " WHEN MATCHED THEN UPDATE SET name = S.name WHEN NOT MATCHED THEN INSERT (id, name) VALUES (S.id, S.name)", null))
+            .isInstanceOf(MybatisPlusException.class);
+        // 忽略的表不处理
+        String sql = "MERGE INTO sys_dict T USING (SELECT ? AS id FROM DUAL) S ON (T.id = S.id) WHEN NOT MATCHED THEN INSERT (id) VALUES (S.id)";
+        assertThat(interceptor.parserSingle(sql, null)).doesNotContain("tenant_id");
+    }
+
     @Test
     void insert() {
         // plain
@@ -0,0 +1,132 @@
+package com.baomidou.mybatisplus.extension.toolkit;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.enums.SqlMethod;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import lombok.Data;
+import lombok.experimental.Accessors;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.apache.ibatis.logging.nologging.NoLoggingImpl;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author agent
+ * @since 3.5.6
+ */
+class SqlHelperTest {
+
+    @Test
+    void maxBindParameters() {
+        assertThat(SqlHelper.maxBindParameters(DbType.MYSQL)).isEqualTo(65535);
+        assertThat(SqlHelper.maxBindParameters(DbType.ORACLE)).isEqualTo(65535);
+        assertThat(SqlHelper.maxBindParameters(DbType.SQL_SERVER)).isEqualTo(2000);
+        assertThat(SqlHelper.maxBindParameters(DbType.SQL_SERVER2005)).isEqualTo(2000);
+        assertThat(SqlHelper.maxBindParameters(DbType.SQLITE)).isEqualTo(999);
+        assertThat(SqlHelper.maxBindParameters(DbType.POSTGRE_SQL)).isEqualTo(32767);
+    }
+
+    @Test
+    void insertBatchRows() {
+        // 期望行数未超过参数上限
+        assertThat(SqlHelper.insertBatchRows(DbType.MYSQL, 1000, 10)).isEqualTo(1000);
+        // 按参数上限截断
+        assertThat(SqlHelper.insertBatchRows(DbType.MYSQL, 10000, 10)).isEqualTo(6553);
+        assertThat(SqlHelper.insertBatchRows(DbType.SQLITE, 1000, 10)).isEqualTo(99);
+        assertThat(SqlHelper.insertBatchRows(DbType.POSTGRE_SQL, 1000, 100)).isEqualTo(327);
+        assertThat(SqlHelper.insertBatchRows(DbType.SQL_SERVER, 5000, 3)).isEqualTo(666);
+        // SQL Server 表值构造函数最多 1000 行
+        assertThat(SqlHelper.insertBatchRows(DbType.SQL_SERVER, 5000, 1)).isEqualTo(1000);
+        assertThat(SqlHelper.insertBatchRows(DbType.SQL_SERVER2005, 5000, 1)).isEqualTo(1000);
+        // 列数小于 1 按 1 计算
+        assertThat(SqlHelper.insertBatchRows(DbType.POSTGRE_SQL, 1000, 0)).isEqualTo(1000);
+        // 单行参数超过上限时至少插入 1 行
+        assertThat(SqlHelper.insertBatchRows(DbType.SQLITE, 1000, 2000)).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void executeInsertBatch() throws Exception {
+        SqlSessionFactory sqlSessionFactory = mock(SqlSessionFactory.class);
+        SqlSession sqlSession = mock(SqlSession.class);
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(sqlSessionFactory.openSession(ExecutorType.BATCH)).thenReturn(sqlSession);
+        when(sqlSession.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getURL()).thenReturn("jdbc:sqlite:test.db");
+
+        List<Integer> list = IntStream.range(0, 250).boxed().collect(Collectors.toList());
+        assertThat(SqlHelper.executeInsertBatch(sqlSessionFactory, new NoLoggingImpl("test"), "insertBatch", list, 1000, 10)).isTrue();
+
+        // sqlite 每条语句最多 999 个参数, 每行 10 列按 99 行分块
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(sqlSession, times(3)).insert(eq("insertBatch"), captor.capture());
+        List<List<Integer>> chunks = captor.getAllValues().stream().map(o -> (List<Integer>) o).collect(Collectors.toList());
+        assertThat(chunks).extracting(List::size).containsExactly(99, 99, 52);
+        assertThat(chunks.stream().flatMap(List::stream).collect(Collectors.toList())).isEqualTo(list);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void saveOrUpdateBatchInLimit() {
+        MybatisConfiguration configuration = new MybatisConfiguration();
+        MapperBuilderAssistant assistant = new MapperBuilderAssistant(configuration, "");
+        assistant.setCurrentNamespace(BatchMapper.class.getName());
+        TableInfo tableInfo = TableInfoHelper.initTableInfo(assistant, Batch.class);
+        SqlSessionFactory sqlSessionFactory = mock(SqlSessionFactory.class);
+        SqlSession sqlSession = mock(SqlSession.class);
+        when(sqlSessionFactory.openSession(ExecutorType.BATCH)).thenReturn(sqlSession);
+
+        List<Batch> list = LongStream.range(0, 2500).mapToObj(id -> new Batch().setId(id)).collect(Collectors.toList());
+        assertThat(SqlHelper.saveOrUpdateBatch(sqlSessionFactory, tableInfo, new NoLoggingImpl("test"), list, 2500,
+            (session, entity) -> session.update("updateById", entity))).isTrue();
+
+        // 一个批次的主键按每次最多 1000 个拆分查询
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(sqlSession, times(3)).selectList(eq(tableInfo.getSqlStatement(SqlMethod.SELECT_BATCH_BY_IDS.getMethod())), captor.capture());
+        assertThat(captor.getAllValues()).extracting(param -> ((Collection<Object>) ((Map<String, Object>) param).get(Constants.COLL)).size())
+            .containsExactly(1000, 1000, 500);
+        verify(sqlSession, times(2500)).insert(eq(tableInfo.getSqlStatement(SqlMethod.INSERT_ONE.getMethod())), any(Batch.class));
+    }
+
+    interface BatchMapper extends BaseMapper<Batch> {
+    }
+
+    @Data
+    @Accessors(chain = true)
+    @TableName("t_batch")
+    static class Batch {
+
+        @TableId
+        private Long id;
+
+        private String name;
+    }
+}
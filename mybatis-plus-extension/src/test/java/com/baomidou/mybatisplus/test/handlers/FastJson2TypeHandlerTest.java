@@ -1,5 +1,6 @@
 package com.baomidou.mybatisplus.test.handlers;
 
+import com.alibaba.fastjson2.JSONException;
 import com.baomidou.mybatisplus.extension.handlers.Fastjson2TypeHandler;
 import com.baomidou.mybatisplus.test.model.UserBean;
 import org.apache.ibatis.type.JdbcType;
@@ -9,6 +10,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -79,4 +81,10 @@ public class FastJson2TypeHandlerTest extends BaseTypeHandlerTest {
         assertEquals(bean.getId(), 123L);
         assertEquals(bean.getName(), "测试");
     }
+
+    @Test
+    public void trailingContent() {
+        assertEquals(new UserBean(1L, "a"), FASTJSON_TYPE_HANDLER.parse("{\"id\":1,\"name\":\"a\"} "));
+        assertThrows(JSONException.class, () -> FASTJSON_TYPE_HANDLER.parse("{\"id\":1,\"name\":\"a\"} x"));
+    }
 }
@@ -2,6 +2,7 @@ package com.baomidou.mybatisplus.test.handlers;
 
 import com.baomidou.mybatisplus.extension.handlers.GsonTypeHandler;
 import com.baomidou.mybatisplus.test.model.UserBean;
+import com.google.gson.JsonSyntaxException;
 import org.apache.ibatis.type.JdbcType;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -9,6 +10,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 /**
@@ -77,4 +79,16 @@ public class GsonTypeHandlerTest extends BaseTypeHandlerTest {
         assertEquals(bean.getId(), 123L);
         assertEquals(bean.getName(), "测试");
     }
+
+    @Test
+    public void lenientParse() {
+        Assertions.assertNull(GSON_TYPE_HANDLER.parse(""));
+        assertEquals(new UserBean(1L, "a"), GSON_TYPE_HANDLER.parse(" {\"id\":1,\"name\":\"a\"} "));
+        // 与 Gson#fromJson 一致兼容单引号,无引号字段名与注释
+        assertEquals(new UserBean(1L, "a"), GSON_TYPE_HANDLER.parse("{'id':1,'name':'a'}"));
+        assertEquals(new UserBean(1L, "a"), GSON_TYPE_HANDLER.parse("{id:1,/* 注释 */name:'a'}"));
+        // 多余内容解析失败
+        assertThrows(JsonSyntaxException.class, () -> GSON_TYPE_HANDLER.parse("{\"id\":1,\"name\":\"a\"} x"));
+        assertThrows(JsonSyntaxException.class, () -> GSON_TYPE_HANDLER.parse("{\"id\":1}{\"id\":2}"));
+    }
 }
@@ -2,6 +2,8 @@ package com.baomidou.mybatisplus.test.handlers;
 
 import com.baomidou.mybatisplus.extension.handlers.JacksonTypeHandler;
 import com.baomidou.mybatisplus.test.model.UserBean;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import org.apache.ibatis.type.JdbcType;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -78,4 +80,20 @@ public class JacksonTypeHandlerTest extends BaseTypeHandlerTest {
         assertEquals(bean.getName(), "测试");
     }
 
+    @Test
+    public void rebindOnObjectMapperChange() {
+        JacksonTypeHandler handler = new JacksonTypeHandler(UserBean.class);
+        ObjectMapper original = JacksonTypeHandler.getObjectMapper();
+        assertEquals("{\"id\":1,\"name\":\"a\"}", handler.toJson(new UserBean(1L, "a")));
+        try {
+            // 替换 ObjectMapper 后缓存的 reader/writer 需要重新绑定
+            JacksonTypeHandler.setObjectMapper(new ObjectMapper().setPropertyNamingStrategy(PropertyNamingStrategies.UPPER_CAMEL_CASE));
+            assertEquals("{\"Id\":1,\"Name\":\"a\"}", handler.toJson(new UserBean(1L, "a")));
+            assertEquals(new UserBean(2L, "b"), handler.parse("{\"Id\":2,\"Name\":\"b\"}"));
+        } finally {
+            JacksonTypeHandler.setObjectMapper(original);
+        }
+        assertEquals("{\"id\":1,\"name\":\"a\"}", handler.toJson(new UserBean(1L, "a")));
+        assertEquals(new UserBean(2L, "b"), handler.parse("{\"id\":2,\"name\":\"b\"}"));
+    }
 }
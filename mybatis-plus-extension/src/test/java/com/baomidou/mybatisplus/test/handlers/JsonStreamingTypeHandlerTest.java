@@ -0,0 +1,115 @@
+package com.baomidou.mybatisplus.test.handlers;
+
+import com.baomidou.mybatisplus.extension.handlers.AbstractJsonTypeHandler;
+import com.baomidou.mybatisplus.extension.handlers.Fastjson2TypeHandler;
+import com.baomidou.mybatisplus.extension.handlers.GsonTypeHandler;
+import com.baomidou.mybatisplus.extension.handlers.JacksonTypeHandler;
+import com.baomidou.mybatisplus.test.model.UserBean;
+import org.apache.ibatis.type.JdbcType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author agent
+ * @since 3.5.6
+ */
+@ExtendWith(MockitoExtension.class)
+class JsonStreamingTypeHandlerTest {
+
+    @Mock
+    private ResultSet resultSet;
+    @Mock
+    private PreparedStatement preparedStatement;
+    @Mock
+    private CallableStatement callableStatement;
+
+    private List<AbstractJsonTypeHandler<Object>> handlers() {
+        List<AbstractJsonTypeHandler<Object>> handlers = Arrays.asList(new JacksonTypeHandler(UserBean.class),
+            new GsonTypeHandler(UserBean.class), new Fastjson2TypeHandler(UserBean.class));
+        handlers.forEach(handler -> handler.setStreaming(true));
+        return handlers;
+    }
+
+    @Test
+    void blankValue() throws Exception {
+        for (AbstractJsonTypeHandler<Object> handler : handlers()) {
+            when(resultSet.getCharacterStream("column")).thenReturn(null);
+            assertThat(handler.getResult(resultSet, "column")).isNull();
+            when(resultSet.getCharacterStream(1)).thenReturn(new StringReader(""));
+            assertThat(handler.getResult(resultSet, 1)).isNull();
+            when(callableStatement.getCharacterStream(1)).thenReturn(new StringReader(" \n\t "));
+            assertThat(handler.getResult(callableStatement, 1)).isNull();
+        }
+    }
+
+    @Test
+    void leadingWhitespace() throws Exception {
+        for (AbstractJsonTypeHandler<Object> handler : handlers()) {
+            // 跳过的空白字符之后的第一个字符需要退回给解析器
+            when(resultSet.getCharacterStream("column")).thenReturn(new StringReader("  \n{\"id\":123,\"name\":\"测试\"}"));
+            assertThat(handler.getResult(resultSet, "column")).isEqualTo(new UserBean(123L, "测试"));
+        }
+    }
+
+    @Test
+    void roundTrip() throws Exception {
+        UserBean bean = new UserBean(1L, "流式");
+        for (AbstractJsonTypeHandler<Object> handler : handlers()) {
+            handler.setParameter(preparedStatement, 1, bean, JdbcType.VARCHAR);
+            ArgumentCaptor<Reader> captor = ArgumentCaptor.forClass(Reader.class);
+            ArgumentCaptor<Integer> length = ArgumentCaptor.forClass(Integer.class);
+            verify(preparedStatement).setCharacterStream(eq(1), captor.capture(), length.capture());
+            String json = read(captor.getValue());
+            assertThat(json).isEqualTo(handler.toJson(bean));
+            assertThat(length.getValue()).isEqualTo(json.length());
+
+            when(resultSet.getCharacterStream(1)).thenReturn(new StringReader(json));
+            assertThat(handler.getResult(resultSet, 1)).isEqualTo(bean);
+            reset(preparedStatement);
+        }
+    }
+
+    @Test
+    void perHandler() throws Exception {
+        JacksonTypeHandler streaming = new JacksonTypeHandler(UserBean.class);
+        streaming.setStreaming(true);
+        JacksonTypeHandler plain = new JacksonTypeHandler(UserBean.class);
+        // 开启流式只作用于当前实例
+        assertThat(streaming.isStreaming()).isTrue();
+        assertThat(plain.isStreaming()).isFalse();
+
+        plain.setParameter(preparedStatement, 1, new UserBean(1L, "a"), JdbcType.VARCHAR);
+        verify(preparedStatement).setString(1, "{\"id\":1,\"name\":\"a\"}");
+        verify(preparedStatement, never()).setCharacterStream(anyInt(), any(Reader.class), anyInt());
+    }
+
+    private String read(Reader reader) throws Exception {
+        StringBuilder builder = new StringBuilder();
+        char[] chars = new char[256];
+        int n;
+        while ((n = reader.read(chars)) != -1) {
+            builder.append(chars, 0, n);
+        }
+        return builder.toString();
+    }
+}
@@ -26,8 +26,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -136,6 +140,45 @@ public class MybatisEnumTypeHandlerTest extends BaseTypeHandlerTest {
         assertNull(SEX_ENUM_ENUM_TYPE_HANDLER.getResult(callableStatement, 1));
     }
 
+    @Test
+    void numberValueNormalize() throws Exception {
+        // 数据库返回的数值类型与枚举属性类型不一致时按数值匹配
+        for (Object value : new Object[]{1, 1L, (short) 1, 1.0D, new BigDecimal("1"), new BigDecimal("1.00")}) {
+            doReturn(value).when(resultSet).getObject("column", Integer.class);
+            assertEquals(GradeEnum.PRIMARY, GRADE_ENUM_ENUM_TYPE_HANDLER.getResult(resultSet, "column"), String.valueOf(value));
+        }
+        doReturn("2").when(resultSet).getObject("column", Integer.class);
+        assertEquals(GradeEnum.SECONDARY, GRADE_ENUM_ENUM_TYPE_HANDLER.getResult(resultSet, "column"));
+        doReturn(1.5D).when(resultSet).getObject("column", Integer.class);
+        assertNull(GRADE_ENUM_ENUM_TYPE_HANDLER.getResult(resultSet, "column"));
+
+        MybatisEnumTypeHandler<RateEnum> rateHandler = new MybatisEnumTypeHandler<>(RateEnum.class);
+        for (Object value : new Object[]{1, 1L, 1.0D, new BigDecimal("1"), new BigDecimal("1.000")}) {
+            doReturn(value).when(resultSet).getObject("column", Double.class);
+            assertEquals(RateEnum.ONE, rateHandler.getResult(resultSet, "column"), String.valueOf(value));
+        }
+        doReturn(new BigDecimal("2.50")).when(resultSet).getObject("column", Double.class);
+        assertEquals(RateEnum.TWO_HALF, rateHandler.getResult(resultSet, "column"));
+    }
+
+    @Test
+    void overrideEqualsValue() throws Exception {
+        // 子类重写 equalsValue 时逐个比较, 不使用查找表
+        AtomicInteger compared = new AtomicInteger();
+        MybatisEnumTypeHandler<CodeEnum> handler = new MybatisEnumTypeHandler<CodeEnum>(CodeEnum.class) {
+            @Override
+            protected boolean equalsValue(Object sourceValue, Object targetValue) {
+                compared.incrementAndGet();
+                return String.valueOf(sourceValue).equalsIgnoreCase(String.valueOf(targetValue));
+            }
+        };
+        when(resultSet.getObject("column", String.class)).thenReturn("B");
+        assertEquals(CodeEnum.B, handler.getResult(resultSet, "column"));
+        assertEquals(2, compared.get());
+        // 默认实现区分大小写
+        assertNull(new MybatisEnumTypeHandler<>(CodeEnum.class).getResult(resultSet, "column"));
+    }
+
     @Getter
     @AllArgsConstructor
     enum SexEnum implements IEnum<Integer> {
@@ -175,4 +218,24 @@ public class MybatisEnumTypeHandlerTest extends BaseTypeHandlerTest {
         char code;
         String desc;
     }
+
+    @Getter
+    @AllArgsConstructor
+    enum RateEnum {
+        ONE(1.0D),
+        TWO_HALF(2.5D);
+
+        @EnumValue
+        private final Double rate;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    enum CodeEnum {
+        A("a"),
+        B("b");
+
+        @EnumValue
+        private final String code;
+    }
 }
@@ -47,6 +47,8 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static java.util.stream.Collectors.toList;
 
@@ -117,6 +119,69 @@ class H2UserMapperTest extends BaseTest {
         MybatisBatchUtils.execute(sqlSessionFactory, ids, method.insert(H2User::ofId));
     }
 
+    @Test
+    void testInsertOrUpdateBatch() {
+        List<H2User> h2UserList = Arrays.asList(new H2User(1300000L, "upsert1"), new H2User(1300001L, "upsert2"));
+        MybatisBatch.Method<H2User> method = new MybatisBatch.Method<>(H2UserMapper.class);
+        MybatisBatchUtils.execute(sqlSessionFactory, h2UserList, method.insertOrUpdate());
+        Assertions.assertEquals("upsert1", userMapper.selectById(1300000L).getName());
+        h2UserList.forEach(h2User -> h2User.setName(h2User.getName() + "-update"));
+        List<BatchResult> batchResults = MybatisBatchUtils.execute(sqlSessionFactory, h2UserList, method.insertOrUpdate());
+        // 同一条 sql 整批发送
+        Assertions.assertEquals(1, batchResults.size());
+        Assertions.assertEquals("upsert2-update", userMapper.selectById(1300001L).getName());
+    }
+
+    @Test
+    void testSaveOrUpdateByMethod() {
+        userMapper.insert(new H2User(1300010L, "exist"));
+        List<H2User> h2UserList = Arrays.asList(new H2User(1300010L, "exist-update"), new H2User(1300011L, "new"), new H2User(1300011L, "new-update"));
+        MybatisBatch.Method<H2User> method = new MybatisBatch.Method<>(H2UserMapper.class);
+        transactionTemplate.execute(status -> new MybatisBatch<>(sqlSessionFactory, h2UserList).saveOrUpdate(method));
+        Assertions.assertEquals("exist-update", userMapper.selectById(1300010L).getName());
+        Assertions.assertEquals("new-update", userMapper.selectById(1300011L).getName());
+    }
+
+    @Test
+    void testExecuteParallel() {
+        List<H2User> h2UserList = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            h2UserList.add(new H2User("parallel" + i));
+        }
+        MybatisBatch.Method<H2User> method = new MybatisBatch.Method<>(H2UserMapper.class);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<BatchResult> batchResults = MybatisBatchUtils.executeParallel(sqlSessionFactory, h2UserList, executor, 300, 1, method.insert());
+            Assertions.assertEquals(4, batchResults.size());
+            Assertions.assertEquals(1000, batchResults.stream().mapToInt(r -> r.getUpdateCounts().length).sum());
+        } finally {
+            executor.shutdown();
+        }
+        Assertions.assertEquals(1000L, userMapper.selectCount(Wrappers.<H2User>lambdaQuery().likeRight(H2User::getName, "parallel")));
+    }
+
+    @Test
+    void testExecuteParallelWithFailedPartition() {
+        List<H2User> h2UserList = new ArrayList<>();
+        for (int i = 0; i < 900; i++) {
+            H2User h2User = new H2User("parallelFail" + i);
+            h2User.setTestId(IdWorker.getId());
+            h2UserList.add(h2User);
+        }
+        // 第三个分区内主键冲突, 该分区整体回滚
+        h2UserList.get(899).setTestId(h2UserList.get(600).getTestId());
+        MybatisBatch.Method<H2User> method = new MybatisBatch.Method<>(H2UserMapper.class);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Assertions.assertThrows(PersistenceException.class,
+                () -> MybatisBatchUtils.executeParallel(sqlSessionFactory, h2UserList, executor, 300, 1, method.insert()));
+        } finally {
+            executor.shutdown();
+        }
+        Assertions.assertEquals(600L, userMapper.selectCount(Wrappers.<H2User>lambdaQuery().likeRight(H2User::getName, "parallelFail")));
+        Assertions.assertNull(userMapper.selectById(h2UserList.get(601).getTestId()));
+    }
+
     @Test
     void testInsertBatchByCustomMethod() {
         int batchSize = 1000;
@@ -15,6 +15,7 @@
  */
 package com.baomidou.mybatisplus.test.h2;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.AbstractList;
@@ -25,8 +26,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.exceptions.TooManyResultsException;
 import org.apache.ibatis.plugin.Interceptor;
 import org.apache.ibatis.session.Configuration;
@@ -50,6 +54,7 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
+import com.baomidou.mybatisplus.core.enums.SqlMethod;
 import com.baomidou.mybatisplus.core.exceptions.MybatisPlusException;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
@@ -62,9 +67,12 @@ import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.DataChangeRecorderInnerInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.baomidou.mybatisplus.extension.toolkit.Db;
 import com.baomidou.mybatisplus.test.h2.entity.H2User;
 import com.baomidou.mybatisplus.test.h2.enums.AgeEnum;
 import com.baomidou.mybatisplus.test.h2.mapper.H2StudentMapper;
+import com.baomidou.mybatisplus.test.h2.mapper.H2UserMapper;
 import com.baomidou.mybatisplus.test.h2.service.IH2UserService;
 
 import net.sf.jsqlparser.parser.CCJSqlParserUtil;
@@ -89,6 +97,9 @@ class H2UserTest extends BaseTest {
     @Autowired
     private H2StudentMapper h2StudentMapper;
 
+    @Autowired
+    private H2UserMapper userMapper;
+
     public void initBatchLimitation(int limitation) {
         if (sqlSessionFactory instanceof DefaultSqlSessionFactory) {
             Configuration configuration = sqlSessionFactory.getConfiguration();
@@ -710,6 +721,50 @@ class H2UserTest extends BaseTest {
             .like(H2User::getName, "tes")));
     }
 
+    @Test
+    void testSaveOrUpdateBatchByInsertOrUpdateMethod() {
+        ServiceImpl<H2UserMapper, H2User> service = new ServiceImpl<H2UserMapper, H2User>() {
+            {
+                this.baseMapper = userMapper;
+            }
+
+            @Override
+            protected String getInsertOrUpdateMethod() {
+                return SqlMethod.INSERT_OR_UPDATE.getMethod();
+            }
+        };
+        long id = IdWorker.getId();
+        Assertions.assertTrue(service.save(new H2User(id, "upsertBatchOld")));
+        H2User newUser = new H2User("upsertBatchNew");
+        Assertions.assertTrue(service.saveOrUpdateBatch(Arrays.asList(new H2User(id, "upsertBatchUpdated"), newUser)));
+        Assertions.assertEquals("upsertBatchUpdated", service.getById(id).getName());
+        Assertions.assertNotNull(newUser.getTestId());
+        Assertions.assertEquals("upsertBatchNew", service.getById(newUser.getTestId()).getName());
+    }
+
+    @Test
+    void testStreamAndCursor() throws IOException {
+        userService.saveBatch(Arrays.asList(new H2User("streamQuery1"), new H2User("streamQuery2"), new H2User("streamQuery3")));
+        LambdaQueryWrapper<H2User> wrapper = Wrappers.<H2User>lambdaQuery().likeRight(H2User::getName, "streamQuery").orderByAsc(H2User::getName);
+        try (Stream<H2User> stream = userService.stream(wrapper)) {
+            Assertions.assertEquals(Arrays.asList("streamQuery1", "streamQuery2", "streamQuery3"), stream.map(H2User::getName).collect(Collectors.toList()));
+        }
+        try (Stream<H2User> stream = Db.stream(wrapper)) {
+            Assertions.assertEquals(3, stream.count());
+        }
+        Cursor<H2User> cursor = userService.cursor(wrapper);
+        try {
+            Assertions.assertTrue(cursor.isOpen());
+            Assertions.assertEquals("streamQuery1", cursor.iterator().next().getName());
+        } finally {
+            cursor.close();
+        }
+        Assertions.assertFalse(cursor.isOpen());
+        // 打开游标失败时释放连接, 不影响后续查询
+        Assertions.assertThrows(MybatisPlusException.class, () -> userService.cursor(Wrappers.<H2User>query().apply("not_exists_column = 1")));
+        Assertions.assertEquals(3, userService.count(Wrappers.<H2User>lambdaQuery().likeRight(H2User::getName, "streamQuery")));
+    }
+
     @Test
     void testInsertFill() {
         H2User h2User;
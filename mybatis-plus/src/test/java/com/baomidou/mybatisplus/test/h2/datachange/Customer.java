@@ -0,0 +1,23 @@
+package com.baomidou.mybatisplus.test.h2.datachange;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * 表中的 remark 字段没有映射
+ *
+ * @author agent
+ * @since 3.5.6
+ */
+@Data
+@Accessors(chain = true)
+@TableName("dc_customer")
+public class Customer {
+
+    private Long id;
+
+    private String name;
+
+    private Integer age;
+}
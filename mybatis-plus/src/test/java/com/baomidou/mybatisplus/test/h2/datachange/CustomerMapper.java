@@ -0,0 +1,14 @@
+package com.baomidou.mybatisplus.test.h2.datachange;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Delete;
+
+/**
+ * @author agent
+ * @since 3.5.6
+ */
+public interface CustomerMapper extends BaseMapper<Customer> {
+
+    @Delete("delete from dc_order where id = #{id}")
+    int deleteOrder(Long id);
+}
@@ -0,0 +1,214 @@
+package com.baomidou.mybatisplus.test.h2.datachange;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.DataChangeRecorderInnerInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.DataChangeRecorderInnerInterceptor.DataChangedRecord;
+import com.baomidou.mybatisplus.extension.plugins.inner.DataChangeRecorderInnerInterceptor.OperationResult;
+import com.baomidou.mybatisplus.extension.plugins.inner.DataChangeRecorderInnerInterceptor.TableStats;
+import com.baomidou.mybatisplus.test.BaseDbTest;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * @author agent
+ * @since 3.5.6
+ */
+class DataChangeRecorderTest extends BaseDbTest<CustomerMapper> {
+
+    private DataChangeRecorderInnerInterceptor recorder;
+    private List<OperationResult> results;
+    private MaxRowsInterceptor maxRowsInterceptor;
+
+    @Test
+    void deleteBeforeImageColumns() {
+        doTestAutoCommit(m -> m.deleteById(1L));
+        assertThat(results).hasSize(1);
+        OperationResult result = results.get(0);
+        assertThat(result.getOperation()).isEqualTo("delete");
+        assertThat(result.getOriginalRows()).hasSize(1);
+        // 只查询实体映射的字段, 不包含未映射的 remark
+        assertThat(result.getOriginalRows().get(0).keySet()).containsExactly("ID", "NAME", "AGE");
+        assertThat(result.getOriginalRows().get(0).get("NAME")).isEqualTo("a");
+    }
+
+    @Test
+    void deleteBeforeImageAfterEntityInitialized() {
+        // 实体未初始化时查询全部字段
+        doTestAutoCommit(m -> m.deleteOrder(1L));
+        assertThat(results.get(0).getOriginalRows().get(0).keySet()).containsExactly("ID", "NAME", "REMARK");
+
+        // 未找到实体的结果不缓存, 实体初始化后只查询映射的字段
+        sqlSessionFactory.getConfiguration().addMapper(OrderMapper.class);
+        doTestAutoCommit(m -> m.deleteOrder(2L));
+        assertThat(results.get(1).getOriginalRows().get(0).keySet()).containsExactly("ID", "NAME");
+    }
+
+    @Test
+    void updateChangedRowsOnly() {
+        doTestAutoCommit(m -> m.update(null, Wrappers.<Customer>update().set("name", "b").le("id", 3)));
+        assertThat(results).hasSize(1);
+        // 第2行的值没有变化, 逐行比较时丢弃
+        List<DataChangedRecord> records = results.get(0).getChangedRecords();
+        assertThat(records.stream().map(DataChangedRecord::getPkColumnVal).collect(Collectors.toList()))
+            .containsExactly(1L, 3L);
+        assertThat(records.get(0).getUpdatedColumns()).hasSize(1);
+        assertThat(records.get(0).getUpdatedColumns().get(0).getOriginalValue()).isEqualTo("a");
+        assertThat(records.get(0).getUpdatedColumns().get(0).getUpdateValue()).isEqualTo("b");
+    }
+
+    @Test
+    void maxRowsCap() {
+        // 未开启批量更新上限时不限制前镜像查询
+        doTestAutoCommit(m -> m.update(null, Wrappers.<Customer>update().set("name", "x")));
+        assertThat(maxRowsInterceptor.maxRows).isEmpty();
+
+        // 前镜像查询最多读取 上限+1 行
+        recorder.openBatchUpdateLimitation().configTableLimitation("dc_customer", 5);
+        doTestAutoCommit(m -> m.update(null, Wrappers.<Customer>update().set("name", "y")));
+        assertThat(maxRowsInterceptor.maxRows).containsOnly(entry("SELECT name, id FROM dc_customer", 6));
+
+        maxRowsInterceptor.maxRows.clear();
+        recorder.configTableLimitation("dc_customer", 2);
+        assertThatThrownBy(() -> doTestAutoCommit(m -> m.update(null, Wrappers.<Customer>update().set("name", "z"))))
+            .hasRootCauseInstanceOf(DataChangeRecorderInnerInterceptor.DataUpdateLimitationException.class);
+        assertThat(maxRowsInterceptor.maxRows).containsValues(3);
+        assertThat(maxRowsInterceptor.maxRows).hasSize(1);
+    }
+
+    @Test
+    void beforeImageReuse() throws Exception {
+        doTestAutoCommit(m -> m.updateById(new Customer().setId(1L).setName("x")));
+        doTestAutoCommit(m -> m.updateById(new Customer().setId(2L).setName("y")));
+        // 相同的执行sql复用同一个前镜像查询
+        assertThat(beforeImageCache().asMap()).hasSize(1);
+        doTestAutoCommit(m -> m.deleteById(3L));
+        assertThat(beforeImageCache().asMap()).hasSize(2);
+        assertThat(results).hasSize(3);
+        assertThat(results.get(1).getChangedRecords().get(0).getPkColumnVal()).isEqualTo(2L);
+        assertThat(results.get(2).getOriginalRows()).hasSize(1);
+    }
+
+    @Test
+    void tableStats() {
+        doTestAutoCommit(m -> m.insert(new Customer().setId(4L).setName("d")));
+        doTestAutoCommit(m -> m.updateById(new Customer().setId(4L).setName("e")));
+        doTestAutoCommit(m -> m.deleteById(4L));
+        Map<String, TableStats> tableStats = recorder.getTableStats();
+        assertThat(tableStats).containsOnlyKeys("DC_CUSTOMER");
+        TableStats stats = tableStats.get("DC_CUSTOMER");
+        assertThat(stats.getCount()).isEqualTo(3);
+        assertThat(stats.getMaxNanos()).isPositive();
+        assertThat(stats.getTotalNanos()).isGreaterThanOrEqualTo(stats.getMaxNanos());
+        assertThat(stats.getAvgNanos()).isEqualTo(stats.getTotalNanos() / 3);
+        assertThatThrownBy(tableStats::clear).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<String, ?> beforeImageCache() throws Exception {
+        Field field = DataChangeRecorderInnerInterceptor.class.getDeclaredField("beforeImageCache");
+        field.setAccessible(true);
+        return (Cache<String, ?>) field.get(recorder);
+    }
+
+    @Override
+    protected List<Interceptor> interceptors() {
+        results = new CopyOnWriteArrayList<>();
+        recorder = new DataChangeRecorderInnerInterceptor().setDataChangeHandler(results::addAll);
+        MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+        interceptor.addInnerInterceptor(recorder);
+        // 最后添加的插件最先执行, 替换后续插件拿到的连接
+        maxRowsInterceptor = new MaxRowsInterceptor();
+        return Arrays.asList(interceptor, maxRowsInterceptor);
+    }
+
+    @Override
+    protected String tableDataSql() {
+        return "insert into dc_customer(id,name,age,remark) values(1,'a',1,'r1'),(2,'b',2,'r2'),(3,'c',3,'r3')";
+    }
+
+    @Override
+    protected List<String> tableSql() {
+        return Arrays.asList("drop table if exists dc_customer", "drop table if exists dc_order",
+            "CREATE TABLE IF NOT EXISTS dc_customer (\n" +
+                "id BIGINT NOT NULL,\n" +
+                "name VARCHAR(30) NULL DEFAULT NULL,\n" +
+                "age INT NULL DEFAULT NULL,\n" +
+                "remark VARCHAR(30) NULL DEFAULT NULL,\n" +
+                "PRIMARY KEY (id)" +
+                ")",
+            "CREATE TABLE IF NOT EXISTS dc_order (\n" +
+                "id BIGINT NOT NULL,\n" +
+                "name VARCHAR(30) NULL DEFAULT NULL,\n" +
+                "remark VARCHAR(30) NULL DEFAULT NULL,\n" +
+                "PRIMARY KEY (id)" +
+                ")",
+            "insert into dc_order(id,name,remark) values(1,'o1','r1'),(2,'o2','r2')");
+    }
+
+    /**
+     * 记录 PreparedStatement#setMaxRows 的调用
+     */
+    @Intercepts(@Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class}))
+    static class MaxRowsInterceptor implements Interceptor {
+
+        /**
+         * sql -> maxRows
+         */
+        private final Map<String, Integer> maxRows = new ConcurrentHashMap<>();
+
+        @Override
+        public Object intercept(Invocation invocation) throws Throwable {
+            Connection connection = (Connection) invocation.getArgs()[0];
+            invocation.getArgs()[0] = proxy(Connection.class, connection, (method, args, result) -> {
+                if ("prepareStatement".equals(method.getName()) && result instanceof PreparedStatement) {
+                    String sql = (String) args[0];
+                    return proxy(PreparedStatement.class, (PreparedStatement) result, (m, a, r) -> {
+                        if ("setMaxRows".equals(m.getName())) {
+                            maxRows.put(sql, (Integer) a[0]);
+                        }
+                        return r;
+                    });
+                }
+                return result;
+            });
+            return invocation.proceed();
+        }
+
+        private static <T> T proxy(Class<T> type, T target, AfterInvoke afterInvoke) {
+            return type.cast(Proxy.newProxyInstance(MaxRowsInterceptor.class.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                try {
+                    return afterInvoke.apply(method, args, method.invoke(target, args));
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                }
+            }));
+        }
+
+        interface AfterInvoke {
+            Object apply(Method method, Object[] args, Object result);
+        }
+    }
+}
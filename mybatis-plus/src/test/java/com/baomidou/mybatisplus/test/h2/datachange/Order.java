@@ -0,0 +1,19 @@
+package com.baomidou.mybatisplus.test.h2.datachange;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+/**
+ * 表中的 remark 字段没有映射
+ *
+ * @author agent
+ * @since 3.5.6
+ */
+@Data
+@TableName("dc_order")
+public class Order {
+
+    private Long id;
+
+    private String name;
+}
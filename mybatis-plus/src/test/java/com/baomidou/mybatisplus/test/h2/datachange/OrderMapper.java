@@ -0,0 +1,10 @@
+package com.baomidou.mybatisplus.test.h2.datachange;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+
+/**
+ * @author agent
+ * @since 3.5.6
+ */
+public interface OrderMapper extends BaseMapper<Order> {
+}
@@ -36,4 +36,6 @@ public interface SuperMapper<T> extends com.baomidou.mybatisplus.core.mapper.Bas
     int deleteByIdWithFill(T entity);
 
     int insertBatchSomeColumn(List<T> entityList);
+
+    int insertOrUpdate(T entity);
 }
@@ -1,10 +1,12 @@
 package com.baomidou.mybatisplus.test.tenant;
 
 import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.TenantLineInnerInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.baomidou.mybatisplus.extension.toolkit.Db;
 import com.baomidou.mybatisplus.test.BaseDbTest;
 import net.sf.jsqlparser.expression.LongValue;
 import org.apache.ibatis.cache.Cache;
@@ -14,6 +16,8 @@ import org.junit.jupiter.api.Test;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -84,6 +88,16 @@ public class TenantTest extends BaseDbTest<EntityMapper> {
         });
     }
 
+    @Test
+    void stream() {
+        doTestAutoCommit(m -> m.insert(new Entity().setId(1L).setName("stream")));
+        doTest(m -> assertThat(m.selectList(null)).extracting(Entity::getId).containsExactly(1L));
+        // 流式查询与 selectList 一样按租户过滤, 不返回其他租户的数据
+        try (Stream<Entity> stream = Db.stream(Wrappers.lambdaQuery(Entity.class))) {
+            assertThat(stream.map(Entity::getId).collect(Collectors.toList())).containsExactly(1L);
+        }
+    }
+
     @Override
     protected List<Interceptor> interceptors() {
         MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
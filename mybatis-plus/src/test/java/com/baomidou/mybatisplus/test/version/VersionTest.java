@@ -57,6 +57,85 @@ public class VersionTest extends BaseDbTest<EntityMapper> {
         });
     }
 
+    @Test
+    void testWrapperModeFindVersion() {
+        doTestAutoCommit(i -> {
+            int result = i.update(null, Wrappers.<Entity>lambdaUpdate()
+                .set(Entity::getName, "老张")
+                .eq(Entity::getId, 1)
+                .eq(Entity::getVersion, 0)
+            );
+            assertThat(result).as("[wrapper mode] lambda 设置version值匹配更新成功").isEqualTo(1);
+            assertThat(i.selectById(1).getVersion()).isEqualTo(1);
+        });
+
+        doTestAutoCommit(i -> {
+            int result = i.update(null, Wrappers.<Entity>update()
+                .set("name", "老张")
+                .eq("id", 1)
+                .and(w -> w.eq("name", "老张").eq("version", 1))
+            );
+            assertThat(result).as("[wrapper mode] 嵌套条件中的version值匹配更新成功").isEqualTo(1);
+            assertThat(i.selectById(1).getVersion()).isEqualTo(2);
+        });
+
+        doTestAutoCommit(i -> {
+            int result = i.update(null, Wrappers.<Entity>update()
+                .set("name", "老张")
+                .eq("id", 2)
+                .or()
+                .eq("version", 2)
+            );
+            assertThat(result).as("[wrapper mode] or 条件中的version值同样生效").isEqualTo(2);
+            assertThat(i.selectById(1).getVersion()).isEqualTo(3);
+            assertThat(i.selectById(2).getVersion()).isEqualTo(3);
+        });
+    }
+
+    @Test
+    void testWrapperModeCacheAcrossWrappers() {
+        // 同一个 mapper 方法的版本字段缓存不受不同 wrapper 条件影响
+        doTestAutoCommit(i -> {
+            int result = i.update(null, Wrappers.<Entity>update()
+                .set("name", "version")
+                .eq("id", 3)
+                .eq("name", "老赵")
+            );
+            assertThat(result).as("[wrapper mode] 没有version条件不处理").isEqualTo(1);
+            assertThat(i.selectById(3).getVersion()).isEqualTo(0);
+        });
+
+        doTestAutoCommit(i -> {
+            int result = i.update(null, Wrappers.<Entity>update()
+                .set("name", "老赵")
+                .ge("version", 0)
+                .eq("id", 3)
+            );
+            assertThat(result).as("[wrapper mode] version 非等值条件不处理").isEqualTo(1);
+            assertThat(i.selectById(3).getVersion()).isEqualTo(0);
+        });
+
+        doTestAutoCommit(i -> {
+            int result = i.update(null, Wrappers.<Entity>update()
+                .set("name", "老赵")
+                .eq("id", 3)
+                .eq("version", 0)
+            );
+            assertThat(result).as("[wrapper mode] 设置version值匹配更新成功").isEqualTo(1);
+            assertThat(i.selectById(3).getVersion()).isEqualTo(1);
+        });
+
+        doTestAutoCommit(i -> {
+            int result = i.update(null, Wrappers.<Entity>lambdaUpdate()
+                .set(Entity::getName, "老赵")
+                .eq(Entity::getVersion, 1)
+                .eq(Entity::getId, 3)
+            );
+            assertThat(result).as("[wrapper mode] 设置version值匹配更新成功").isEqualTo(1);
+            assertThat(i.selectById(3).getVersion()).isEqualTo(2);
+        });
+    }
+
     @Test
     void test() {
         doTestAutoCommit(i -> {